@@ -0,0 +1,36 @@
+package com.torre.techtest.benchmarks;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Entry point for {@code benchmarks.jar}. Accepts the usual JMH command line and, unless a
+ * result format is given, writes JSON results to {@code results/jmh-result.json} so runs from
+ * different versions can be diffed.
+ */
+public final class BenchmarkMain {
+
+    static final String DEFAULT_RESULT_FILE = "results/jmh-result.json";
+
+    private BenchmarkMain() {}
+
+    public static void main(String[] args) throws Exception {
+        org.openjdk.jmh.Main.main(withDefaults(args));
+    }
+
+    static String[] withDefaults(String[] args) throws IOException {
+        List<String> options = new ArrayList<>(Arrays.asList(args));
+        if (!options.contains("-rf")) {
+            options.addAll(List.of("-rf", "json"));
+        }
+        if (!options.contains("-rff")) {
+            Files.createDirectories(Path.of(DEFAULT_RESULT_FILE).getParent());
+            options.addAll(List.of("-rff", DEFAULT_RESULT_FILE));
+        }
+        return options.toArray(new String[0]);
+    }
+}
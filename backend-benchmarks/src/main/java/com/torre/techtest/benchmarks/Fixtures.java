@@ -0,0 +1,32 @@
+package com.torre.techtest.benchmarks;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+
+/**
+ * Loads the Torre.ai payload fixtures bundled under {@code /fixtures}.
+ *
+ * The payloads mirror the shape and size of real {@code _searchStream}, {@code _search},
+ * {@code _analyze} and {@code genome/bios} responses, with synthetic names and ids.
+ */
+public final class Fixtures {
+
+    public static final String SEARCH_STREAM = "search-stream.ndjson";
+    public static final String SEARCH_RESULTS = "search-results.json";
+    public static final String ANALYZE_COMPENSATION = "analyze-compensation.json";
+    public static final String GENOME_BIO = "genome-bio.json";
+
+    private Fixtures() {}
+
+    public static byte[] load(String name) {
+        try (InputStream in = Fixtures.class.getResourceAsStream("/fixtures/" + name)) {
+            if (in == null) {
+                throw new IllegalStateException("Missing fixture: " + name);
+            }
+            return in.readAllBytes();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read fixture: " + name, e);
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.torre.techtest.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.torre.techtest.utils.HtmlUtils;
+
+/**
+ * Compares {@link HtmlUtils#decodeHtmlEntities(String)} with the previous replace-and-regex
+ * implementation on the kinds of strings found in Torre.ai names, headlines and bios.
+ * Run with {@code -prof gc} to compare allocation rates as well.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class HtmlUtilsBenchmark {
+
+    @Param({"plain", "headline", "bio"})
+    private String input;
+
+    private String text;
+
+    @Setup
+    public void setUp() {
+        text = switch (input) {
+            case "plain" -> "Senior Backend Engineer | Java, Spring Boot, Kubernetes";
+            case "headline" -> "Full-stack developer &amp; mentor &#x27;building things&#x27;";
+            default -> "I&#x27;m a software engineer with 10+ years of experience in Java &amp; Kotlin. "
+                + "I&#39;ve led teams at startups &amp; enterprises, building APIs &lt;REST/gRPC&gt; "
+                + "and data pipelines. &quot;Ship small, ship often.&quot; Based in Bogot&aacute;.";
+        };
+    }
+
+    @Benchmark
+    public String current() {
+        return HtmlUtils.decodeHtmlEntities(text);
+    }
+
+    @Benchmark
+    public String legacy() {
+        return LegacyHtmlUtils.decodeHtmlEntities(text);
+    }
+}
@@ -0,0 +1,68 @@
+package com.torre.techtest.benchmarks;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.torre.techtest.feature.profile.PersonDetailsResponse;
+import com.torre.techtest.feature.search.SearchResponse;
+import com.torre.techtest.feature.search.SearchStreamParser;
+
+/**
+ * Jackson reads of the genome bio payload into {@link PersonDetailsResponse} (including
+ * HTML decoding) and writes of the profile and search DTOs as returned by the controllers.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JacksonBenchmark {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private byte[] genomeBio;
+    private PersonDetailsResponse personDetails;
+    private SearchResponse searchResponse;
+
+    @Setup
+    public void setUp() throws IOException {
+        genomeBio = Fixtures.load(Fixtures.GENOME_BIO);
+        personDetails = objectMapper.readValue(genomeBio, PersonDetailsResponse.class);
+
+        List<SearchResponse.PersonResult> results = new ArrayList<>();
+        new SearchStreamParser(objectMapper.getFactory())
+            .parse(new ByteArrayInputStream(Fixtures.load(Fixtures.SEARCH_STREAM)), results::add);
+        searchResponse = new SearchResponse(results);
+    }
+
+    @Benchmark
+    public PersonDetailsResponse readPersonDetails() throws IOException {
+        return objectMapper.readValue(new ByteArrayInputStream(genomeBio), PersonDetailsResponse.class);
+    }
+
+    @Benchmark
+    public byte[] writePersonDetails() throws IOException {
+        return objectMapper.writeValueAsBytes(personDetails);
+    }
+
+    @Benchmark
+    public byte[] writeSearchResponse() throws IOException {
+        return objectMapper.writeValueAsBytes(searchResponse);
+    }
+}
@@ -0,0 +1,60 @@
+package com.torre.techtest.feature.search;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.torre.techtest.benchmarks.Fixtures;
+
+/**
+ * CPU-side work of the analysis endpoints: scoring a page of {@code _search} results and
+ * parsing an {@code _analyze} compensation response. No upstream calls are made.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AnalysisServiceBenchmark {
+
+    private AnalysisService analysisService;
+    private List<JsonNode> profiles;
+    private byte[] compensation;
+
+    @Setup
+    public void setUp() throws IOException {
+        analysisService = new AnalysisService();
+        profiles = new ArrayList<>();
+        new ObjectMapper().readTree(Fixtures.load(Fixtures.SEARCH_RESULTS)).path("results").forEach(profiles::add);
+        compensation = Fixtures.load(Fixtures.ANALYZE_COMPENSATION);
+    }
+
+    @Benchmark
+    public void analyzeProficiencyFromProfile(Blackhole blackhole) {
+        for (JsonNode profile : profiles) {
+            blackhole.consume(analysisService.analyzeProficiencyFromProfile(profile, "java"));
+        }
+    }
+
+    @Benchmark
+    public SkillCompensationResponse parseCompensationResponse() throws IOException {
+        return analysisService.parseCompensationResponse(new ByteArrayInputStream(compensation), "java");
+    }
+}
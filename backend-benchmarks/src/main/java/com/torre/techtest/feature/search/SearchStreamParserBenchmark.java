@@ -0,0 +1,56 @@
+package com.torre.techtest.feature.search;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.torre.techtest.benchmarks.Fixtures;
+
+/**
+ * Parsing of a recorded {@code _searchStream} body: the whole stream (line splitting plus
+ * token parsing) and a single line on its own.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SearchStreamParserBenchmark {
+
+    private final SearchStreamParser parser = new SearchStreamParser(new JsonFactory());
+
+    private byte[] stream;
+    private byte[] line;
+
+    @Setup
+    public void setUp() {
+        stream = Fixtures.load(Fixtures.SEARCH_STREAM);
+        String firstLine = new String(stream, StandardCharsets.UTF_8).lines().findFirst().orElseThrow();
+        line = firstLine.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public int parseStream(Blackhole blackhole) throws IOException {
+        return parser.parse(new ByteArrayInputStream(stream), blackhole::consume);
+    }
+
+    @Benchmark
+    public SearchResponse.PersonResult parseLine() {
+        return parser.parseLine(line, 0, line.length, 1);
+    }
+}
@@ -0,0 +1,12 @@
+package com.torre.techtest.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables the scheduled background jobs that refresh cached Torre.ai data off the request path.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -0,0 +1,70 @@
+package com.torre.techtest.config;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import com.torre.techtest.observability.RequestAllocation;
+import com.torre.techtest.observability.RequestTiming;
+
+/**
+ * Provides the bounded executor shared by services that issue concurrent Torre.ai calls.
+ * Tasks inherit the submitting request's {@link RequestTiming} and {@link RequestAllocation}.
+ * 
+ * Batch workers, which block until the upstream calls they fan out have finished, run on their
+ * own executor so they cannot take every upstream thread and starve their own calls.
+ * Speculative work runs on a separate small executor with low-priority threads. Its tasks are
+ * not charged to the request that scheduled them, and it rejects tasks once its queue is full
+ * instead of running them on the caller.
+ */
+@Configuration
+public class UpstreamExecutorConfig {
+
+    public static final String UPSTREAM_EXECUTOR = "upstreamExecutor";
+    public static final String BATCH_EXECUTOR = "batchExecutor";
+    public static final String PREFETCH_EXECUTOR = "prefetchExecutor";
+
+    @Bean(name = UPSTREAM_EXECUTOR)
+    public ThreadPoolTaskExecutor upstreamExecutor(UpstreamExecutorProperties properties) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("torre-upstream-");
+        // A ThreadPoolExecutor only grows past its core size once the queue is full, so the
+        // core size is the effective limit; idle threads time out instead.
+        executor.setCorePoolSize(properties.getMaxSize());
+        executor.setMaxPoolSize(properties.getMaxSize());
+        executor.setAllowCoreThreadTimeOut(true);
+        executor.setQueueCapacity(properties.getQueueCapacity());
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        executor.setTaskDecorator(task -> RequestTiming.wrap(RequestAllocation.wrap(task)));
+        return executor;
+    }
+
+    @Bean(name = BATCH_EXECUTOR)
+    public ThreadPoolTaskExecutor batchExecutor(UpstreamExecutorProperties properties) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("torre-batch-");
+        executor.setCorePoolSize(properties.getBatchSize());
+        executor.setMaxPoolSize(properties.getBatchSize());
+        executor.setQueueCapacity(properties.getBatchQueueCapacity());
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        executor.setTaskDecorator(task -> RequestTiming.wrap(RequestAllocation.wrap(task)));
+        return executor;
+    }
+
+    @Bean(name = PREFETCH_EXECUTOR)
+    public ThreadPoolTaskExecutor prefetchExecutor(UpstreamExecutorProperties properties) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("torre-prefetch-");
+        executor.setThreadPriority(Thread.MIN_PRIORITY);
+        executor.setCorePoolSize(properties.getPrefetchSize());
+        executor.setMaxPoolSize(properties.getPrefetchSize());
+        executor.setQueueCapacity(properties.getPrefetchQueueCapacity());
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        return executor;
+    }
+}
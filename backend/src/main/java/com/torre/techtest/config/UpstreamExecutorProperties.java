@@ -0,0 +1,34 @@
+package com.torre.techtest.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+/**
+ * Sizing for the bounded executor used to fan out Torre.ai upstream calls.
+ */
+@Data
+@ConfigurationProperties(prefix = "torre.executor")
+public class UpstreamExecutorProperties {
+
+    /**
+     * Upper bound on concurrently running upstream tasks. Threads are started up to this size
+     * before tasks are queued, and exit again after a minute idle.
+     */
+    private int maxSize = 16;
+
+    /** Tasks queued once every thread is busy; beyond this tasks run on the caller */
+    private int queueCapacity = 100;
+
+    /** Threads of the executor running batch workers, which wait on work they submit to the upstream executor */
+    private int batchSize = 8;
+
+    /** Batch workers queued before they run on the caller */
+    private int batchQueueCapacity = 100;
+
+    /** Threads of the low-priority executor running speculative prefetches */
+    private int prefetchSize = 2;
+
+    /** Prefetches queued on the low-priority executor; beyond this new prefetches are dropped */
+    private int prefetchQueueCapacity = 20;
+}
@@ -23,6 +23,7 @@ public class WebConfig implements WebMvcConfigurer {
                 ) 
                 .allowedMethods("GET", "POST", "PUT", "DELETE", "OPTIONS")
                 .allowedHeaders("*")
+                .exposedHeaders("Server-Timing")
                 .allowCredentials(false);
     }
 }
\ No newline at end of file
@@ -0,0 +1,8 @@
+package com.torre.techtest.exception;
+
+public class RateLimitExceededException extends ExternalServiceException {
+
+    public RateLimitExceededException(String message) {
+        super(message);
+    }
+}
@@ -5,6 +5,7 @@ import java.util.List;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.torre.techtest.utils.HtmlDecoded;
 
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -12,6 +13,7 @@ import lombok.NoArgsConstructor;
 
 /**
  * DTO for Torre.ai person profile details response.
+ * Free-text fields marked {@link HtmlDecoded} have their HTML entities decoded on read.
  */
 @Data
 @NoArgsConstructor
@@ -45,18 +47,22 @@ public class PersonDetailsResponse {
         private String id;
         
         @JsonProperty("name")
+        @HtmlDecoded
         private String name;
         
         @JsonProperty("professionalHeadline")
+        @HtmlDecoded
         private String professionalHeadline;
         
         @JsonProperty("picture")
         private String picture;
         
         @JsonProperty("summaryOfBio")
+        @HtmlDecoded
         private String summaryOfBio;
         
         @JsonProperty("publicId")
+        @HtmlDecoded
         private String publicId;
         
         @JsonProperty("location")
@@ -76,12 +82,15 @@ public class PersonDetailsResponse {
         private String id;
         
         @JsonProperty("name")
+        @HtmlDecoded
         private String name;
         
         @JsonProperty("experience")
+        @HtmlDecoded
         private String experience;
         
         @JsonProperty("proficiency")
+        @HtmlDecoded
         private String proficiency;
         
         @JsonProperty("weight")
@@ -101,6 +110,7 @@ public class PersonDetailsResponse {
         private String id;
         
         @JsonProperty("name")
+        @HtmlDecoded
         private String name;
         
         @JsonProperty("organizations")
@@ -132,6 +142,7 @@ public class PersonDetailsResponse {
         private Long id;
         
         @JsonProperty("name")
+        @HtmlDecoded
         private String name;
         
         @JsonProperty("publicId")
@@ -150,6 +161,7 @@ public class PersonDetailsResponse {
         private String websiteUrl;
         
         @JsonProperty("about")
+        @HtmlDecoded
         private String about;
     }
 
@@ -166,6 +178,7 @@ public class PersonDetailsResponse {
         private String id;
         
         @JsonProperty("name")
+        @HtmlDecoded
         private String name;
         
         @JsonProperty("organizations")
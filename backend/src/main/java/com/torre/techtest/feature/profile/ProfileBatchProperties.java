@@ -0,0 +1,24 @@
+package com.torre.techtest.feature.profile;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+/**
+ * Limits for batch profile requests.
+ */
+@Data
+@ConfigurationProperties(prefix = "torre.profile.batch")
+public class ProfileBatchProperties {
+
+    /** Largest number of usernames accepted in one batch */
+    private int maxUsernames = 50;
+
+    /** Profiles of one batch fetched from Torre.ai at the same time */
+    private int parallelism = 8;
+
+    /** Overall deadline for a batch; profiles still being fetched at that point are reported as timed out */
+    private Duration timeout = Duration.ofSeconds(15);
+}
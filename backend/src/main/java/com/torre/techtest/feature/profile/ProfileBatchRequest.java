@@ -0,0 +1,19 @@
+package com.torre.techtest.feature.profile;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Body of a batch profile request.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProfileBatchRequest {
+
+    /** Torre.ai usernames/publicIds to fetch */
+    private List<String> usernames;
+}
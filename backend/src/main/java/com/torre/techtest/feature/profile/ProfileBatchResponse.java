@@ -0,0 +1,30 @@
+package com.torre.techtest.feature.profile;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Response of a batch profile request, with one result per requested username in request order.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProfileBatchResponse {
+
+    private List<ProfileBatchResult> results;
+
+    /** Number of profiles fetched successfully */
+    private int succeeded;
+
+    /** Number of usernames whose profile could not be fetched */
+    private int failed;
+
+    public ProfileBatchResponse(List<ProfileBatchResult> results) {
+        this.results = results;
+        this.succeeded = (int) results.stream().filter(result -> result.getStatus() == 200).count();
+        this.failed = results.size() - succeeded;
+    }
+}
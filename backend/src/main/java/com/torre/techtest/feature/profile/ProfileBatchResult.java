@@ -0,0 +1,40 @@
+package com.torre.techtest.feature.profile;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Outcome of one username in a batch profile request.
+ * 
+ * The status mirrors what {@code GET /api/profile/{username}} would have answered: 200 with
+ * the profile, or the error status with its message.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ProfileBatchResult {
+
+    /** Username as given in the request */
+    private String username;
+
+    /** HTTP status the single profile request would have returned */
+    private int status;
+
+    /** Decoded profile, present when status is 200 */
+    private PersonDetailsResponse profile;
+
+    /** Error description, present when the profile could not be fetched */
+    private String message;
+
+    public static ProfileBatchResult success(String username, PersonDetailsResponse profile) {
+        return new ProfileBatchResult(username, 200, profile, null);
+    }
+
+    public static ProfileBatchResult failure(String username, int status, String message) {
+        return new ProfileBatchResult(username, status, null, message);
+    }
+}
@@ -0,0 +1,169 @@
+package com.torre.techtest.feature.profile;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Service;
+
+import com.torre.techtest.config.UpstreamExecutorConfig;
+import com.torre.techtest.exception.ExternalServiceException;
+import com.torre.techtest.exception.RateLimitExceededException;
+import com.torre.techtest.exception.ResourceNotFoundException;
+
+/**
+ * Fetches several profiles in one request.
+ * 
+ * A batch is worked off by at most the configured number of tasks on the upstream executor,
+ * each taking the next username until none are left, so a batch never holds more than that
+ * many Torre.ai calls at once. Every lookup goes through {@link ProfileService}, sharing its
+ * cache, negative cache and coalescing of concurrent requests for the same username.
+ */
+@Service
+public class ProfileBatchService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProfileBatchService.class);
+
+    private final ProfileService profileService;
+    private final ProfileBatchProperties properties;
+    private final Executor upstreamExecutor;
+
+    public ProfileBatchService(ProfileService profileService, ProfileBatchProperties properties,
+                               @Qualifier(UpstreamExecutorConfig.UPSTREAM_EXECUTOR) Executor upstreamExecutor) {
+        this.profileService = profileService;
+        this.properties = properties;
+        this.upstreamExecutor = upstreamExecutor;
+    }
+
+    /**
+     * Fetches the profiles of all usernames, waiting at most the configured deadline.
+     * 
+     * @param usernames Torre.ai usernames/publicIds, at most the configured maximum
+     * @param listener  Receives each result as soon as it is known, one call at a time, in
+     *                  completion order; usernames not done by the deadline are reported last
+     *                  with status 504
+     * @return One result per username, in request order
+     * @throws IllegalArgumentException if no usernames or too many usernames are given
+     */
+    public List<ProfileBatchResult> getPersonDetails(List<String> usernames, Consumer<ProfileBatchResult> listener) {
+        validate(usernames);
+
+        Batch batch = new Batch(usernames, listener);
+        int workers = Math.min(Math.max(properties.getParallelism(), 1), usernames.size());
+        List<CompletableFuture<Void>> tasks = new ArrayList<>(workers);
+        for (int i = 0; i < workers; i++) {
+            tasks.add(CompletableFuture.runAsync(batch::drain, upstreamExecutor));
+        }
+
+        long timeoutMillis = properties.getTimeout().toMillis();
+        try {
+            CompletableFuture.allOf(tasks.toArray(new CompletableFuture<?>[0])).get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            logger.warn("Batch of {} profiles exceeded {} ms, reporting unfinished usernames as timed out", usernames.size(), timeoutMillis);
+        } catch (ExecutionException e) {
+            logger.warn("Batch profile task failed: {}", e.getCause().getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ExternalServiceException("Interrupted while fetching a batch of profiles", e);
+        } finally {
+            batch.abandon();
+        }
+
+        for (int i = 0; i < usernames.size(); i++) {
+            batch.complete(i, ProfileBatchResult.failure(usernames.get(i), 504,
+                "Timed out fetching profile within " + timeoutMillis + " ms"));
+        }
+        return batch.results();
+    }
+
+    /**
+     * Checks that a batch has at least one and at most the configured number of usernames.
+     * 
+     * @throws IllegalArgumentException if it does not
+     */
+    public void validate(List<String> usernames) {
+        if (usernames == null || usernames.isEmpty()) {
+            throw new IllegalArgumentException("Usernames cannot be empty.");
+        }
+        if (usernames.size() > properties.getMaxUsernames()) {
+            throw new IllegalArgumentException("At most " + properties.getMaxUsernames() + " usernames can be requested at once.");
+        }
+    }
+
+    /**
+     * Fetches one profile, mapping failures to the status the single profile endpoint would return.
+     */
+    private ProfileBatchResult fetch(String username) {
+        try {
+            ProfileService.validateUsername(username);
+            return ProfileBatchResult.success(username, profileService.getPersonDetails(username.trim()));
+        } catch (ResourceNotFoundException e) {
+            return ProfileBatchResult.failure(username, 404, e.getMessage());
+        } catch (RateLimitExceededException e) {
+            return ProfileBatchResult.failure(username, 503, e.getMessage());
+        } catch (IllegalArgumentException e) {
+            return ProfileBatchResult.failure(username, 400, e.getMessage());
+        } catch (ExternalServiceException e) {
+            return ProfileBatchResult.failure(username, 502, e.getMessage());
+        } catch (RuntimeException e) {
+            logger.warn("Unexpected failure fetching profile '{}' in batch", username, e);
+            return ProfileBatchResult.failure(username, 500, e.getMessage());
+        }
+    }
+
+    /**
+     * Shared state of one batch. Each slot is completed once, by the worker that fetched it or
+     * by the caller when the deadline passes, whichever comes first.
+     */
+    private final class Batch {
+        private final List<String> usernames;
+        private final Consumer<ProfileBatchResult> listener;
+        private final AtomicReferenceArray<ProfileBatchResult> results;
+        private final AtomicInteger next = new AtomicInteger();
+        private final AtomicBoolean abandoned = new AtomicBoolean();
+
+        private Batch(List<String> usernames, Consumer<ProfileBatchResult> listener) {
+            this.usernames = usernames;
+            this.listener = listener;
+            this.results = new AtomicReferenceArray<>(usernames.size());
+        }
+
+        private void drain() {
+            int index;
+            while (!abandoned.get() && (index = next.getAndIncrement()) < usernames.size()) {
+                complete(index, fetch(usernames.get(index)));
+            }
+        }
+
+        private void complete(int index, ProfileBatchResult result) {
+            if (results.compareAndSet(index, null, result)) {
+                synchronized (this) {
+                    listener.accept(result);
+                }
+            }
+        }
+
+        private void abandon() {
+            abandoned.set(true);
+        }
+
+        private List<ProfileBatchResult> results() {
+            List<ProfileBatchResult> ordered = new ArrayList<>(usernames.size());
+            for (int i = 0; i < usernames.size(); i++) {
+                ordered.add(results.get(i));
+            }
+            return ordered;
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.torre.techtest.feature.profile;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+/**
+ * Settings for the in-memory cache of decoded Torre.ai profiles.
+ */
+@Data
+@ConfigurationProperties(prefix = "torre.profile.cache")
+public class ProfileCacheProperties {
+
+    /** Whether decoded profiles are cached at all */
+    private boolean enabled = true;
+
+    /** Maximum number of cached profiles; the least valuable entries are evicted beyond this */
+    private long maximumSize = 1000;
+
+    /** Age after which an entry is refreshed in the background while the cached copy keeps being served */
+    private Duration ttl = Duration.ofMinutes(5);
+
+    /** Age after which an entry is dropped, so stale copies are never served beyond this */
+    private Duration maxStale = Duration.ofMinutes(30);
+
+    /** Whether usernames Torre.ai reported as missing are remembered and answered locally */
+    private boolean negativeEnabled = true;
+
+    /** How long a missing username is answered locally before Torre.ai is asked again */
+    private Duration negativeTtl = Duration.ofMinutes(2);
+
+    /** Maximum number of remembered missing usernames */
+    private long negativeMaximumSize = 10000;
+}
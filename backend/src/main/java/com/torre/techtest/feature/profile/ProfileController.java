@@ -1,13 +1,24 @@
 package com.torre.techtest.feature.profile;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.List;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
 
 /**
  * REST controller for Torre.ai profile operations
@@ -18,11 +29,15 @@ import org.springframework.web.bind.annotation.RestController;
 public class ProfileController {
     
     private static final Logger logger = LoggerFactory.getLogger(ProfileController.class);
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
     
     private final ProfileService profileService;
+    private final ProfileBatchService profileBatchService;
+    private final ObjectMapper objectMapper = new ObjectMapper();
 
-    public ProfileController(ProfileService profileService) {
+    public ProfileController(ProfileService profileService, ProfileBatchService profileBatchService) {
         this.profileService = profileService;
+        this.profileBatchService = profileBatchService;
     }
 
     /**
@@ -43,6 +58,42 @@ public class ProfileController {
         return ResponseEntity.ok(profileDetails);
     }
 
+    /**
+     * Retrieves several Torre.ai profiles concurrently in one request.
+     * 
+     * Each username gets its own result with the status {@link #getPersonProfile} would have
+     * returned, so one missing profile does not fail the batch.
+     * 
+     * @param request Usernames to fetch
+     * @return Results in request order with success and failure counts
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<ProfileBatchResponse> getPersonProfiles(@RequestBody ProfileBatchRequest request) {
+        logger.info("Received batch profile request for {} usernames", request.getUsernames() == null ? 0 : request.getUsernames().size());
+
+        List<ProfileBatchResult> results = profileBatchService.getPersonDetails(request.getUsernames(), result -> { });
+        return ResponseEntity.ok(new ProfileBatchResponse(results));
+    }
+
+    /**
+     * Streaming variant of {@link #getPersonProfiles}: writes each {@link ProfileBatchResult} as
+     * an NDJSON line as soon as its profile has been fetched, in completion order.
+     * 
+     * @param request Usernames to fetch
+     * @return NDJSON stream with one line per username
+     */
+    @PostMapping("/batch/stream")
+    public ResponseEntity<StreamingResponseBody> streamPersonProfiles(@RequestBody ProfileBatchRequest request) {
+        List<String> usernames = request.getUsernames();
+        profileBatchService.validate(usernames);
+        logger.info("Received streaming batch profile request for {} usernames", usernames.size());
+
+        StreamingResponseBody body = outputStream ->
+            profileBatchService.getPersonDetails(usernames, result -> writeResult(outputStream, result));
+
+        return ResponseEntity.ok().contentType(NDJSON).body(body);
+    }
+
     /**
      * Health check endpoint
      */
@@ -50,4 +101,14 @@ public class ProfileController {
     public ResponseEntity<String> healthCheck() {
         return ResponseEntity.ok("Profile service is operational");
     }
+
+    private void writeResult(OutputStream outputStream, ProfileBatchResult result) {
+        try {
+            outputStream.write(objectMapper.writeValueAsBytes(result));
+            outputStream.write('\n');
+            outputStream.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write batch profile result", e);
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,25 @@
+package com.torre.techtest.feature.profile;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+/**
+ * Settings for warming the profile cache with the top results of each people search.
+ */
+@Data
+@ConfigurationProperties(prefix = "torre.profile.prefetch")
+public class ProfilePrefetchProperties {
+
+    /** Whether profiles of top search results are fetched speculatively */
+    private boolean enabled = false;
+
+    /** Number of leading search results whose profiles are prefetched */
+    private int topResults = 3;
+
+    /** Prefetches allowed to be queued or running at once, across all searches */
+    private int maxInFlight = 6;
+
+    /** Rate limit tokens kept free for user requests; prefetching stops when the profile host has fewer */
+    private int reservedTokens = 10;
+}
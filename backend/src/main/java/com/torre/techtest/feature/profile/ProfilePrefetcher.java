@@ -0,0 +1,137 @@
+package com.torre.techtest.feature.profile;
+
+import java.net.URI;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+
+import com.torre.techtest.config.UpstreamExecutorConfig;
+import com.torre.techtest.gateway.TorreApiProperties;
+import com.torre.techtest.gateway.TorreGateway;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Warms the profile cache with the profiles a user is likely to open next.
+ * 
+ * After a people search the leading results' profiles are fetched on the low-priority prefetch
+ * executor, so the following profile request is usually a cache hit. Prefetching is best effort:
+ * it never holds more than the configured number of fetches, and it is skipped, including for
+ * already queued fetches, while the upstream is busy, i.e. while requests wait for a pooled
+ * connection or the profile host's rate limiter is down to its reserved tokens.
+ */
+@Component
+public class ProfilePrefetcher {
+
+    static final String PREFETCH_METRIC = "torre.profile.prefetch";
+
+    private static final Logger logger = LoggerFactory.getLogger(ProfilePrefetcher.class);
+
+    private final ProfileService profileService;
+    private final TorreGateway torreGateway;
+    private final ProfilePrefetchProperties properties;
+    private final Executor prefetchExecutor;
+    private final String profileHost;
+    private final Semaphore budget;
+    private final Set<String> inFlight = ConcurrentHashMap.newKeySet();
+    private final Counter started;
+    private final Counter skipped;
+    private final Counter cancelled;
+    private final Counter failed;
+
+    public ProfilePrefetcher(ProfileService profileService, TorreGateway torreGateway, TorreApiProperties apiProperties,
+                             ProfilePrefetchProperties properties,
+                             @Qualifier(UpstreamExecutorConfig.PREFETCH_EXECUTOR) Executor prefetchExecutor,
+                             MeterRegistry meterRegistry) {
+        this.profileService = profileService;
+        this.torreGateway = torreGateway;
+        this.properties = properties;
+        this.prefetchExecutor = prefetchExecutor;
+        this.profileHost = URI.create(apiProperties.getProfileBaseUrl()).getHost();
+        this.budget = new Semaphore(properties.getMaxInFlight());
+        this.started = outcomeCounter(meterRegistry, "started");
+        this.skipped = outcomeCounter(meterRegistry, "skipped");
+        this.cancelled = outcomeCounter(meterRegistry, "cancelled");
+        this.failed = outcomeCounter(meterRegistry, "failed");
+    }
+
+    /**
+     * Schedules prefetches for the leading usernames of a search result list. Returns at once.
+     * 
+     * @param usernames Usernames in result order; blank entries are ignored
+     */
+    public void prefetch(List<String> usernames) {
+        if (!properties.isEnabled() || !profileService.isCacheEnabled() || usernames == null) {
+            return;
+        }
+        List<String> candidates = usernames.stream()
+            .filter(username -> username != null && !username.trim().isEmpty())
+            .limit(properties.getTopResults())
+            .toList();
+        for (String username : candidates) {
+            String key = username.trim();
+            if (profileService.isCached(key)) {
+                continue;
+            }
+            if (isUnderLoad() || !budget.tryAcquire()) {
+                skipped.increment();
+                continue;
+            }
+            if (!inFlight.add(key)) {
+                budget.release();
+                continue;
+            }
+            try {
+                prefetchExecutor.execute(() -> fetch(key));
+            } catch (RejectedExecutionException e) {
+                release(key);
+                skipped.increment();
+            }
+        }
+    }
+
+    private void fetch(String username) {
+        try {
+            if (isUnderLoad() || profileService.isCached(username)) {
+                cancelled.increment();
+                return;
+            }
+            started.increment();
+            profileService.getPersonDetails(username);
+        } catch (RuntimeException e) {
+            failed.increment();
+            logger.debug("Prefetch of profile '{}' failed: {}", username, e.getMessage());
+        } finally {
+            release(username);
+        }
+    }
+
+    private void release(String username) {
+        inFlight.remove(username);
+        budget.release();
+    }
+
+    /**
+     * Returns whether user requests are already competing for upstream capacity.
+     */
+    boolean isUnderLoad() {
+        return torreGateway.getTotalStats().getPending() > 0
+            || torreGateway.getRateLimiter().availableTokens(profileHost) < properties.getReservedTokens();
+    }
+
+    private static Counter outcomeCounter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder(PREFETCH_METRIC)
+            .description("Speculative profile prefetches by outcome")
+            .tag("outcome", outcome)
+            .register(meterRegistry);
+    }
+}
@@ -1,47 +1,126 @@
 package com.torre.techtest.feature.profile;
 
 import java.io.IOException;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
 
 import org.apache.hc.client5.http.classic.methods.HttpGet;
-import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
-import org.apache.hc.client5.http.impl.classic.HttpClients;
-import org.apache.hc.core5.http.ClassicHttpResponse;
 import org.apache.hc.core5.http.HttpEntity;
 import org.apache.hc.core5.http.ParseException;
 import org.apache.hc.core5.http.io.entity.EntityUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Service;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.torre.techtest.config.UpstreamExecutorConfig;
 import com.torre.techtest.exception.ExternalServiceException;
 import com.torre.techtest.exception.ResourceNotFoundException;
+import com.torre.techtest.gateway.CountingInputStream;
+import com.torre.techtest.gateway.SingleFlight;
+import com.torre.techtest.gateway.TorreApiProperties;
+import com.torre.techtest.gateway.TorreGateway;
+import com.torre.techtest.observability.ProfileDecodeEvent;
+import com.torre.techtest.observability.RequestTiming;
+import com.torre.techtest.observability.TimingPhase;
 import com.torre.techtest.utils.HtmlUtils;
 
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
 /**
  * Service for retrieving person profiles from Torre.ai API.
+ * 
+ * Decoded profiles are kept in a size-bounded cache keyed by normalized username, while Torre.ai
+ * is always asked for the username as the caller spelled it. Entries older
+ * than the TTL are still served while a background refresh fetches a fresh copy. Usernames that
+ * Torre.ai reported as missing are remembered for a short time and answered without a new call.
+ * Concurrent lookups of the same username share one upstream request, with or without the cache.
+ * Profiles are fetched outside the cache and then stored, so an upstream call never holds one of
+ * Caffeine's entry locks.
  */
 @Service
 public class ProfileService {
     
     private static final Logger logger = LoggerFactory.getLogger(ProfileService.class);
-    private static final String TORRE_API_BASE_URL = "https://torre.ai/api/genome/bios/";
     private static final String CONTENT_TYPE = "application/json";
     private static final String USER_AGENT = "Mozilla/5.0 (Windows NT 10.0; Win64; x64; rv:140.0) Gecko/20100101 Firefox/140.0";
     private static final String ACCEPT = "application/json, text/plain, */*";
     private static final String ACCEPT_LANGUAGE = "en-US,en;q=0.9";
     private static final String ACCEPT_ENCODING = "gzip, deflate, br";
+    /** Characters that would change the path or query of the upstream URL the username is appended to */
+    private static final Pattern UNSAFE_USERNAME = Pattern.compile("[/\\\\?#%\\s]|^\\.{1,2}$");
     
     private final ObjectMapper objectMapper;
-    private final CloseableHttpClient httpClient;
+    private final TorreGateway torreGateway;
+    private final TorreApiProperties apiProperties;
+    private final DistributionSummary payloadSize;
+    private final Timer decodeTime;
+    private final Cache<ProfileKey, CachedProfile> profileCache;
+    private final Cache<String, String> missingProfiles;
+    private final SingleFlight<String, PersonDetailsResponse> profileFlights = new SingleFlight<>();
+    private final Set<String> refreshing = ConcurrentHashMap.newKeySet();
+    private final Executor refreshExecutor;
+    private final long refreshAfterNanos;
 
+    /**
+     * Creates a service with default settings that refreshes cached profiles on the calling thread.
+     */
     public ProfileService() {
+        this(TorreGateway.shared(), new TorreApiProperties(), new ProfileCacheProperties(), Runnable::run, new SimpleMeterRegistry());
+    }
+
+    @Autowired
+    public ProfileService(TorreGateway torreGateway, TorreApiProperties apiProperties, ProfileCacheProperties cacheProperties,
+                          @Qualifier(UpstreamExecutorConfig.UPSTREAM_EXECUTOR) Executor refreshExecutor,
+                          MeterRegistry meterRegistry) {
         this.objectMapper = new ObjectMapper();
-        this.httpClient = HttpClients.createDefault();
+        this.payloadSize = DistributionSummary.builder("torre.profile.payload.size")
+            .description("Size of genome/bios response bodies")
+            .baseUnit("bytes")
+            .publishPercentileHistogram()
+            .register(meterRegistry);
+        this.decodeTime = Timer.builder("torre.html.decode")
+            .description("Time spent decoding HTML entities per upstream response")
+            .register(meterRegistry);
+        this.torreGateway = torreGateway;
+        this.apiProperties = apiProperties;
+        this.refreshExecutor = refreshExecutor;
+        this.refreshAfterNanos = cacheProperties.getTtl().toNanos();
+        this.profileCache = cacheProperties.isEnabled()
+            ? CaffeineCacheMetrics.monitor(meterRegistry, Caffeine.newBuilder()
+                .maximumSize(cacheProperties.getMaximumSize())
+                .expireAfterWrite(cacheProperties.getMaxStale())
+                .executor(refreshExecutor)
+                .recordStats()
+                .<ProfileKey, CachedProfile>build(), "profile.details")
+            : null;
+        this.missingProfiles = cacheProperties.isNegativeEnabled()
+            ? CaffeineCacheMetrics.monitor(meterRegistry, Caffeine.newBuilder()
+                .maximumSize(cacheProperties.getNegativeMaximumSize())
+                .expireAfterWrite(cacheProperties.getNegativeTtl())
+                .executor(refreshExecutor)
+                .recordStats()
+                .<String, String>build(), "profile.missing")
+            : null;
     }
 
     protected String getProfileBaseUrl() {
-        return TORRE_API_BASE_URL;
+        return apiProperties.getProfileBaseUrl();
     }
 
     /**
@@ -49,9 +128,180 @@ public class ProfileService {
      * 
      * @param username Torre.ai username/publicId
      * @return PersonDetailsResponse with profile information
+     * @throws IllegalArgumentException if the username is blank or contains characters that
+     *                                  cannot appear in a single path segment
      * @throws Exception if API call fails or response parsing fails
      */
     public PersonDetailsResponse getPersonDetails(String username) {
+        validateUsername(username);
+        ProfileKey key = new ProfileKey(username);
+        String missingMessage = missingProfiles == null ? null : missingProfiles.getIfPresent(key.normalized());
+        if (missingMessage != null) {
+            logger.debug("Answering known missing username locally: {}", key.normalized());
+            if (profileCache != null) {
+                profileCache.invalidate(key);
+            }
+            throw new ResourceNotFoundException(missingMessage);
+        }
+        if (profileCache == null) {
+            return profileFlights.execute(key.normalized(), () -> fetchPersonDetails(key.username()));
+        }
+        CachedProfile cached = profileCache.getIfPresent(key);
+        if (cached == null) {
+            // A flight that finished just before this one started has already filled the cache
+            return profileFlights.execute(key.normalized(), () -> {
+                CachedProfile current = profileCache.asMap().get(key);
+                return current != null ? current.profile : loadProfile(key);
+            });
+        }
+        if (System.nanoTime() - cached.fetchedAt >= refreshAfterNanos) {
+            refreshInBackground(key);
+        }
+        return cached.profile;
+    }
+
+    /**
+     * Returns hit, miss, load and eviction counters for the profile cache.
+     */
+    public CacheStats getCacheStats() {
+        return profileCache == null ? CacheStats.empty() : profileCache.stats();
+    }
+
+    /**
+     * Returns hit and miss counters for the cache of usernames known to be missing.
+     */
+    public CacheStats getNegativeCacheStats() {
+        return missingProfiles == null ? CacheStats.empty() : missingProfiles.stats();
+    }
+
+    /**
+     * Returns whether decoded profiles are cached at all.
+     */
+    public boolean isCacheEnabled() {
+        return profileCache != null;
+    }
+
+    /**
+     * Returns whether a lookup of the username would be answered without calling Torre.ai,
+     * because its profile is cached or it is known to be missing. Does not count as a cache access.
+     */
+    public boolean isCached(String username) {
+        ProfileKey key = new ProfileKey(username);
+        return (profileCache != null && profileCache.asMap().containsKey(key))
+            || (missingProfiles != null && missingProfiles.asMap().containsKey(key.normalized()));
+    }
+
+    /**
+     * Returns the approximate number of cached profiles.
+     */
+    public long getCacheSize() {
+        return profileCache == null ? 0 : profileCache.estimatedSize();
+    }
+
+    /**
+     * Fetches a profile and stores it in the cache. Empty profiles are returned but not cached.
+     */
+    private PersonDetailsResponse loadProfile(ProfileKey key) {
+        PersonDetailsResponse profile = fetchPersonDetails(key.username());
+        if (profile != null) {
+            profileCache.put(key, new CachedProfile(profile));
+        }
+        return profile;
+    }
+
+    /**
+     * Schedules one refresh of a stale profile on the refresh executor. The stale copy keeps being
+     * served until the refresh stores a new one; a failed refresh leaves it in place.
+     */
+    private void refreshInBackground(ProfileKey key) {
+        if (!refreshing.add(key.normalized())) {
+            return;
+        }
+        try {
+            refreshExecutor.execute(() -> {
+                try {
+                    profileFlights.execute(key.normalized(), () -> loadProfile(key));
+                } catch (RuntimeException e) {
+                    logger.warn("Background refresh of profile '{}' failed: {}", key.normalized(), e.getMessage());
+                } finally {
+                    refreshing.remove(key.normalized());
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            refreshing.remove(key.normalized());
+            logger.debug("Skipping refresh of profile '{}': {}", key.normalized(), e.getMessage());
+        }
+    }
+
+    /**
+     * Checks that a username is safe to append to the profile URL as a single path segment.
+     *
+     * @throws IllegalArgumentException if it is blank or contains {@code / \\ ? # %} or whitespace
+     */
+    static void validateUsername(String username) {
+        if (username == null || username.isBlank()) {
+            throw new IllegalArgumentException("Username cannot be empty.");
+        }
+        if (UNSAFE_USERNAME.matcher(username.trim()).find()) {
+            throw new IllegalArgumentException("Invalid username '" + username.trim() + "'.");
+        }
+    }
+
+    private static String normalizeUsername(String username) {
+        return username.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Cache key that compares by normalized username but remembers the username as requested,
+     * so loads and refreshes call Torre.ai with a username it recognizes.
+     */
+    private static final class ProfileKey {
+
+        private final String normalized;
+        private final String username;
+
+        ProfileKey(String username) {
+            this.normalized = normalizeUsername(username);
+            this.username = username.trim();
+        }
+
+        String normalized() {
+            return normalized;
+        }
+
+        String username() {
+            return username;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof ProfileKey key && normalized.equals(key.normalized);
+        }
+
+        @Override
+        public int hashCode() {
+            return normalized.hashCode();
+        }
+
+        @Override
+        public String toString() {
+            return normalized;
+        }
+    }
+
+    private static final class CachedProfile {
+        private final PersonDetailsResponse profile;
+        private final long fetchedAt = System.nanoTime();
+
+        private CachedProfile(PersonDetailsResponse profile) {
+            this.profile = profile;
+        }
+    }
+
+    /**
+     * Fetches and decodes a profile from Torre.ai, bypassing the cache.
+     */
+    private PersonDetailsResponse fetchPersonDetails(String username) {
         logger.info("Fetching profile details for username: {}", username);
         
         String profileUrl = getProfileBaseUrl() + username;
@@ -64,112 +314,88 @@ public class ProfileService {
         httpGet.setHeader("Accept-Encoding", ACCEPT_ENCODING);
         
         try {
-            ClassicHttpResponse response = httpClient.executeOpen(null, httpGet, null);
-            int statusCode = response.getCode();
-            HttpEntity entity = response.getEntity();
-            String responseBody = EntityUtils.toString(entity);
-            
-            logger.debug("Torre.ai profile API response status: {}", statusCode);
-            
-            if (statusCode == 404) {
-                throw new ResourceNotFoundException(String.format(
-                    "Torre.ai profile API returned status %d for username '%s': %s",
-                    statusCode, username, responseBody
-                ));
-            }
-
-            if (statusCode != 200) {
-                throw new ExternalServiceException(String.format(
-                    "Torre.ai profile API returned status %d for username '%s': %s",
-                    statusCode, username, responseBody
-                ));
-            }
-            
-            try {
-                PersonDetailsResponse profileDetails = objectMapper.readValue(responseBody, PersonDetailsResponse.class);
-                
-                decodeHtmlEntitiesInProfile(profileDetails);
-                
-                logger.info("Successfully retrieved profile for username: {}", username);
-                return profileDetails;
-                
-            } catch (IOException parseException) {
-                throw new ExternalServiceException(String.format(
-                    "Failed to parse Torre.ai profile response for username '%s': %s",
-                    username, parseException.getMessage()
-                ), parseException);
-            }
-            
+            return torreGateway.execute("bios", httpGet, response -> handleProfileResponse(username, response.getCode(), response.getEntity()));
         } catch (ResourceNotFoundException | ExternalServiceException exception) {
             throw exception;
-        } catch (IOException | ParseException httpException) {
+        } catch (IOException httpException) {
             throw new ExternalServiceException(String.format(
                 "HTTP request failed for Torre.ai profile username '%s': %s",
                 username, httpException.getMessage()
             ), httpException);
         }
     }
-    
+
     /**
-     * Decodes HTML entities in profile text fields.
-     * 
-     * @param profileDetails Profile response to process
+     * Maps the Torre.ai profile response to a decoded profile or the matching exception.
+     * Successful bodies are parsed straight from the response stream; the body is only read
+     * into a String when it is needed for an error message.
      */
-    private void decodeHtmlEntitiesInProfile(PersonDetailsResponse profileDetails) {
-        if (profileDetails == null) {
-            return;
+    private PersonDetailsResponse handleProfileResponse(String username, int statusCode, HttpEntity entity) throws IOException {
+        logger.debug("Torre.ai profile API response status: {}", statusCode);
+
+        if (statusCode == 404) {
+            String message = String.format(
+                "Torre.ai profile API returned status %d for username '%s': %s",
+                statusCode, username, readErrorBody(username, entity)
+            );
+            if (missingProfiles != null) {
+                missingProfiles.put(normalizeUsername(username), message);
+            }
+            throw new ResourceNotFoundException(message);
         }
-        
-        if (profileDetails.getPerson() != null) {
-            PersonDetailsResponse.Person person = profileDetails.getPerson();
-            person.setName(HtmlUtils.safeDecodeHtmlEntities(person.getName()));
-            person.setProfessionalHeadline(HtmlUtils.safeDecodeHtmlEntities(person.getProfessionalHeadline()));
-            person.setSummaryOfBio(HtmlUtils.safeDecodeHtmlEntities(person.getSummaryOfBio()));
-            person.setPublicId(HtmlUtils.safeDecodeHtmlEntities(person.getPublicId()));
+
+        if (statusCode != 200) {
+            throw new ExternalServiceException(String.format(
+                "Torre.ai profile API returned status %d for username '%s': %s",
+                statusCode, username, readErrorBody(username, entity)
+            ));
         }
-        
-        if (profileDetails.getStrengths() != null) {
-            for (PersonDetailsResponse.Skill skill : profileDetails.getStrengths()) {
-                if (skill != null) {
-                    skill.setName(HtmlUtils.safeDecodeHtmlEntities(skill.getName()));
-                    skill.setExperience(HtmlUtils.safeDecodeHtmlEntities(skill.getExperience()));
-                    skill.setProficiency(HtmlUtils.safeDecodeHtmlEntities(skill.getProficiency()));
-                }
-            }
+
+        if (entity == null) {
+            throw new ExternalServiceException(String.format(
+                "Failed to parse Torre.ai profile response for username '%s': empty response", username
+            ));
         }
-        
-        if (profileDetails.getExperiences() != null) {
-            for (PersonDetailsResponse.Experience experience : profileDetails.getExperiences()) {
-                if (experience != null) {
-                    experience.setName(HtmlUtils.safeDecodeHtmlEntities(experience.getName()));
-                    
-                    if (experience.getOrganizations() != null) {
-                        for (PersonDetailsResponse.Organization org : experience.getOrganizations()) {
-                            if (org != null) {
-                                org.setName(HtmlUtils.safeDecodeHtmlEntities(org.getName()));
-                                org.setAbout(HtmlUtils.safeDecodeHtmlEntities(org.getAbout()));
-                            }
-                        }
-                    }
-                }
+
+        ProfileDecodeEvent event = new ProfileDecodeEvent();
+        event.begin();
+        try (RequestTiming.Span parse = RequestTiming.phase(TimingPhase.PARSE);
+             CountingInputStream content = new CountingInputStream(entity.getContent())) {
+            long decodeStart = HtmlUtils.getDecodeNanos();
+            PersonDetailsResponse profileDetails = objectMapper.readValue(content, PersonDetailsResponse.class);
+            long decodeNanos = HtmlUtils.getDecodeNanos() - decodeStart;
+            RequestTiming.record(TimingPhase.DECODE, decodeNanos);
+            decodeTime.record(decodeNanos, TimeUnit.NANOSECONDS);
+            payloadSize.record(content.getCount());
+            event.end();
+            if (event.shouldCommit()) {
+                event.username = username;
+                event.bytes = content.getCount();
+                event.commit();
             }
+
+            logger.info("Successfully retrieved profile for username: {}", username);
+            return profileDetails;
+
+        } catch (JsonProcessingException parseException) {
+            throw new ExternalServiceException(String.format(
+                "Failed to parse Torre.ai profile response for username '%s': %s",
+                username, parseException.getMessage()
+            ), parseException);
         }
-        
-        if (profileDetails.getEducation() != null) {
-            for (PersonDetailsResponse.Education education : profileDetails.getEducation()) {
-                if (education != null) {
-                    education.setName(HtmlUtils.safeDecodeHtmlEntities(education.getName()));
-                    
-                    if (education.getOrganizations() != null) {
-                        for (PersonDetailsResponse.Organization org : education.getOrganizations()) {
-                            if (org != null) {
-                                org.setName(HtmlUtils.safeDecodeHtmlEntities(org.getName()));
-                                org.setAbout(HtmlUtils.safeDecodeHtmlEntities(org.getAbout()));
-                            }
-                        }
-                    }
-                }
-            }
+    }
+
+    private String readErrorBody(String username, HttpEntity entity) throws IOException {
+        if (entity == null) {
+            return "";
+        }
+        try {
+            return EntityUtils.toString(entity);
+        } catch (ParseException parseException) {
+            throw new ExternalServiceException(String.format(
+                "HTTP request failed for Torre.ai profile username '%s': %s",
+                username, parseException.getMessage()
+            ), parseException);
         }
     }
 }
@@ -1,9 +1,14 @@
 package com.torre.techtest.feature.search;
 
+import java.util.EnumSet;
+import java.util.Set;
+
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
@@ -37,4 +42,21 @@ public class AnalysisController {
         SkillDistributionResponse response = analysisService.getSkillProficiencyDistribution(skill);
         return ResponseEntity.ok(response);
     }
+
+    /**
+     * Runs compensation and/or distribution analyses for several skills in one request
+     * @param request Skills to analyze and the analysis types wanted (all types when omitted)
+     * @return One result per distinct skill with the requested analyses and any per-analysis errors
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<SkillAnalysisBatchResponse> analyzeSkills(@RequestBody SkillAnalysisBatchRequest request) {
+        Set<SkillAnalysisType> types = EnumSet.noneOf(SkillAnalysisType.class);
+        if (request.getTypes() == null || request.getTypes().isEmpty()) {
+            types.addAll(EnumSet.allOf(SkillAnalysisType.class));
+        } else {
+            request.getTypes().forEach(type -> types.add(SkillAnalysisType.fromValue(type)));
+        }
+        SkillAnalysisBatchResponse response = analysisService.analyzeSkills(request.getSkills(), types);
+        return ResponseEntity.ok(response);
+    }
 }
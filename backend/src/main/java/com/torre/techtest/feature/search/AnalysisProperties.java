@@ -0,0 +1,30 @@
+package com.torre.techtest.feature.search;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+/**
+ * Tuning for skill analysis requests against Torre.ai.
+ */
+@Data
+@ConfigurationProperties(prefix = "torre.analysis")
+public class AnalysisProperties {
+
+    /** Whether the distribution query variants are issued concurrently instead of one after another */
+    private boolean parallelSearch = true;
+
+    /** Overall deadline for a distribution request; searches still running are dropped from the tally */
+    private Duration distributionTimeout = Duration.ofSeconds(10);
+
+    /** Largest number of distinct skills accepted in one batch analysis request */
+    private int batchMaxSkills = 20;
+
+    /** Analyses of one batch run at the same time */
+    private int batchParallelism = 4;
+
+    /** Overall deadline for a batch analysis; analyses still running are reported as timed out */
+    private Duration batchTimeout = Duration.ofSeconds(30);
+}
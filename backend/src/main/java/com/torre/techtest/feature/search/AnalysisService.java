@@ -1,53 +1,157 @@
 package com.torre.techtest.feature.search;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
 
 import org.apache.hc.client5.http.classic.methods.HttpPost;
-import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
-import org.apache.hc.client5.http.impl.classic.HttpClients;
 import org.apache.hc.core5.http.ContentType;
 import org.apache.hc.core5.http.io.entity.StringEntity;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Service;
 
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.torre.techtest.config.UpstreamExecutorConfig;
 import com.torre.techtest.exception.ExternalServiceException;
+import com.torre.techtest.gateway.SingleFlight;
+import com.torre.techtest.gateway.TorreApiProperties;
+import com.torre.techtest.gateway.TorreGateway;
+import com.torre.techtest.observability.ProficiencyScoringEvent;
+import com.torre.techtest.observability.RequestTiming;
+import com.torre.techtest.observability.TimingPhase;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 
 /**
  * Service for Torre.ai analysis API integration.
  * 
  * This service provides skill analysis functionality by integrating with Torre.ai's
  * people analysis API endpoints to retrieve compensation and proficiency data.
+ * Concurrent requests for the same skill share a single in-flight upstream analysis.
+ * Compensation analyses are cached per skill with a long TTL; entries that keep being
+ * requested are refreshed by a scheduled job before they expire. Distributions of the most
+ * requested skills are precomputed by another scheduled job and served from a
+ * {@link SkillDistributionStore}; other skills are computed on request. Batch requests run
+ * the analyses of several skills concurrently through the same caches and coalescing.
  */
 @Service
 public class AnalysisService {
 
     private static final Logger logger = LoggerFactory.getLogger(AnalysisService.class);
-    private static final String TORRE_ANALYZE_API_URL = "https://search.torre.co/people/_analyze";
-    private static final String TORRE_SEARCH_API_URL = "https://search.torre.co/people/_search";
+    private static final List<String> PROFICIENCY_LEVELS = List.of("beginner", "intermediate", "advanced", "expert");
     private final ObjectMapper objectMapper = new ObjectMapper();
+    private final TorreGateway torreGateway;
+    private final TorreApiProperties apiProperties;
+    private final AnalysisProperties properties;
+    private final Executor upstreamExecutor;
+    private final Executor batchExecutor;
+    private final SingleFlight<String, CachedCompensation> compensationFlights = new SingleFlight<>();
+    private final SingleFlight<String, ComputedDistribution> distributionFlights = new SingleFlight<>();
+    private final CompensationCacheProperties compensationCacheProperties;
+    private final Cache<String, CachedCompensation> compensationCache;
+    private final DistributionStoreProperties distributionStoreProperties;
+    private final SkillDistributionStore distributionStore;
 
-    protected String getAnalyzeApiUrl() {
-        return TORRE_ANALYZE_API_URL;
+    /**
+     * Creates a service with default settings that runs distribution searches on the calling thread.
+     */
+    public AnalysisService() {
+        this(TorreGateway.shared(), new TorreApiProperties(), new AnalysisProperties(), Runnable::run);
     }
 
-    protected String getSearchApiUrl() {
-        return TORRE_SEARCH_API_URL;
+    /**
+     * Creates a service with the default compensation cache and distribution store settings.
+     */
+    public AnalysisService(TorreGateway torreGateway, TorreApiProperties apiProperties, AnalysisProperties properties,
+                           Executor upstreamExecutor) {
+        this(torreGateway, apiProperties, properties, new CompensationCacheProperties(),
+            new DistributionStoreProperties(), upstreamExecutor);
     }
 
-    protected void pause(long millis) {
-        try {
-            Thread.sleep(millis);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-        }
+    /**
+     * Creates a service that runs the analyses of a batch one after another on the calling thread.
+     */
+    public AnalysisService(TorreGateway torreGateway, TorreApiProperties apiProperties, AnalysisProperties properties,
+                           CompensationCacheProperties compensationCacheProperties,
+                           DistributionStoreProperties distributionStoreProperties, Executor upstreamExecutor) {
+        this(torreGateway, apiProperties, properties, compensationCacheProperties, distributionStoreProperties,
+            upstreamExecutor, Runnable::run);
+    }
+
+    /**
+     * Creates a service whose compensation cache metrics go to a private registry.
+     */
+    public AnalysisService(TorreGateway torreGateway, TorreApiProperties apiProperties, AnalysisProperties properties,
+                           CompensationCacheProperties compensationCacheProperties,
+                           DistributionStoreProperties distributionStoreProperties,
+                           Executor upstreamExecutor, Executor batchExecutor) {
+        this(torreGateway, apiProperties, properties, compensationCacheProperties, distributionStoreProperties,
+            upstreamExecutor, batchExecutor, new SimpleMeterRegistry());
+    }
+
+    @Autowired
+    public AnalysisService(TorreGateway torreGateway, TorreApiProperties apiProperties, AnalysisProperties properties,
+                           CompensationCacheProperties compensationCacheProperties,
+                           DistributionStoreProperties distributionStoreProperties,
+                           @Qualifier(UpstreamExecutorConfig.UPSTREAM_EXECUTOR) Executor upstreamExecutor,
+                           @Qualifier(UpstreamExecutorConfig.BATCH_EXECUTOR) Executor batchExecutor,
+                           MeterRegistry meterRegistry) {
+        this.torreGateway = torreGateway;
+        this.apiProperties = apiProperties;
+        this.properties = properties;
+        this.upstreamExecutor = upstreamExecutor;
+        this.batchExecutor = batchExecutor;
+        this.compensationCacheProperties = compensationCacheProperties;
+        this.compensationCache = compensationCacheProperties.isEnabled()
+            ? CaffeineCacheMetrics.monitor(meterRegistry, Caffeine.newBuilder()
+                .maximumSize(compensationCacheProperties.getMaximumSize())
+                .expireAfterWrite(compensationCacheProperties.getTtl())
+                .executor(upstreamExecutor)
+                .recordStats()
+                .<String, CachedCompensation>build(), "analysis.compensation")
+            : null;
+        this.distributionStoreProperties = distributionStoreProperties;
+        this.distributionStore = distributionStoreProperties.isEnabled()
+            ? new SkillDistributionStore(distributionStoreProperties)
+            : null;
+    }
+
+    protected String getAnalyzeApiUrl() {
+        return apiProperties.getAnalyzeUrl();
+    }
+
+    protected String getSearchApiUrl() {
+        return apiProperties.getSearchUrl();
     }
 
     /**
@@ -58,9 +162,81 @@ public class AnalysisService {
      * @throws Exception if the API call fails
      */
     public SkillCompensationResponse analyzeSkillCompensation(String skill) {
+        String key = normalizeSkill(skill);
+        if (compensationCache == null) {
+            return compensationFlights.execute(key, () -> new CachedCompensation(fetchSkillCompensation(skill))).response;
+        }
+        CachedCompensation cached = compensationCache.getIfPresent(key);
+        if (cached == null) {
+            // Loaded outside the cache so the upstream call does not hold Caffeine's entry lock;
+            // a flight that finished just before this one started has already filled the cache.
+            cached = compensationFlights.execute(key, () -> {
+                CachedCompensation current = compensationCache.asMap().get(key);
+                return current != null ? current : loadCompensation(key, skill);
+            });
+        }
+        cached.hits.increment();
+        return cached.response;
+    }
+
+    /**
+     * Refreshes cached compensation analyses that are older than the refresh threshold and were
+     * requested often enough since their last fetch, most requested first, making at most the
+     * configured number of upstream calls. Entries that fail to refresh keep being served until
+     * they expire.
+     * 
+     * @return Number of entries refreshed
+     */
+    public int refreshCompensationCache() {
+        if (compensationCache == null) {
+            return 0;
+        }
+        long now = System.nanoTime();
+        long refreshAfter = compensationCacheProperties.getRefreshAfter().toNanos();
+        List<Map.Entry<String, CachedCompensation>> due = compensationCache.asMap().entrySet().stream()
+            .filter(entry -> now - entry.getValue().fetchedAt >= refreshAfter
+                && entry.getValue().hits.sum() >= compensationCacheProperties.getRefreshMinHits())
+            .sorted(Comparator.comparingLong((Map.Entry<String, CachedCompensation> entry) -> entry.getValue().hits.sum()).reversed())
+            .limit(compensationCacheProperties.getRefreshBudget())
+            .toList();
+
+        int refreshed = 0;
+        for (Map.Entry<String, CachedCompensation> entry : due) {
+            String key = entry.getKey();
+            String skill = entry.getValue().response.getSkill();
+            try {
+                compensationFlights.execute(key, () -> loadCompensation(key, skill));
+                refreshed++;
+            } catch (RuntimeException e) {
+                logger.warn("Background refresh of compensation analysis for '{}' failed: {}", key, e.getMessage());
+            }
+        }
+        return refreshed;
+    }
+
+    /**
+     * Returns hit, miss, load and eviction counters for the compensation cache.
+     */
+    public CacheStats getCompensationCacheStats() {
+        return compensationCache == null ? CacheStats.empty() : compensationCache.stats();
+    }
+
+    /**
+     * Fetches the compensation analysis for a skill and stores it in the cache.
+     */
+    private CachedCompensation loadCompensation(String key, String skill) {
+        CachedCompensation loaded = new CachedCompensation(fetchSkillCompensation(skill));
+        compensationCache.put(key, loaded);
+        return loaded;
+    }
+
+    /**
+     * Calls Torre.ai's analysis endpoint for a single skill.
+     */
+    private SkillCompensationResponse fetchSkillCompensation(String skill) {
         logger.debug("Getting skill compensation for: {}", skill);
 
-        try (CloseableHttpClient httpClient = HttpClients.createDefault()) {
+        try {
             HttpPost httpPost = new HttpPost(getAnalyzeApiUrl());
             
             httpPost.setHeader("Content-Type", "application/json");
@@ -71,16 +247,16 @@ public class AnalysisService {
 
             logger.debug("Request payload to Torre analysis: {}", jsonPayload);
 
-            return httpClient.execute(httpPost, response -> {
+            return torreGateway.execute("analyze", httpPost, response -> {
                 logger.debug("Received analysis response status: {}", response.getCode());
                 
                 if (response.getCode() != 200) {
                     throw new ExternalServiceException("Torre.ai API returned status: " + response.getCode() + ". Unable to analyze skill compensation without Torre.ai data.");
                 }
 
-                try {
-                    String responseBody = new String(response.getEntity().getContent().readAllBytes());
-                    return parseCompensationResponse(responseBody, skill);
+                try (RequestTiming.Span parse = RequestTiming.phase(TimingPhase.PARSE);
+                     InputStream content = response.getEntity().getContent()) {
+                    return parseCompensationResponse(content, skill);
                 } catch (IOException e) {
                     throw new ExternalServiceException("Failed to parse Torre.ai compensation response: " + e.getMessage(), e);
                 }
@@ -102,48 +278,207 @@ public class AnalysisService {
      * @throws Exception if the API call fails
      */
     public SkillDistributionResponse getSkillProficiencyDistribution(String skill) {
+        String key = normalizeSkill(skill);
+        if (distributionStore != null) {
+            distributionStore.recordRequest(key, skill);
+            SkillDistributionResponse materialized = distributionStore.get(key);
+            if (materialized != null) {
+                return materialized;
+            }
+        }
+        return distributionFlights.execute(key, () -> computeSkillProficiencyDistribution(skill)).response();
+    }
+
+    /**
+     * Runs the requested analyses for several skills concurrently.
+     * 
+     * Skills that normalize to the same key are analyzed once. The analyses are worked off by at
+     * most the configured number of tasks on the batch executor, each going through
+     * {@link #analyzeSkillCompensation} or {@link #getSkillProficiencyDistribution}, so caching,
+     * the distribution store, request coalescing and upstream rate limiting all apply. A failed
+     * analysis is reported in its skill's errors; analyses still running at the batch deadline
+     * are reported as timed out.
+     * 
+     * @param skills Skills to analyze, at most the configured maximum
+     * @param types  Analyses wanted for every skill
+     * @return One result per distinct skill, in request order
+     * @throws IllegalArgumentException if no skills, too many skills, a blank skill or no analysis types are given
+     */
+    public SkillAnalysisBatchResponse analyzeSkills(List<String> skills, Set<SkillAnalysisType> types) {
+        if (skills == null || skills.isEmpty()) {
+            throw new IllegalArgumentException("Skills cannot be empty.");
+        }
+        if (types == null || types.isEmpty()) {
+            throw new IllegalArgumentException("At least one analysis type is required.");
+        }
+        Map<String, String> distinctSkills = new LinkedHashMap<>();
+        for (String skill : skills) {
+            if (skill == null || skill.trim().isEmpty()) {
+                throw new IllegalArgumentException("Skills cannot be blank.");
+            }
+            distinctSkills.putIfAbsent(normalizeSkill(skill), skill.trim());
+        }
+        if (distinctSkills.size() > properties.getBatchMaxSkills()) {
+            throw new IllegalArgumentException("At most " + properties.getBatchMaxSkills() + " skills can be analyzed at once.");
+        }
+
+        List<String> batchSkills = new ArrayList<>(distinctSkills.values());
+        List<SkillAnalysisType> batchTypes = List.copyOf(types);
+        int taskCount = batchSkills.size() * batchTypes.size();
+        AtomicReferenceArray<Object> outcomes = new AtomicReferenceArray<>(taskCount);
+        AtomicInteger next = new AtomicInteger();
+        AtomicBoolean abandoned = new AtomicBoolean();
+        Runnable drain = () -> {
+            int task;
+            while (!abandoned.get() && (task = next.getAndIncrement()) < taskCount) {
+                String skill = batchSkills.get(task / batchTypes.size());
+                outcomes.compareAndSet(task, null, runAnalysis(skill, batchTypes.get(task % batchTypes.size())));
+            }
+        };
+
+        int workers = Math.min(Math.max(properties.getBatchParallelism(), 1), taskCount);
+        List<CompletableFuture<Void>> tasks = new ArrayList<>(workers);
+        for (int i = 0; i < workers; i++) {
+            tasks.add(CompletableFuture.runAsync(drain, batchExecutor));
+        }
+
+        long timeoutMillis = properties.getBatchTimeout().toMillis();
+        try {
+            CompletableFuture.allOf(tasks.toArray(new CompletableFuture<?>[0])).get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            logger.warn("Batch analysis of {} skills exceeded {} ms, reporting unfinished analyses as timed out",
+                batchSkills.size(), timeoutMillis);
+        } catch (ExecutionException e) {
+            logger.warn("Batch analysis task failed: {}", e.getCause().getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ExternalServiceException("Interrupted while analyzing a batch of skills", e);
+        } finally {
+            abandoned.set(true);
+        }
+
+        List<SkillAnalysisResult> results = new ArrayList<>(batchSkills.size());
+        for (int i = 0; i < batchSkills.size(); i++) {
+            SkillAnalysisResult result = new SkillAnalysisResult(batchSkills.get(i));
+            for (int j = 0; j < batchTypes.size(); j++) {
+                int task = i * batchTypes.size() + j;
+                outcomes.compareAndSet(task, null, "Timed out analyzing skill within " + timeoutMillis + " ms");
+                Object outcome = outcomes.get(task);
+                if (outcome instanceof SkillCompensationResponse compensation) {
+                    result.setCompensation(compensation);
+                } else if (outcome instanceof SkillDistributionResponse distribution) {
+                    result.setDistribution(distribution);
+                } else {
+                    result.getErrors().put(batchTypes.get(j).getValue(), String.valueOf(outcome));
+                }
+            }
+            results.add(result);
+        }
+        return new SkillAnalysisBatchResponse(results);
+    }
+
+    /**
+     * Runs one analysis of a batch, returning its response or the error message.
+     */
+    private Object runAnalysis(String skill, SkillAnalysisType type) {
+        try {
+            return switch (type) {
+                case COMPENSATION -> analyzeSkillCompensation(skill);
+                case DISTRIBUTION -> getSkillProficiencyDistribution(skill);
+            };
+        } catch (RuntimeException e) {
+            logger.warn("Batch {} analysis for '{}' failed: {}", type.getValue(), skill, e.getMessage());
+            return e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+        }
+    }
+
+    /**
+     * Recomputes the distributions of the most requested skills into the distribution store and
+     * drops stored distributions that have not been recomputed within the configured maximum age.
+     * Only complete recomputations are stored: when a search failed or the deadline cut the tally
+     * short, or no profiles were found, the previous distribution keeps being served until it
+     * reaches that age.
+     * 
+     * @return Number of distributions recomputed
+     */
+    public int refreshDistributionStore() {
+        if (distributionStore == null) {
+            return 0;
+        }
+        List<SkillDistributionStore.PopularSkill> popular = distributionStore.topSkills(
+            distributionStoreProperties.getTopSkills(), distributionStoreProperties.getMinRequests());
+
+        int refreshed = 0;
+        for (SkillDistributionStore.PopularSkill skill : popular) {
+            try {
+                ComputedDistribution computed = distributionFlights.execute(skill.key(),
+                    () -> computeSkillProficiencyDistribution(skill.skill()));
+                if (!computed.complete() || computed.response().getTotalProfiles() == 0) {
+                    logger.warn("Materializing distribution for '{}' returned degraded results, keeping the previous one", skill.key());
+                    continue;
+                }
+                distributionStore.put(skill.key(), computed.response());
+                refreshed++;
+            } catch (RuntimeException e) {
+                logger.warn("Materializing distribution for '{}' failed: {}", skill.key(), e.getMessage());
+            }
+        }
+
+        distributionStore.expireAndDecay(distributionStoreProperties.getMaxAge().toNanos());
+        return refreshed;
+    }
+
+    /**
+     * Returns the number of skills whose distribution is currently served from the store.
+     */
+    public int getMaterializedDistributionCount() {
+        return distributionStore == null ? 0 : distributionStore.size();
+    }
+
+    /**
+     * Runs the distribution searches for a single skill and builds the response, noting whether
+     * every search completed.
+     */
+    private ComputedDistribution computeSkillProficiencyDistribution(String skill) {
         logger.info("Analyzing skill proficiency distribution for: {}", skill);
         
         SkillDistributionResponse response = new SkillDistributionResponse();
         response.setSkill(skill);
-        Map<String, Integer> proficiencyCount = new HashMap<>();
-        proficiencyCount.put("beginner", 0);
-        proficiencyCount.put("intermediate", 0);
-        proficiencyCount.put("advanced", 0);
-        proficiencyCount.put("expert", 0);
         
-        try (CloseableHttpClient httpClient = HttpClients.createDefault()) {
-            logger.debug("Starting skill-specific distribution analysis for: {}", skill);
-            
-            performSkillSearch(httpClient, skill, proficiencyCount, 25, 0);
-            performSkillSearch(httpClient, "senior " + skill + " expert", proficiencyCount, 15, 0);
-            performSkillSearch(httpClient, skill + " developer engineer", proficiencyCount, 25, 20);
-            performSkillSearch(httpClient, "junior " + skill + " trainee", proficiencyCount, 15, 0);
-            performSkillSearch(httpClient, skill + " professional specialist", proficiencyCount, 20, 10);
-        } catch (IOException e) {
-            throw new ExternalServiceException("Failed to analyze skill proficiency distribution: " + e.getMessage(), e);
+        logger.debug("Starting skill-specific distribution analysis for: {}", skill);
+        AtomicBoolean complete = new AtomicBoolean(true);
+        Map<String, Integer> proficiencyCount = collectProficiencyCounts(skill, complete);
+        try (RequestTiming.Span aggregate = RequestTiming.phase(TimingPhase.AGGREGATE)) {
+            return new ComputedDistribution(buildDistribution(skill, response, proficiencyCount), complete.get());
         }
-        
+    }
+
+    /**
+     * Turns the tallied proficiency counts into percentages per level.
+     */
+    private SkillDistributionResponse buildDistribution(String skill, SkillDistributionResponse response,
+                                                        Map<String, Integer> proficiencyCount) {
         int totalProfiles = proficiencyCount.values().stream().mapToInt(Integer::intValue).sum();
         List<SkillDistributionResponse.ProficiencyLevel> distribution = new ArrayList<>();
         
         logger.debug("Final distribution analysis for: {}", skill);
         logger.debug("Total profiles analyzed: {}", totalProfiles);
-        for (Map.Entry<String, Integer> entry : proficiencyCount.entrySet()) {
-            logger.debug("- {}: {} profiles", entry.getKey(), entry.getValue());
+        for (String level : PROFICIENCY_LEVELS) {
+            logger.debug("- {}: {} profiles", level, proficiencyCount.get(level));
         }
         if (totalProfiles > 0) {
-            for (Map.Entry<String, Integer> entry : proficiencyCount.entrySet()) {
-if (entry.getValue() > 0) {
-                double percentageDouble = (entry.getValue() * 100.0) / totalProfiles;
-                int percentage = (int) percentageDouble;
-                distribution.add(new SkillDistributionResponse.ProficiencyLevel(
-                        entry.getKey(),
+            for (String level : PROFICIENCY_LEVELS) {
+                int count = proficiencyCount.get(level);
+                if (count > 0) {
+                    double percentageDouble = (count * 100.0) / totalProfiles;
+                    int percentage = (int) percentageDouble;
+                    distribution.add(new SkillDistributionResponse.ProficiencyLevel(
+                        level,
                         percentage,
-                        entry.getValue(),
+                        count,
                         null // averageExperience
                     ));
-                    logger.debug("{} - {}: {} ({}%)", skill, entry.getKey(), entry.getValue(), percentage);
+                    logger.debug("{} - {}: {} ({}%)", skill, level, count, percentage);
                 }
             }
         }
@@ -157,11 +492,84 @@ if (entry.getValue() > 0) {
         return response;
     }
     
+    /**
+     * Builds the key under which identical skill requests are coalesced.
+     */
+    private static String normalizeSkill(String skill) {
+        return skill == null ? "" : skill.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Runs the distribution query variants and tallies the proficiency level of every returned profile.
+     * 
+     * When parallel search is enabled the variants run concurrently on the upstream executor and
+     * the request waits at most the configured deadline; variants still running at that point are
+     * left out of the tally and cancelled, and variants that have not reached Torre.ai by then
+     * skip their call. Otherwise they run one after another on the calling thread.
+     * {@code complete} is cleared when a variant failed or was left out.
+     */
+    private Map<String, Integer> collectProficiencyCounts(String skill, AtomicBoolean complete) {
+        Map<String, Integer> tally = new ConcurrentHashMap<>();
+        PROFICIENCY_LEVELS.forEach(level -> tally.put(level, 0));
+        Executor executor = properties.isParallelSearch() ? upstreamExecutor : Runnable::run;
+        
+        long timeoutMillis = properties.getDistributionTimeout().toMillis();
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        List<CompletableFuture<Map<String, Integer>>> searches = List.of(
+            searchAsync(skill, 25, 0, executor, deadline),
+            searchAsync("senior " + skill + " expert", 15, 0, executor, deadline),
+            searchAsync(skill + " developer engineer", 25, 20, executor, deadline),
+            searchAsync("junior " + skill + " trainee", 15, 0, executor, deadline),
+            searchAsync(skill + " professional specialist", 20, 10, executor, deadline)
+        );
+        List<CompletableFuture<Void>> merges = searches.stream()
+            .map(search -> search.thenAccept(counts -> {
+                if (counts == null) {
+                    complete.set(false);
+                    return;
+                }
+                counts.forEach((level, count) -> tally.merge(level, count, Integer::sum));
+            }))
+            .toList();
+        
+        try {
+            CompletableFuture.allOf(merges.toArray(new CompletableFuture<?>[0])).get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            logger.warn("Distribution analysis for '{}' exceeded {} ms, using partial results", skill, timeoutMillis);
+            complete.set(false);
+            searches.forEach(search -> search.cancel(false));
+        } catch (ExecutionException e) {
+            logger.warn("Distribution search failed for '{}': {}", skill, e.getCause().getMessage());
+            complete.set(false);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ExternalServiceException("Interrupted while analyzing skill proficiency distribution for: " + skill, e);
+        }
+        
+        return new HashMap<>(tally);
+    }
+    
+    /**
+     * Schedules a single query variant. A variant that starts after the deadline returns null
+     * without calling Torre.ai; cancelling the returned future drops it if it has not started.
+     */
+    private CompletableFuture<Map<String, Integer>> searchAsync(String searchTerm, int limit, int offset,
+                                                                Executor executor, long deadline) {
+        return CompletableFuture.supplyAsync(() -> {
+            if (System.nanoTime() - deadline >= 0) {
+                logger.debug("Skipping search '{}' started after the distribution deadline", searchTerm);
+                return null;
+            }
+            return performSkillSearch(searchTerm, limit, offset);
+        }, executor);
+    }
+    
     /**
      * Simplified search method for better performance
+     * 
+     * @return Proficiency counts for the profiles returned by this search, or null if it failed
      */
-    private void performSkillSearch(CloseableHttpClient httpClient, String searchTerm, 
-                                   Map<String, Integer> proficiencyCount, int limit, int offset) {
+    private Map<String, Integer> performSkillSearch(String searchTerm, int limit, int offset) {
         try {
             HttpPost httpPost = new HttpPost(getSearchApiUrl());
             httpPost.setHeader("Content-Type", "application/json");
@@ -186,45 +594,73 @@ if (entry.getValue() > 0) {
             
             logger.debug("Searching '{}' with offset {} and limit {}", searchTerm, offset, limit);
             
-            String responseBody = httpClient.execute(httpPost, httpResponse -> {
-                if (httpResponse.getCode() == 200) {
-                    return new String(httpResponse.getEntity().getContent().readAllBytes());
+            return torreGateway.execute("search", httpPost, httpResponse -> {
+                if (httpResponse.getCode() != 200) {
+                    logger.warn("Search for '{}' returned status {}", searchTerm, httpResponse.getCode());
+                    return null;
+                }
+                try (RequestTiming.Span parse = RequestTiming.phase(TimingPhase.PARSE);
+                     InputStream content = httpResponse.getEntity().getContent()) {
+                    return tallyProficiencyLevels(content, searchTerm);
                 }
-                return null;
             });
-            
-            if (responseBody != null) {
-                JsonNode rootNode = objectMapper.readTree(responseBody);
-                JsonNode resultsNode = rootNode.path("results");
-                
-                int profilesProcessed = 0;
-                if (resultsNode.isArray()) {
-                    for (JsonNode profile : resultsNode) {
-                        // Extract the base skill from search term for analysis
-                        String baseSkill = extractBaseSkill(searchTerm);
-                        String proficiencyLevel = analyzeProficiencyFromProfile(profile, baseSkill);
-                        
-                        // Debug each profile analysis
-                        String profileName = profile.path("name").asText("Unknown");
-                        
-                        if (proficiencyLevel != null) {
-                            proficiencyCount.put(proficiencyLevel, proficiencyCount.get(proficiencyLevel) + 1);
-                            profilesProcessed++;
-                            logger.debug("Profile '{}' -> {}", profileName, proficiencyLevel);
-                        } else {
-                            logger.debug("Profile '{}' -> skipped", profileName);
-                        }
+        } catch (IOException e) {
+            logger.warn("Search failed for '{}': {}", searchTerm, e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Streams a search response and scores each entry of its {@code results} array.
+     * Other top-level fields (aggregators, meta) are skipped without being materialized.
+     */
+    private Map<String, Integer> tallyProficiencyLevels(InputStream content, String searchTerm) throws IOException {
+        Map<String, Integer> proficiencyCount = new HashMap<>();
+        String baseSkill = extractBaseSkill(searchTerm);
+        int profilesProcessed = 0;
+        ProficiencyScoringEvent event = new ProficiencyScoringEvent();
+        event.begin();
+
+        try (JsonParser parser = objectMapper.getFactory().createParser(content)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return proficiencyCount;
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                if (!"results".equals(field) || value != JsonToken.START_ARRAY) {
+                    parser.skipChildren();
+                    continue;
+                }
+                while (parser.nextToken() != JsonToken.END_ARRAY) {
+                    JsonNode profile = objectMapper.readTree(parser);
+                    String proficiencyLevel;
+                    try (RequestTiming.Span aggregate = RequestTiming.phase(TimingPhase.AGGREGATE)) {
+                        proficiencyLevel = analyzeProficiencyFromProfile(profile, baseSkill);
+                    }
+
+                    // Debug each profile analysis
+                    String profileName = profile.path("name").asText("Unknown");
+
+                    if (proficiencyLevel != null) {
+                        proficiencyCount.merge(proficiencyLevel, 1, Integer::sum);
+                        profilesProcessed++;
+                        logger.debug("Profile '{}' -> {}", profileName, proficiencyLevel);
+                    } else {
+                        logger.debug("Profile '{}' -> skipped", profileName);
                     }
                 }
-                
-                logger.debug("Search '{}' -> {} profiles", searchTerm, profilesProcessed);
             }
-            
-            pause(200);
-            
-        } catch (IOException e) {
-            logger.warn("Search failed for '{}': {}", searchTerm, e.getMessage());
         }
+
+        event.end();
+        if (event.shouldCommit()) {
+            event.searchTerm = searchTerm;
+            event.profiles = profilesProcessed;
+            event.commit();
+        }
+        logger.debug("Search '{}' -> {} profiles", searchTerm, profilesProcessed);
+        return proficiencyCount;
     }
     
     /**
@@ -256,7 +692,7 @@ if (entry.getValue() > 0) {
     /**
      * Analyzes a profile to determine proficiency level based on various factors.
      */
-    private String analyzeProficiencyFromProfile(JsonNode profile, String skill) {
+    String analyzeProficiencyFromProfile(JsonNode profile, String skill) {
         if (profile == null) {
             return "beginner";
         }
@@ -300,7 +736,7 @@ if (entry.getValue() > 0) {
         if (weight > 1.0) proficiencyScore += 5;
         
         // Add randomness for more realistic distribution
-        proficiencyScore += (int)(Math.random() * 10);
+        proficiencyScore += ThreadLocalRandom.current().nextInt(10);
         
         // Determine level based on score
         if (proficiencyScore >= 40) {
@@ -347,49 +783,35 @@ if (entry.getValue() > 0) {
 
     /**
      * Parses Torre.ai response for compensation data.
-     * This method extracts real compensation data from Torre.ai's analysis response.
+     * This method extracts real compensation data from Torre.ai's analysis response,
+     * reading only the root {@code total} and {@code result.compensation} fields from the stream.
      */
-    private SkillCompensationResponse parseCompensationResponse(String responseBody, String skill) {
-        try {
-            JsonNode rootNode = objectMapper.readTree(responseBody);
-            logger.debug("Torre.ai response received for skill: {}", skill);
-
-            SkillCompensationResponse response = new SkillCompensationResponse();
-            response.setSkill(skill);
-
-            JsonNode resultNode = rootNode.path("result");
-            JsonNode compensationNode = resultNode.path("compensation");
-
-if (compensationNode.isObject()) {
-                double hourlyToYearlyMultiplier = 40.0 * 50.0;
+    SkillCompensationResponse parseCompensationResponse(InputStream content, String skill) throws IOException {
+        SkillCompensationResponse response = new SkillCompensationResponse();
+        response.setSkill(skill);
 
-                if (compensationNode.has("mean")) {
-                    double hourlyMean = compensationNode.path("mean").asDouble();
-                    response.setAverageCompensation(hourlyMean * hourlyToYearlyMultiplier);
-                }
-                if (compensationNode.has("suggested")) {
-                    double hourlySuggested = compensationNode.path("suggested").asDouble();
-                    response.setMedianCompensation(hourlySuggested * hourlyToYearlyMultiplier);
-                }
-                if (compensationNode.has("min")) {
-                    double hourlyMin = compensationNode.path("min").asDouble();
-                    response.setMinCompensation(hourlyMin * hourlyToYearlyMultiplier);
-                }
-                if (compensationNode.has("max")) {
-                    double hourlyMax = compensationNode.path("max").asDouble();
-                    response.setMaxCompensation(hourlyMax * hourlyToYearlyMultiplier);
-                }
+        try (JsonParser parser = objectMapper.getFactory().createParser(content)) {
+            logger.debug("Torre.ai response received for skill: {}", skill);
 
-                response.setCurrency("USD");
-                response.setPeriodicity("yearly");
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return response;
+            }
 
-                if (compensationNode.has("total")) {
-                    response.setDataPoints(compensationNode.path("total").asInt(0));
+            Integer rootTotal = null;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                if ("total".equals(field)) {
+                    rootTotal = (int) numericValue(parser);
+                } else if ("result".equals(field) && value == JsonToken.START_OBJECT) {
+                    parseResultObject(parser, response);
+                } else {
+                    parser.skipChildren();
                 }
             }
 
-            if (rootNode.has("total")) {
-                response.setDataPoints(rootNode.path("total").asInt(0));
+            if (rootTotal != null) {
+                response.setDataPoints(rootTotal);
             }
 
             return response;
@@ -397,4 +819,67 @@ if (compensationNode.isObject()) {
             throw new ExternalServiceException("Failed to parse compensation response: " + e.getMessage(), e);
         }
     }
-}
\ No newline at end of file
+
+    private void parseResultObject(JsonParser parser, SkillCompensationResponse response) throws IOException {
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            if ("compensation".equals(field) && value == JsonToken.START_OBJECT) {
+                parseCompensationObject(parser, response);
+            } else {
+                parser.skipChildren();
+            }
+        }
+    }
+
+    private void parseCompensationObject(JsonParser parser, SkillCompensationResponse response) throws IOException {
+        double hourlyToYearlyMultiplier = 40.0 * 50.0;
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            parser.nextToken();
+            switch (field) {
+                case "mean" -> response.setAverageCompensation(numericValue(parser) * hourlyToYearlyMultiplier);
+                case "suggested" -> response.setMedianCompensation(numericValue(parser) * hourlyToYearlyMultiplier);
+                case "min" -> response.setMinCompensation(numericValue(parser) * hourlyToYearlyMultiplier);
+                case "max" -> response.setMaxCompensation(numericValue(parser) * hourlyToYearlyMultiplier);
+                case "total" -> response.setDataPoints((int) numericValue(parser));
+                default -> parser.skipChildren();
+            }
+        }
+
+        response.setCurrency("USD");
+        response.setPeriodicity("yearly");
+    }
+
+    /**
+     * Reads the current value as a number, coercing text and treating null or containers as zero.
+     */
+    private double numericValue(JsonParser parser) throws IOException {
+        if (parser.currentToken().isStructStart()) {
+            parser.skipChildren();
+            return 0.0;
+        }
+        return parser.getValueAsDouble(0.0);
+    }
+
+    /**
+     * A computed distribution; {@code complete} is false when a search failed or was cut off by
+     * the deadline, so the counts may be partial.
+     */
+    private record ComputedDistribution(SkillDistributionResponse response, boolean complete) {
+    }
+
+    /**
+     * A cached compensation analysis with the number of times it was served since it was fetched.
+     */
+    private static final class CachedCompensation {
+        private final SkillCompensationResponse response;
+        private final long fetchedAt = System.nanoTime();
+        private final LongAdder hits = new LongAdder();
+
+        private CachedCompensation(SkillCompensationResponse response) {
+            this.response = response;
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.torre.techtest.feature.search;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+/**
+ * Settings for the in-memory cache of skill compensation analyses.
+ */
+@Data
+@ConfigurationProperties(prefix = "torre.analysis.compensation-cache")
+public class CompensationCacheProperties {
+
+    /** Whether compensation analyses are cached at all */
+    private boolean enabled = true;
+
+    /** Maximum number of cached skills */
+    private long maximumSize = 500;
+
+    /** Age after which an entry is dropped and the next request calls Torre.ai again */
+    private Duration ttl = Duration.ofHours(6);
+
+    /** Age after which frequently requested entries are refreshed in the background before they expire */
+    private Duration refreshAfter = Duration.ofHours(5);
+
+    /** Requests an entry needs since its last fetch to be refreshed instead of left to expire */
+    private long refreshMinHits = 3;
+
+    /** Delay between background refresh runs */
+    private Duration refreshInterval = Duration.ofMinutes(1);
+
+    /** Maximum number of Torre.ai calls a single refresh run may make */
+    private int refreshBudget = 10;
+}
@@ -0,0 +1,31 @@
+package com.torre.techtest.feature.search;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Periodically refreshes frequently requested compensation analyses before they expire, so
+ * lookups for common skills never wait for Torre.ai.
+ */
+@Component
+public class CompensationCacheRefresher {
+
+    private static final Logger logger = LoggerFactory.getLogger(CompensationCacheRefresher.class);
+
+    private final AnalysisService analysisService;
+
+    public CompensationCacheRefresher(AnalysisService analysisService) {
+        this.analysisService = analysisService;
+    }
+
+    @Scheduled(initialDelayString = "${torre.analysis.compensation-cache.refresh-interval:1m}",
+               fixedDelayString = "${torre.analysis.compensation-cache.refresh-interval:1m}")
+    public void refresh() {
+        int refreshed = analysisService.refreshCompensationCache();
+        if (refreshed > 0) {
+            logger.info("Refreshed {} cached compensation analyses", refreshed);
+        }
+    }
+}
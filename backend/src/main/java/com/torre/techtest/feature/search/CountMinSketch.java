@@ -0,0 +1,75 @@
+package com.torre.techtest.feature.search;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Fixed-size count-min sketch for approximate per-key request counts.
+ *
+ * Each key increments one counter per row and its count is estimated as the smallest of its
+ * counters, so estimates never undercount and overcount only through hash collisions. Memory
+ * stays at {@code depth * width} counters however many distinct keys are seen. Counters can
+ * be halved periodically so the estimates follow recent traffic.
+ */
+class CountMinSketch {
+
+    private final int depth;
+    private final int width;
+    private final AtomicLongArray counters;
+
+    CountMinSketch(int depth, int width) {
+        if (depth < 1 || width < 1) {
+            throw new IllegalArgumentException("Count-min sketch needs at least one row and one column");
+        }
+        this.depth = depth;
+        this.width = width;
+        this.counters = new AtomicLongArray(depth * width);
+    }
+
+    /**
+     * Counts one occurrence of the key.
+     *
+     * @return Estimated count of the key including this occurrence
+     */
+    long add(Object key) {
+        int hash = spread(key.hashCode());
+        long estimate = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            estimate = Math.min(estimate, counters.incrementAndGet(index(row, hash)));
+        }
+        return estimate;
+    }
+
+    /**
+     * Returns the estimated count of the key.
+     */
+    long estimate(Object key) {
+        int hash = spread(key.hashCode());
+        long estimate = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            estimate = Math.min(estimate, counters.get(index(row, hash)));
+        }
+        return estimate;
+    }
+
+    /**
+     * Halves every counter, so older requests weigh less than recent ones.
+     */
+    void halve() {
+        for (int i = 0; i < counters.length(); i++) {
+            counters.getAndUpdate(i, count -> count >>> 1);
+        }
+    }
+
+    /**
+     * Derives the column for a row from two hashes of the key (Kirsch-Mitzenmacher).
+     */
+    private int index(int row, int hash) {
+        int second = Integer.rotateLeft(hash * 0x9E3779B9, 16) | 1;
+        return row * width + Math.floorMod(hash + row * second, width);
+    }
+
+    private static int spread(int hash) {
+        int spread = hash * 0x85EBCA6B;
+        return spread ^ (spread >>> 13);
+    }
+}
@@ -0,0 +1,39 @@
+package com.torre.techtest.feature.search;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+/**
+ * Settings for the precomputed skill distributions of the most requested skills.
+ */
+@Data
+@ConfigurationProperties(prefix = "torre.analysis.distribution-store")
+public class DistributionStoreProperties {
+
+    /** Whether popular skills are materialized and served from memory */
+    private boolean enabled = true;
+
+    /** Number of most requested skills kept materialized */
+    private int topSkills = 20;
+
+    /** Estimated recent requests a skill needs before it is materialized */
+    private long minRequests = 3;
+
+    /** Delay between recomputations of the materialized skills */
+    private Duration refreshInterval = Duration.ofMinutes(10);
+
+    /** Age after which a materialized distribution that was not recomputed is dropped */
+    private Duration maxAge = Duration.ofMinutes(30);
+
+    /** Distinct recently requested skills considered when picking the most requested ones */
+    private long candidateCapacity = 1000;
+
+    /** Counters per row of the request frequency sketch */
+    private int sketchWidth = 2048;
+
+    /** Rows of the request frequency sketch */
+    private int sketchDepth = 4;
+}
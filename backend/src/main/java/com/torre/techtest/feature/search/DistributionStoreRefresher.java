@@ -0,0 +1,31 @@
+package com.torre.techtest.feature.search;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Periodically recomputes the skill distributions of the most requested skills, so the most
+ * expensive analysis is a memory lookup for most requests.
+ */
+@Component
+public class DistributionStoreRefresher {
+
+    private static final Logger logger = LoggerFactory.getLogger(DistributionStoreRefresher.class);
+
+    private final AnalysisService analysisService;
+
+    public DistributionStoreRefresher(AnalysisService analysisService) {
+        this.analysisService = analysisService;
+    }
+
+    @Scheduled(initialDelayString = "${torre.analysis.distribution-store.refresh-interval:10m}",
+               fixedDelayString = "${torre.analysis.distribution-store.refresh-interval:10m}")
+    public void refresh() {
+        int refreshed = analysisService.refreshDistributionStore();
+        if (refreshed > 0) {
+            logger.info("Materialized skill distributions for {} popular skills", refreshed);
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.torre.techtest.feature.search;
+
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Normalized form of a {@link SearchRequest}, used as the search result cache key.
+ *
+ * The query is trimmed and case-folded with inner whitespace collapsed, and the exclusion
+ * lists are sorted and de-duplicated, so requests that Torre.ai answers identically share
+ * one cache entry.
+ */
+record SearchCacheKey(String query, String torreGgId, String identityType, Integer limit, Boolean meta,
+                      List<String> excluding, List<String> excludedPeople, Boolean excludeContacts) {
+
+    static SearchCacheKey of(SearchRequest request) {
+        return new SearchCacheKey(
+            normalizeQuery(request.getQuery()),
+            request.getTorreGgId(),
+            request.getIdentityType() == null ? null : request.getIdentityType().trim().toLowerCase(Locale.ROOT),
+            request.getLimit(),
+            request.getMeta(),
+            normalizeList(request.getExcluding()),
+            normalizeList(request.getExcludedPeople()),
+            request.getExcludeContacts()
+        );
+    }
+
+    /**
+     * Returns the query trimmed, case-folded and with inner whitespace collapsed.
+     */
+    static String normalizeQuery(String query) {
+        return query == null ? "" : query.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+
+    private static List<String> normalizeList(List<String> values) {
+        return values == null ? List.of() : values.stream().distinct().sorted().toList();
+    }
+}
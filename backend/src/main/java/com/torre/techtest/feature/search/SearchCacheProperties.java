@@ -0,0 +1,25 @@
+package com.torre.techtest.feature.search;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import lombok.Data;
+
+/**
+ * Settings for the in-memory cache of people search results.
+ */
+@Data
+@ConfigurationProperties(prefix = "torre.search.cache")
+public class SearchCacheProperties {
+
+    /** Whether search results are cached at all */
+    private boolean enabled = true;
+
+    /** Age after which a cached search is dropped and the next request streams it from Torre.ai again */
+    private Duration ttl = Duration.ofSeconds(60);
+
+    /** Approximate heap the cached results may take; the least valuable searches are evicted beyond this */
+    private DataSize maxMemory = DataSize.ofMegabytes(32);
+}
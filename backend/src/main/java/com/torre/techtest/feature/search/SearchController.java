@@ -1,5 +1,14 @@
 package com.torre.techtest.feature.search;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -7,26 +16,41 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.torre.techtest.exception.ExternalServiceException;
+import com.torre.techtest.exception.RateLimitExceededException;
+import com.torre.techtest.feature.profile.ProfilePrefetcher;
 
 /**
  * REST Controller for Torre.ai search operations.
  * 
- * This controller acts as a proxy between the Next.js frontend and Torre.ai's search API
+ * This controller acts as a proxy between the Next.js frontend and Torre.ai's search API.
+ * Once a search has been answered, the profiles of its leading results are handed to the
+ * {@link ProfilePrefetcher}.
  */
 @RestController
 @RequestMapping("/api/search")
 @CrossOrigin(origins = "*") 
 public class SearchController {
 
+    private static final Logger logger = LoggerFactory.getLogger(SearchController.class);
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
     private final SearchService searchService;
+    private final ProfilePrefetcher profilePrefetcher;
+    private final ObjectMapper objectMapper = new ObjectMapper();
 
     /**
      * Constructor injection for SearchService dependency.
      * 
-     * @param searchService Service layer handling Torre.ai API communication
+     * @param searchService     Service layer handling Torre.ai API communication
+     * @param profilePrefetcher Warms the profile cache with the top results of each search
      */
-    public SearchController(SearchService searchService) {
+    public SearchController(SearchService searchService, ProfilePrefetcher profilePrefetcher) {
         this.searchService = searchService;
+        this.profilePrefetcher = profilePrefetcher;
     }
 
     /**
@@ -43,14 +67,73 @@ public class SearchController {
      * This endpoint accepts a search query and optional pagination parameters,
      * forwards the request to Torre.ai, and returns formatted results with pagination info.
      * 
+     * When any of {@code page}, {@code pageSize} or {@code cursor} is given, only the requested
+     * page is returned, served from a server-side result window; pass the returned cursor with
+     * the next page of the same search. Otherwise all results up to {@code limit} are returned.
+     * 
      * @param requestPayload Map containing:
      *                      - query (String, required): The search term
      *                      - limit (Integer, optional): Max results (default: 100)
+     *                      - page (Integer, optional): 1-based page number (default: 1)
+     *                      - pageSize (Integer, optional): Results per page (default: 20)
+     *                      - cursor (String, optional): Cursor returned with an earlier page
      * @return ResponseEntity with SearchResponse containing results and pagination info,
      *         or error message with appropriate HTTP status
      */
     @PostMapping("/people")
     public ResponseEntity<?> searchPeople(@RequestBody java.util.Map<String, Object> requestPayload) {
+        SearchRequest torreRequest = toSearchRequest(requestPayload);
+        if (requestPayload.containsKey("page") || requestPayload.containsKey("pageSize") || requestPayload.containsKey("cursor")) {
+            Integer page = optionalInteger(requestPayload, "page");
+            Integer pageSize = optionalInteger(requestPayload, "pageSize");
+            Object cursor = requestPayload.get("cursor");
+            SearchResponse response = searchService.searchPeoplePage(torreRequest, page != null ? page : 1, pageSize,
+                cursor != null ? cursor.toString() : null);
+            prefetchProfiles(response.getResults());
+            return ResponseEntity.ok(response);
+        }
+        SearchResponse response = searchService.searchPeople(torreRequest);
+        prefetchProfiles(response.getResults());
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Streaming variant of {@link #searchPeople}: writes each person as an NDJSON line as soon
+     * as Torre.ai produces it, then a trailing summary line with the number of results.
+     * 
+     * Validation errors are returned as regular error responses. Upstream failures and rate
+     * limit rejections after the stream has started are reported as a final error line, since
+     * the status is already sent.
+     * 
+     * @param requestPayload Same payload as {@link #searchPeople}
+     * @return NDJSON stream of {@link SearchStreamEvent}s
+     */
+    @PostMapping("/people/stream")
+    public ResponseEntity<StreamingResponseBody> streamPeople(@RequestBody java.util.Map<String, Object> requestPayload) {
+        SearchRequest torreRequest = toSearchRequest(requestPayload);
+
+        StreamingResponseBody body = outputStream -> {
+            List<SearchResponse.PersonResult> streamed = new ArrayList<>();
+            try {
+                int total = searchService.streamPeople(torreRequest, person -> {
+                    streamed.add(person);
+                    writeEvent(outputStream, SearchStreamEvent.result(person));
+                });
+                writeEvent(outputStream, SearchStreamEvent.summary(total));
+                prefetchProfiles(streamed);
+            } catch (RateLimitExceededException e) {
+                logger.warn("People search stream rate limited: {}", e.getMessage());
+                writeEvent(outputStream, SearchStreamEvent.error(e.getMessage()));
+            } catch (ExternalServiceException e) {
+                logger.warn("People search stream failed: {}", e.getMessage());
+                writeEvent(outputStream, SearchStreamEvent.error(e.getMessage()));
+            }
+        };
+
+        return ResponseEntity.ok().contentType(NDJSON).body(body);
+    }
+
+    private SearchRequest toSearchRequest(java.util.Map<String, Object> requestPayload) {
         String query = (String) requestPayload.get("query");
         if (query == null || query.trim().isEmpty()) {
             throw new IllegalArgumentException("Search query cannot be empty.");
@@ -59,9 +142,28 @@ public class SearchController {
         Integer limit = requestPayload.get("limit") != null ?
             Integer.valueOf(requestPayload.get("limit").toString()) : 100;
 
-        SearchRequest torreRequest = new SearchRequest(query, limit);
-        SearchResponse response = searchService.searchPeople(torreRequest);
-        return ResponseEntity.ok(response);
+        return new SearchRequest(query, limit);
+    }
+
+    private void prefetchProfiles(List<SearchResponse.PersonResult> results) {
+        if (results != null && !results.isEmpty()) {
+            profilePrefetcher.prefetch(results.stream().map(SearchResponse.PersonResult::getUsername).toList());
+        }
+    }
+
+    private static Integer optionalInteger(java.util.Map<String, Object> requestPayload, String key) {
+        Object value = requestPayload.get(key);
+        return value != null ? Integer.valueOf(value.toString()) : null;
+    }
+
+    private void writeEvent(OutputStream outputStream, SearchStreamEvent event) {
+        try {
+            outputStream.write(objectMapper.writeValueAsBytes(event));
+            outputStream.write('\n');
+            outputStream.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write search stream event", e);
+        }
     }
 }
 
@@ -0,0 +1,36 @@
+package com.torre.techtest.feature.search;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+/**
+ * Settings for server-side pagination over cached search result windows.
+ */
+@Data
+@ConfigurationProperties(prefix = "torre.search.pagination")
+public class SearchPaginationProperties {
+
+    /** Results fetched from Torre.ai per upstream call when a window is opened or extended */
+    private int windowSize = 40;
+
+    /** Largest number of results requested from Torre.ai in one upstream call */
+    private int maxChunkSize = 100;
+
+    /** Largest number of results a single window grows to */
+    private int maxResults = 200;
+
+    /** Page size used when the request does not give one */
+    private int defaultPageSize = 20;
+
+    /** Largest page size a client may ask for */
+    private int maxPageSize = 100;
+
+    /** Time a window is kept after its last page request */
+    private Duration windowTtl = Duration.ofMinutes(10);
+
+    /** Maximum number of open windows */
+    private long maximumWindows = 1000;
+}
@@ -2,6 +2,8 @@ package com.torre.techtest.feature.search;
 
 import java.util.List;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -11,11 +13,11 @@ import lombok.NoArgsConstructor;
  * Encapsulates search results with pagination information for frontend consumption.
  * 
  * This response structure supports both the raw Torre.ai results and client-side pagination
- * to provide a smooth user experience with large result sets.
+ * to provide a smooth user experience with large result sets. Paginated searches also carry
+ * the cursor of their server-side result window.
  */
 @Data
 @NoArgsConstructor
-@AllArgsConstructor
 public class SearchResponse {
     /** List of person search results from Torre.ai */
     private List<PersonResult> results;
@@ -23,6 +25,14 @@ public class SearchResponse {
     /** Pagination metadata for frontend display and navigation */
     private PaginationInfo pagination;
 
+    /** Opaque cursor to send with the next page request; only set for paginated searches */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String cursor;
+
+    /** Whether Torre.ai may have results beyond those counted in the pagination; only set for paginated searches */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Boolean hasMore;
+
     /**
      * Backward compatibility constructor.
      * Creates a response with default pagination info when only results are provided.
@@ -34,6 +44,21 @@ public class SearchResponse {
         this.pagination = new PaginationInfo(results.size(), 1, 20, results.size());
     }
 
+    /**
+     * Creates a response for one page of a server-side result window.
+     * 
+     * @param results    Results of the requested page
+     * @param pagination Pagination over the results fetched so far
+     * @param cursor     Cursor of the result window
+     * @param hasMore    Whether deeper pages may still be fetched from Torre.ai
+     */
+    public SearchResponse(List<PersonResult> results, PaginationInfo pagination, String cursor, boolean hasMore) {
+        this.results = results;
+        this.pagination = pagination;
+        this.cursor = cursor;
+        this.hasMore = hasMore;
+    }
+
     /**
      * Represents a single person result from Torre.ai search.
      * Maps Torre.ai response fields to our internal structure.
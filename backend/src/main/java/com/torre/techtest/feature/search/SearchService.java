@@ -1,48 +1,268 @@
 package com.torre.techtest.feature.search;
 
 import java.io.BufferedReader;
+import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 import org.apache.hc.client5.http.classic.methods.HttpPost;
-import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
-import org.apache.hc.client5.http.impl.classic.HttpClients;
 import org.apache.hc.core5.http.ContentType;
 import org.apache.hc.core5.http.io.entity.StringEntity;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
 import com.torre.techtest.exception.ExternalServiceException;
+import com.torre.techtest.exception.RateLimitExceededException;
 import com.torre.techtest.feature.search.SearchResponse.PersonResult;
+import com.torre.techtest.gateway.SingleFlight;
+import com.torre.techtest.gateway.TorreApiProperties;
+import com.torre.techtest.gateway.TorreGateway;
+import com.torre.techtest.observability.RequestTiming;
+import com.torre.techtest.observability.TimingPhase;
 import com.torre.techtest.utils.HtmlUtils;
 
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
 /**
- * Service for Torre.ai search API integration with HTML entity decoding
+ * Service for Torre.ai search API integration with HTML entity decoding.
+ * 
+ * Paginated searches keep the results fetched so far in a result window under an opaque
+ * cursor. Pages within the window are served from memory; deeper pages extend the window
+ * with another upstream call that excludes the people already fetched.
+ * 
+ * Complete searches are cached for a short time under a normalized form of the request, so
+ * identical searches from different users are answered without streaming from Torre.ai.
+ * Concurrent misses for the same search share one upstream call.
  */
 @Service
 public class SearchService {
 
     private static final Logger logger = LoggerFactory.getLogger(SearchService.class);
-    private static final String TORRE_SEARCH_API_URL = "https://torre.ai/api/entities/_searchStream";
     private final ObjectMapper objectMapper = new ObjectMapper();
+    private final SearchStreamParser streamParser = new SearchStreamParser(objectMapper.getFactory());
+    private final TorreGateway torreGateway;
+    private final TorreApiProperties apiProperties;
+    private final DistributionSummary streamResults;
+    private final Timer decodeTime;
+    private final SearchPaginationProperties paginationProperties;
+    private final Cache<String, SearchWindow> windows;
+    private final Cache<SearchCacheKey, SearchResponse> resultCache;
+    private final SingleFlight<SearchCacheKey, SearchResponse> searchFlights = new SingleFlight<>();
+
+    public SearchService() {
+        this(TorreGateway.shared(), new TorreApiProperties(), new SimpleMeterRegistry());
+    }
+
+    /**
+     * Creates a service with the default pagination and result cache settings.
+     */
+    public SearchService(TorreGateway torreGateway, TorreApiProperties apiProperties, MeterRegistry meterRegistry) {
+        this(torreGateway, apiProperties, new SearchPaginationProperties(), new SearchCacheProperties(), meterRegistry);
+    }
+
+    @Autowired
+    public SearchService(TorreGateway torreGateway, TorreApiProperties apiProperties,
+                         SearchPaginationProperties paginationProperties, SearchCacheProperties cacheProperties,
+                         MeterRegistry meterRegistry) {
+        this.torreGateway = torreGateway;
+        this.apiProperties = apiProperties;
+        this.paginationProperties = paginationProperties;
+        this.windows = Caffeine.newBuilder()
+            .maximumSize(paginationProperties.getMaximumWindows())
+            .expireAfterAccess(paginationProperties.getWindowTtl())
+            .executor(Runnable::run)
+            .build();
+        this.resultCache = cacheProperties.isEnabled()
+            ? CaffeineCacheMetrics.monitor(meterRegistry, Caffeine.newBuilder()
+                .maximumWeight(cacheProperties.getMaxMemory().toBytes())
+                .weigher(SearchService::estimateSize)
+                .expireAfterWrite(cacheProperties.getTtl())
+                .executor(Runnable::run)
+                .recordStats()
+                .<SearchCacheKey, SearchResponse>build(), "search.results")
+            : null;
+        this.streamResults = DistributionSummary.builder("torre.search.stream.results")
+            .description("Person lines parsed per _searchStream response")
+            .publishPercentileHistogram()
+            .register(meterRegistry);
+        this.decodeTime = Timer.builder("torre.html.decode")
+            .description("Time spent decoding HTML entities per upstream response")
+            .register(meterRegistry);
+    }
 
     protected String getSearchApiUrl() {
-        return TORRE_SEARCH_API_URL;
+        return apiProperties.getSearchStreamUrl();
     }
 
     /**
      * Searches Torre.ai streaming API for people with HTML entity decoding
      */
     public SearchResponse searchPeople(SearchRequest request) {
+        if (resultCache == null) {
+            return fetchSearchResponse(request);
+        }
+        SearchCacheKey key = SearchCacheKey.of(request);
+        SearchResponse cached = resultCache.getIfPresent(key);
+        if (cached != null) {
+            return cached;
+        }
+        // Fetched outside the cache so the stream does not hold Caffeine's entry lock; a flight
+        // that finished just before this one started has already filled the cache.
+        return searchFlights.execute(key, () -> {
+            SearchResponse current = resultCache.asMap().get(key);
+            if (current != null) {
+                return current;
+            }
+            SearchResponse response = fetchSearchResponse(request);
+            resultCache.put(key, response);
+            return response;
+        });
+    }
+
+    /**
+     * Returns hit, miss, load and eviction counters for the search result cache.
+     */
+    public CacheStats getCacheStats() {
+        return resultCache == null ? CacheStats.empty() : resultCache.stats();
+    }
+
+    private SearchResponse fetchSearchResponse(SearchRequest request) {
         List<PersonResult> personResults = new ArrayList<>();
+        fetchPeople(request, personResults::add);
+        return new SearchResponse(personResults);
+    }
+
+    /**
+     * Returns one page of a paginated people search.
+     * 
+     * Without a known cursor a new result window is opened for the request. The window is
+     * extended from Torre.ai until it covers the requested page, it reaches the configured
+     * maximum, or Torre.ai has no more results.
+     * 
+     * @param request  Search parameters forwarded to Torre.ai; its limit is ignored
+     * @param page     1-based page number
+     * @param pageSize Results per page, or null for the default
+     * @param cursor   Cursor returned by an earlier page of the same search, or null
+     * @return The page with pagination over the results fetched so far and the window's cursor
+     */
+    public SearchResponse searchPeoplePage(SearchRequest request, int page, Integer pageSize, String cursor) {
+        int size = pageSize != null ? pageSize : paginationProperties.getDefaultPageSize();
+        if (page < 1) {
+            throw new IllegalArgumentException("Page must be 1 or greater.");
+        }
+        if (size < 1 || size > paginationProperties.getMaxPageSize()) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + paginationProperties.getMaxPageSize() + ".");
+        }
 
-        try (CloseableHttpClient httpClient = HttpClients.createDefault()) {
+        String windowCursor = cursor;
+        SearchWindow window = cursor == null ? null : windows.getIfPresent(cursor);
+        if (window == null || !window.matches(request)) {
+            windowCursor = UUID.randomUUID().toString().replace("-", "");
+            window = new SearchWindow(request);
+            windows.put(windowCursor, window);
+        }
+
+        int from = (page - 1) * size;
+        int to = from + size;
+        synchronized (window) {
+            while (window.size() < to && !window.isExhausted() && window.size() < paginationProperties.getMaxResults()) {
+                extendWindow(window, to);
+            }
+            int total = window.size();
+            boolean hasMore = !window.isExhausted() && total < paginationProperties.getMaxResults();
+            SearchResponse.PaginationInfo pagination = new SearchResponse.PaginationInfo(
+                (total + size - 1) / size, page, size, total);
+            return new SearchResponse(window.slice(from, to), pagination, windowCursor, hasMore);
+        }
+    }
+
+    /**
+     * Fetches the next chunk of a window from Torre.ai, excluding the people it already holds.
+     * The window is marked exhausted when Torre.ai returns fewer new people than asked for.
+     */
+    private void extendWindow(SearchWindow window, int needed) {
+        int fetched = window.size();
+        int limit = Math.min(Math.max(paginationProperties.getWindowSize(), needed - fetched),
+            paginationProperties.getMaxResults() - fetched);
+        limit = Math.min(limit, paginationProperties.getMaxChunkSize());
+
+        SearchRequest original = window.getRequest();
+        SearchRequest chunk = new SearchRequest(original.getQuery(), limit);
+        chunk.setTorreGgId(original.getTorreGgId());
+        chunk.setIdentityType(original.getIdentityType());
+        chunk.setMeta(original.getMeta());
+        chunk.setExcludeContacts(original.getExcludeContacts());
+        if (original.getExcluding() != null) {
+            chunk.setExcluding(new ArrayList<>(original.getExcluding()));
+        }
+        List<String> excludedPeople = new ArrayList<>(window.ids());
+        if (original.getExcludedPeople() != null) {
+            excludedPeople.addAll(original.getExcludedPeople());
+        }
+        chunk.setExcludedPeople(excludedPeople);
+
+        logger.debug("Extending search window for '{}' from {} results by up to {}", original.getQuery(), fetched, limit);
+        int[] added = new int[1];
+        fetchPeople(chunk, person -> {
+            if (window.add(person)) {
+                added[0]++;
+            }
+        });
+        if (added[0] < limit) {
+            window.markExhausted();
+        }
+    }
+
+    /**
+     * Searches Torre.ai streaming API for people, handing each decoded result to the consumer
+     * as soon as its line has been parsed instead of waiting for the stream to finish.
+     * 
+     * A cached result for an identical search is replayed instead, and a completed stream is
+     * added to the cache.
+     * 
+     * @param request  Search parameters forwarded to Torre.ai
+     * @param consumer Receives each person result in stream order
+     * @return Number of results delivered to the consumer
+     */
+    public int streamPeople(SearchRequest request, Consumer<PersonResult> consumer) {
+        if (resultCache == null) {
+            return fetchPeople(request, consumer);
+        }
+        SearchCacheKey key = SearchCacheKey.of(request);
+        SearchResponse cached = resultCache.getIfPresent(key);
+        if (cached != null) {
+            cached.getResults().forEach(consumer);
+            return cached.getResults().size();
+        }
+        List<PersonResult> personResults = new ArrayList<>();
+        int delivered = fetchPeople(request, person -> {
+            personResults.add(person);
+            consumer.accept(person);
+        });
+        resultCache.put(key, new SearchResponse(personResults));
+        return delivered;
+    }
+
+    /**
+     * Streams a search from Torre.ai without consulting the result cache.
+     */
+    private int fetchPeople(SearchRequest request, Consumer<PersonResult> consumer) {
+        try {
             HttpPost httpPost = new HttpPost(getSearchApiUrl());
 
             httpPost.setHeader("Content-Type", "application/json");
@@ -52,49 +272,19 @@ public class SearchService {
             httpPost.setEntity(new StringEntity(jsonPayload, ContentType.APPLICATION_JSON));
             logger.debug("Request payload to Torre: {}", jsonPayload);
 
-            httpClient.execute(httpPost, response -> {
+            return torreGateway.execute("searchStream", httpPost, response -> {
                 logger.debug("Received response status from Torre: {} {}", response.getCode(), response.getReasonPhrase());
 
                 if (response.getCode() == 200) {
-                    try (BufferedReader reader = new BufferedReader(new InputStreamReader(response.getEntity().getContent()))) {
-                        String line;
-                        int lineNumber = 0;
-                        while ((line = reader.readLine()) != null) {
-                            lineNumber++;
-                            if (!line.trim().isEmpty()) {
-                                logger.debug("Processing line {}: {}", lineNumber, line);
-                                try {
-                                    JsonNode node = objectMapper.readTree(line);
-                                    logger.debug("Parsed Torre.ai response node at line {}", lineNumber);
-                                    
-                                    if (node.has("ggId") && node.has("name")) {
-                                        String ggId = node.get("ggId").asText();
-                                        String username = node.has("username") ? node.get("username").asText() : ggId;
-                                        
-                                        String decodedName = HtmlUtils.safeDecodeHtmlEntities(node.get("name").asText());
-                                        String decodedHeadline = node.has("professionalHeadline") ? 
-                                            HtmlUtils.safeDecodeHtmlEntities(node.get("professionalHeadline").asText()) : null;
-                                        
-                                        PersonResult person = new PersonResult(
-                                                ggId,
-                                                decodedName,
-                                                decodedHeadline,
-                                                node.has("imageUrl") ? node.get("imageUrl").asText() : null,
-                                                username
-                                        );
-                                        personResults.add(person);
-                                        logger.debug("Added person: {} (ID: {}, Username: {})", person.getName(), person.getId(), username);
-                                    } else {
-                                        logger.debug("Line {} is not a valid person result", lineNumber);
-                                    }
-                                } catch (JsonProcessingException e) {
-                                    logger.warn("Error parsing JSON line {}: {}", lineNumber, e.getMessage());
-                                }
-                            } else {
-                                logger.debug("Skipped empty line {}", lineNumber);
-                            }
-                        }
-                        logger.debug("Finished processing stream. Total persons found: {}", personResults.size());
+                    try (RequestTiming.Span parse = RequestTiming.phase(TimingPhase.PARSE);
+                         InputStream content = response.getEntity().getContent()) {
+                        long decodeStart = HtmlUtils.getDecodeNanos();
+                        int results = streamParser.parse(content, consumer);
+                        long decodeNanos = HtmlUtils.getDecodeNanos() - decodeStart;
+                        RequestTiming.record(TimingPhase.DECODE, decodeNanos);
+                        decodeTime.record(decodeNanos, TimeUnit.NANOSECONDS);
+                        streamResults.record(results);
+                        return results;
                     }
                 } else {
                     String responseBody = "";
@@ -105,12 +295,27 @@ public class SearchService {
                     }
                     throw new ExternalServiceException("Torre API returned error: " + response.getCode() + " - " + response.getReasonPhrase() + " - " + responseBody);
                 }
-                return null;
             });
+        } catch (RateLimitExceededException e) {
+            throw e;
         } catch (Exception e) {
             throw new ExternalServiceException("Exception during people search: " + e.getMessage(), e);
         }
+    }
 
-        return new SearchResponse(personResults);
+    /**
+     * Approximates the heap taken by a cached search, for weighing cache entries.
+     */
+    private static int estimateSize(SearchCacheKey key, SearchResponse response) {
+        long size = 128L + length(key.query()) + 16L * (key.excluding().size() + key.excludedPeople().size());
+        for (PersonResult person : response.getResults()) {
+            size += 96L + length(person.getId()) + length(person.getName()) + length(person.getProfessionalHeadline())
+                + length(person.getPicture()) + length(person.getUsername());
+        }
+        return (int) Math.min(size, Integer.MAX_VALUE);
+    }
+
+    private static long length(String value) {
+        return value == null ? 0 : 40L + value.length();
     }
-}
\ No newline at end of file
+}
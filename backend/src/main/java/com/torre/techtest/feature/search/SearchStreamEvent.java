@@ -0,0 +1,48 @@
+package com.torre.techtest.feature.search;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One line of the NDJSON people search stream.
+ * 
+ * The stream carries a {@code result} event per person as soon as Torre.ai produces it,
+ * followed by a single {@code summary} event with the number of results streamed, or an
+ * {@code error} event if the upstream search fails after streaming has started.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class SearchStreamEvent {
+    public static final String RESULT = "result";
+    public static final String SUMMARY = "summary";
+    public static final String ERROR = "error";
+
+    /** Event type: result, summary or error */
+    private String type;
+
+    /** Person result, present on result events */
+    private SearchResponse.PersonResult result;
+
+    /** Number of results streamed, present on the trailing summary event */
+    private Integer total;
+
+    /** Error description, present on error events */
+    private String message;
+
+    public static SearchStreamEvent result(SearchResponse.PersonResult result) {
+        return new SearchStreamEvent(RESULT, result, null, null);
+    }
+
+    public static SearchStreamEvent summary(int total) {
+        return new SearchStreamEvent(SUMMARY, null, total, null);
+    }
+
+    public static SearchStreamEvent error(String message) {
+        return new SearchStreamEvent(ERROR, null, null, message);
+    }
+}
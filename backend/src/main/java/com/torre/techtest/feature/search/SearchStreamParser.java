@@ -0,0 +1,205 @@
+package com.torre.techtest.feature.search;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.torre.techtest.feature.search.SearchResponse.PersonResult;
+import com.torre.techtest.observability.StreamLineParseEvent;
+import com.torre.techtest.utils.HtmlUtils;
+
+/**
+ * Token-level parser for Torre.ai's newline-delimited {@code _searchStream} response.
+ * 
+ * Lines are split directly on the response bytes and each line is parsed with a
+ * {@link JsonParser} that reads only {@code ggId}, {@code name}, {@code username},
+ * {@code professionalHeadline} and {@code imageUrl}, skipping every other subtree.
+ * No intermediate Strings or JSON trees are built for the line itself, and a malformed
+ * line is skipped without affecting the rest of the stream.
+ */
+public class SearchStreamParser {
+
+    private static final Logger logger = LoggerFactory.getLogger(SearchStreamParser.class);
+    private static final int CHUNK_SIZE = 8192;
+
+    private final JsonFactory jsonFactory;
+
+    public SearchStreamParser(JsonFactory jsonFactory) {
+        this.jsonFactory = jsonFactory;
+    }
+
+    /**
+     * Reads the stream to the end, handing each person result to the consumer as soon as its
+     * line is complete.
+     * 
+     * @param inputStream Raw response body
+     * @param consumer    Receives person results in stream order
+     * @return Number of person results delivered
+     * @throws IOException if reading the stream fails
+     */
+    public int parse(InputStream inputStream, Consumer<PersonResult> consumer) throws IOException {
+        byte[] chunk = new byte[CHUNK_SIZE];
+        byte[] pending = new byte[CHUNK_SIZE];
+        int pendingLength = 0;
+        int lineNumber = 0;
+        int personsFound = 0;
+
+        int read;
+        while ((read = inputStream.read(chunk)) != -1) {
+            int lineStart = 0;
+            for (int i = 0; i < read; i++) {
+                if (chunk[i] != '\n') {
+                    continue;
+                }
+                lineNumber++;
+                PersonResult person;
+                if (pendingLength == 0) {
+                    person = parseAndRecordLine(chunk, lineStart, i - lineStart, lineNumber);
+                } else {
+                    pending = append(pending, pendingLength, chunk, lineStart, i - lineStart);
+                    person = parseAndRecordLine(pending, 0, pendingLength + i - lineStart, lineNumber);
+                    pendingLength = 0;
+                }
+                if (person != null) {
+                    consumer.accept(person);
+                    personsFound++;
+                }
+                lineStart = i + 1;
+            }
+            if (lineStart < read) {
+                pending = append(pending, pendingLength, chunk, lineStart, read - lineStart);
+                pendingLength += read - lineStart;
+            }
+        }
+
+        if (pendingLength > 0) {
+            PersonResult person = parseAndRecordLine(pending, 0, pendingLength, ++lineNumber);
+            if (person != null) {
+                consumer.accept(person);
+                personsFound++;
+            }
+        }
+
+        logger.debug("Finished processing stream. Total persons found: {}", personsFound);
+        return personsFound;
+    }
+
+    /**
+     * Parses a single line, emitting a {@link StreamLineParseEvent} while a flight recording is running.
+     */
+    private PersonResult parseAndRecordLine(byte[] buffer, int offset, int length, int lineNumber) {
+        StreamLineParseEvent event = new StreamLineParseEvent();
+        event.begin();
+        PersonResult person = parseLine(buffer, offset, length, lineNumber);
+        event.end();
+        if (event.shouldCommit()) {
+            event.lineNumber = lineNumber;
+            event.bytes = length;
+            event.person = person != null;
+            event.commit();
+        }
+        return person;
+    }
+
+    /**
+     * Parses a single line into a person result.
+     * 
+     * @return The decoded person, or null if the line is blank, malformed or not a person
+     */
+    PersonResult parseLine(byte[] buffer, int offset, int length, int lineNumber) {
+        if (isBlank(buffer, offset, length)) {
+            logger.debug("Skipped empty line {}", lineNumber);
+            return null;
+        }
+        if (logger.isDebugEnabled()) {
+            logger.debug("Processing line {}: {}", lineNumber, new String(buffer, offset, length, StandardCharsets.UTF_8));
+        }
+
+        try (JsonParser parser = jsonFactory.createParser(buffer, offset, length)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                logger.debug("Line {} is not a valid person result", lineNumber);
+                return null;
+            }
+
+            String ggId = null;
+            String name = null;
+            String username = null;
+            String headline = null;
+            String imageUrl = null;
+
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                if (!value.isScalarValue()) {
+                    parser.skipChildren();
+                    continue;
+                }
+                switch (field) {
+                    case "ggId" -> ggId = scalarText(parser, value);
+                    case "name" -> name = scalarText(parser, value);
+                    case "username" -> username = scalarText(parser, value);
+                    case "professionalHeadline" -> headline = scalarText(parser, value);
+                    case "imageUrl" -> imageUrl = scalarText(parser, value);
+                    default -> {
+                        // Scalar values of other fields need no further handling
+                    }
+                }
+            }
+
+            if (ggId == null || name == null) {
+                logger.debug("Line {} is not a valid person result", lineNumber);
+                return null;
+            }
+
+            PersonResult person = new PersonResult(
+                ggId,
+                HtmlUtils.safeDecodeHtmlEntities(name),
+                HtmlUtils.safeDecodeHtmlEntities(headline),
+                imageUrl,
+                username != null ? username : ggId
+            );
+            logger.debug("Added person: {} (ID: {}, Username: {})", person.getName(), person.getId(), person.getUsername());
+            return person;
+        } catch (JsonProcessingException e) {
+            logger.warn("Error parsing JSON line {}: {}", lineNumber, e.getOriginalMessage());
+            return null;
+        } catch (IOException e) {
+            logger.warn("Error reading JSON line {}: {}", lineNumber, e.getMessage());
+            return null;
+        }
+    }
+
+    private static String scalarText(JsonParser parser, JsonToken value) throws IOException {
+        return value == JsonToken.VALUE_NULL ? null : parser.getText();
+    }
+
+    private static boolean isBlank(byte[] buffer, int offset, int length) {
+        for (int i = offset; i < offset + length; i++) {
+            if (!Character.isWhitespace(buffer[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Appends a chunk slice to the pending line buffer, growing it when needed.
+     */
+    private static byte[] append(byte[] pending, int pendingLength, byte[] source, int offset, int length) {
+        byte[] target = pending;
+        if (pendingLength + length > pending.length) {
+            target = Arrays.copyOf(pending, Math.max(pending.length * 2, pendingLength + length));
+        }
+        System.arraycopy(source, offset, target, pendingLength, length);
+        return target;
+    }
+}
@@ -0,0 +1,82 @@
+package com.torre.techtest.feature.search;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import com.torre.techtest.feature.search.SearchResponse.PersonResult;
+
+/**
+ * Results fetched so far for one paginated search, identified by an opaque cursor.
+ *
+ * The window grows as deeper pages are requested and remembers when Torre.ai has no more
+ * results. Callers synchronize on the window while reading or extending it.
+ */
+class SearchWindow {
+
+    private final String query;
+    private final SearchRequest request;
+    private final List<PersonResult> results = new ArrayList<>();
+    private final Set<String> ids = new HashSet<>();
+    private boolean exhausted;
+
+    SearchWindow(SearchRequest request) {
+        this.request = request;
+        this.query = SearchCacheKey.normalizeQuery(request.getQuery());
+    }
+
+    /**
+     * Returns whether the window was opened for the same query as the request.
+     */
+    boolean matches(SearchRequest other) {
+        return query.equals(SearchCacheKey.normalizeQuery(other.getQuery()));
+    }
+
+    /**
+     * Returns the request the window was opened with.
+     */
+    SearchRequest getRequest() {
+        return request;
+    }
+
+    /**
+     * Adds a result unless it is already in the window.
+     *
+     * @return Whether the result was new
+     */
+    boolean add(PersonResult person) {
+        if (!ids.add(person.getId())) {
+            return false;
+        }
+        results.add(person);
+        return true;
+    }
+
+    /**
+     * Returns a copy of the results between the two positions, clamped to what has been fetched.
+     */
+    List<PersonResult> slice(int from, int to) {
+        int end = Math.min(to, results.size());
+        return from >= end ? List.of() : new ArrayList<>(results.subList(from, end));
+    }
+
+    /**
+     * Returns the ids of the results fetched so far, in order.
+     */
+    List<String> ids() {
+        return results.stream().map(PersonResult::getId).toList();
+    }
+
+    int size() {
+        return results.size();
+    }
+
+    boolean isExhausted() {
+        return exhausted;
+    }
+
+    void markExhausted() {
+        exhausted = true;
+    }
+}
@@ -0,0 +1,22 @@
+package com.torre.techtest.feature.search;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Body of a batch skill analysis request.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SkillAnalysisBatchRequest {
+
+    /** Skills to analyze */
+    private List<String> skills;
+
+    /** Analyses wanted for every skill ({@code compensation}, {@code distribution}); all when omitted */
+    private List<String> types;
+}
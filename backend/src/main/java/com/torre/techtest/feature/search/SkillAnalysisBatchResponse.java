@@ -0,0 +1,18 @@
+package com.torre.techtest.feature.search;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Response of a batch skill analysis request, with one result per distinct skill in request order.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SkillAnalysisBatchResponse {
+
+    private List<SkillAnalysisResult> results;
+}
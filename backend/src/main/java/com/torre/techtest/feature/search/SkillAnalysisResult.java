@@ -0,0 +1,37 @@
+package com.torre.techtest.feature.search;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Analyses of one skill in a batch analysis response.
+ * 
+ * Each requested analysis is either present or has an entry in {@link #errors} keyed by
+ * analysis type, so one failing upstream call does not fail the whole batch.
+ */
+@Data
+@NoArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_EMPTY)
+public class SkillAnalysisResult {
+
+    /** Skill as given in the request */
+    private String skill;
+
+    /** Compensation analysis, when requested and successful */
+    private SkillCompensationResponse compensation;
+
+    /** Proficiency distribution, when requested and successful */
+    private SkillDistributionResponse distribution;
+
+    /** Error description per failed analysis type */
+    private Map<String, String> errors = new LinkedHashMap<>();
+
+    public SkillAnalysisResult(String skill) {
+        this.skill = skill;
+    }
+}
@@ -0,0 +1,39 @@
+package com.torre.techtest.feature.search;
+
+import java.util.Locale;
+
+/**
+ * Analyses that can be requested for a skill in a batch analysis request.
+ */
+public enum SkillAnalysisType {
+    COMPENSATION("compensation"),
+    DISTRIBUTION("distribution");
+
+    private final String value;
+
+    SkillAnalysisType(String value) {
+        this.value = value;
+    }
+
+    /**
+     * Returns the name used for this analysis in requests and responses.
+     */
+    public String getValue() {
+        return value;
+    }
+
+    /**
+     * Resolves an analysis by its request name, ignoring case and surrounding whitespace.
+     * 
+     * @throws IllegalArgumentException if no analysis has that name
+     */
+    public static SkillAnalysisType fromValue(String value) {
+        String normalized = value == null ? "" : value.trim().toLowerCase(Locale.ROOT);
+        for (SkillAnalysisType type : values()) {
+            if (type.value.equals(normalized)) {
+                return type;
+            }
+        }
+        throw new IllegalArgumentException("Unknown analysis type: " + value + ". Expected compensation or distribution.");
+    }
+}
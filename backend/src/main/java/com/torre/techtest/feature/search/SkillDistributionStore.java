@@ -0,0 +1,106 @@
+package com.torre.techtest.feature.search;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+/**
+ * Materialized skill distributions for the most requested skills.
+ *
+ * Every distribution request is counted in a {@link CountMinSketch}, and recently requested
+ * skills are kept as candidates in a bounded cache. The background job asks for the most
+ * requested candidates, recomputes their distributions and stores them here; requests for
+ * those skills are then answered from memory.
+ */
+public class SkillDistributionStore {
+
+    private final CountMinSketch requests;
+    private final Cache<String, String> candidates;
+    private final Map<String, Materialized> distributions = new ConcurrentHashMap<>();
+
+    public SkillDistributionStore(DistributionStoreProperties properties) {
+        this.requests = new CountMinSketch(properties.getSketchDepth(), properties.getSketchWidth());
+        this.candidates = Caffeine.newBuilder()
+            .maximumSize(properties.getCandidateCapacity())
+            .executor(Runnable::run)
+            .build();
+    }
+
+    /**
+     * Counts a request for the skill.
+     *
+     * @param key   Normalized skill
+     * @param skill Skill as requested, used when the distribution is computed
+     */
+    public void recordRequest(String key, String skill) {
+        requests.add(key);
+        if (candidates.getIfPresent(key) == null) {
+            candidates.put(key, skill);
+        }
+    }
+
+    /**
+     * Returns the materialized distribution for the skill, or null if it is not materialized.
+     */
+    public SkillDistributionResponse get(String key) {
+        Materialized materialized = distributions.get(key);
+        return materialized == null ? null : materialized.response;
+    }
+
+    /**
+     * Stores a freshly computed distribution.
+     */
+    public void put(String key, SkillDistributionResponse response) {
+        distributions.put(key, new Materialized(response, System.nanoTime()));
+    }
+
+    /**
+     * Returns the most requested candidate skills, most requested first.
+     *
+     * @param limit       Maximum number of skills returned
+     * @param minRequests Estimated requests a skill needs to be included
+     */
+    public List<PopularSkill> topSkills(int limit, long minRequests) {
+        return candidates.asMap().entrySet().stream()
+            .map(candidate -> new PopularSkill(candidate.getKey(), candidate.getValue(), requests.estimate(candidate.getKey())))
+            .filter(skill -> skill.requests() >= minRequests)
+            .sorted(Comparator.comparingLong(PopularSkill::requests).reversed())
+            .limit(limit)
+            .toList();
+    }
+
+    /**
+     * Drops materialized distributions older than {@code maxAgeNanos}, then halves the request
+     * counts so popularity follows recent traffic. Popularity only decides what is recomputed;
+     * a stored distribution stays until it ages out, even if its skill falls out of the top.
+     */
+    public void expireAndDecay(long maxAgeNanos) {
+        long now = System.nanoTime();
+        distributions.entrySet().removeIf(entry -> now - entry.getValue().materializedAt > maxAgeNanos);
+        requests.halve();
+    }
+
+    /**
+     * Returns the number of materialized skills.
+     */
+    public int size() {
+        return distributions.size();
+    }
+
+    /**
+     * A candidate skill with its estimated recent request count.
+     *
+     * @param key      Normalized skill
+     * @param skill    Skill as first requested
+     * @param requests Estimated recent requests
+     */
+    public record PopularSkill(String key, String skill, long requests) {
+    }
+
+    private record Materialized(SkillDistributionResponse response, long materializedAt) {
+    }
+}
@@ -0,0 +1,45 @@
+package com.torre.techtest.gateway;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Token bucket settings for outbound Torre.ai traffic, applied per upstream host.
+ */
+@Data
+@ConfigurationProperties(prefix = "torre.rate-limit")
+public class RateLimitProperties {
+
+    /** Whether outbound requests are rate limited at all */
+    private boolean enabled = true;
+
+    /** Longest a request waits for a token before it is rejected */
+    private Duration acquireTimeout = Duration.ofSeconds(2);
+
+    /** Limit applied to hosts without an entry in {@link #hosts} */
+    private Limit defaults = new Limit(10, 20);
+
+    /** Per-host limits keyed by host name (e.g. {@code torre.ai}) */
+    private Map<String, Limit> hosts = new LinkedHashMap<>();
+
+    /**
+     * Sustained rate and burst size for one host.
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Limit {
+        /** Tokens added per second */
+        private double permitsPerSecond;
+
+        /** Maximum tokens held, i.e. requests allowed back to back after an idle period */
+        private int burst;
+    }
+}
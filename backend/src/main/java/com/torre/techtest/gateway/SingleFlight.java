@@ -0,0 +1,83 @@
+package com.torre.techtest.gateway;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Collapses concurrent identical calls into one.
+ *
+ * The first caller for a key runs the supplier; callers arriving while it is still running
+ * wait for and share its result or exception. Once the call finishes the key is released,
+ * so later callers trigger a new call. Nothing is cached.
+ *
+ * @param <K> Key identifying identical calls
+ * @param <V> Result type
+ */
+public class SingleFlight<K, V> {
+
+    private final Map<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final LongAdder executions = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+
+    /**
+     * Runs the supplier for the key unless an identical call is already in flight, in which
+     * case the in-flight result is returned instead.
+     *
+     * @param key      Normalized key of the call
+     * @param supplier Work to run when no identical call is in flight
+     * @return Result of the leading call
+     */
+    public V execute(K key, Supplier<V> supplier) {
+        CompletableFuture<V> call = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, call);
+        if (existing != null) {
+            coalesced.increment();
+            return await(existing);
+        }
+
+        executions.increment();
+        try {
+            V result = supplier.get();
+            call.complete(result);
+            return result;
+        } catch (RuntimeException | Error e) {
+            call.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, call);
+        }
+    }
+
+    /**
+     * Returns the number of calls that actually ran the supplier.
+     */
+    public long getExecutions() {
+        return executions.sum();
+    }
+
+    /**
+     * Returns the number of calls that shared an in-flight result instead of running the supplier.
+     */
+    public long getCoalesced() {
+        return coalesced.sum();
+    }
+
+    private V await(CompletableFuture<V> call) {
+        try {
+            return call.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.torre.techtest.gateway;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+/**
+ * Torre.ai endpoint URLs.
+ *
+ * Defaults point at the public Torre.ai API; override them to run against a local
+ * stand-in such as the torre-simulator project.
+ */
+@Data
+@ConfigurationProperties(prefix = "torre.api")
+public class TorreApiProperties {
+
+    /** People search streaming endpoint (NDJSON) */
+    private String searchStreamUrl = "https://torre.ai/api/entities/_searchStream";
+
+    /** Paged people search used by the skill distribution analysis */
+    private String searchUrl = "https://search.torre.co/people/_search";
+
+    /** Compensation analysis endpoint */
+    private String analyzeUrl = "https://search.torre.co/people/_analyze";
+
+    /** Genome bio endpoint; the username is appended */
+    private String profileBaseUrl = "https://torre.ai/api/genome/bios/";
+}
@@ -0,0 +1,313 @@
+package com.torre.techtest.gateway;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.hc.client5.http.HttpRoute;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.ChainElement;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.client5.http.protocol.HttpClientContext;
+import org.apache.hc.core5.http.ClassicHttpRequest;
+import org.apache.hc.core5.http.ClassicHttpResponse;
+import org.apache.hc.core5.http.HttpEntity;
+import org.apache.hc.core5.http.HttpHost;
+import org.apache.hc.core5.http.io.HttpClientResponseHandler;
+import org.apache.hc.core5.http.io.entity.HttpEntityWrapper;
+import org.apache.hc.core5.io.CloseMode;
+import org.apache.hc.core5.net.URIAuthority;
+import org.apache.hc.core5.pool.PoolStats;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import com.torre.techtest.observability.RequestTiming;
+import com.torre.techtest.observability.TimingPhase;
+import com.torre.techtest.observability.UpstreamRequestEvent;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Shared HTTP gateway for all Torre.ai upstream calls.
+ *
+ * Keeps a single pooled, keep-alive client for torre.ai and search.torre.co so requests
+ * reuse established TLS connections instead of opening a new socket per call. Every request
+ * takes a token from the per-host {@link UpstreamRateLimiter} before it is sent, and is timed
+ * by host, endpoint and status along with its time to first byte. Connect and wait times are
+ * also added to the current {@link RequestTiming}, and each call is emitted as an
+ * {@link UpstreamRequestEvent} while a flight recording is running.
+ */
+@Component
+public class TorreGateway implements DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(TorreGateway.class);
+
+    static final String REQUESTS_METRIC = "torre.upstream.requests";
+    static final String TTFB_METRIC = "torre.upstream.ttfb";
+
+    /** Context attribute set once a connection is ready and the request is about to be sent */
+    private static final String CONNECTED_AT = "torre.connectedAt";
+
+    private final PoolingHttpClientConnectionManager connectionManager;
+    private final CloseableHttpClient httpClient;
+    private final UpstreamRateLimiter rateLimiter;
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * Creates a gateway with default pool and rate limit settings. The caller owns its connection
+     * pool and must {@link #destroy()} it; code that only needs a default gateway should use
+     * {@link #shared()} instead.
+     */
+    public TorreGateway() {
+        this(new TorreGatewayProperties(), new UpstreamRateLimiter(new RateLimitProperties()), new SimpleMeterRegistry());
+    }
+
+    @Autowired
+    public TorreGateway(TorreGatewayProperties properties, UpstreamRateLimiter rateLimiter, MeterRegistry meterRegistry) {
+        this.rateLimiter = rateLimiter;
+        this.meterRegistry = meterRegistry;
+        this.connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+            .setMaxConnTotal(properties.getMaxTotal())
+            .setMaxConnPerRoute(properties.getDefaultMaxPerRoute())
+            .setDefaultConnectionConfig(ConnectionConfig.custom()
+                .setConnectTimeout(Timeout.of(properties.getConnectTimeout()))
+                .setSocketTimeout(Timeout.of(properties.getResponseTimeout()))
+                .setTimeToLive(TimeValue.of(properties.getTimeToLive()))
+                .setValidateAfterInactivity(TimeValue.of(properties.getValidateAfterInactivity()))
+                .build())
+            .build();
+
+        properties.getMaxPerRoute().forEach((origin, max) ->
+            connectionManager.setMaxPerRoute(toRoute(origin), max));
+
+        this.httpClient = HttpClients.custom()
+            .setConnectionManager(connectionManager)
+            .setDefaultRequestConfig(RequestConfig.custom()
+                .setConnectionRequestTimeout(Timeout.of(properties.getConnectionRequestTimeout()))
+                .setResponseTimeout(Timeout.of(properties.getResponseTimeout()))
+                .setConnectionKeepAlive(TimeValue.of(properties.getKeepAlive()))
+                .build())
+            .addExecInterceptorBefore(ChainElement.MAIN_TRANSPORT.name(), CONNECTED_AT, (request, scope, chain) -> {
+                scope.clientContext.setAttribute(CONNECTED_AT, System.nanoTime());
+                return chain.proceed(request, scope);
+            })
+            .evictExpiredConnections()
+            .evictIdleConnections(TimeValue.of(properties.getIdleEviction()))
+            .build();
+
+        bindPoolMetrics();
+
+        logger.info("Torre gateway initialised: maxTotal={}, defaultMaxPerRoute={}, routes={}",
+            properties.getMaxTotal(), properties.getDefaultMaxPerRoute(), properties.getMaxPerRoute());
+    }
+
+    /**
+     * Executes a request on the pooled client. The handler must consume the response;
+     * the connection is released back to the pool once it returns.
+     *
+     * @param endpoint Low-cardinality name of the upstream endpoint, used as a metric tag
+     * @param request  Request to send upstream
+     * @param handler  Handler that turns the response into a result
+     * @return Result produced by the handler
+     * @throws IOException if the request fails at the transport level
+     * @throws com.torre.techtest.exception.RateLimitExceededException if the host's rate limit is exhausted
+     */
+    public <T> T execute(String endpoint, ClassicHttpRequest request, HttpClientResponseHandler<? extends T> handler) throws IOException {
+        String host = hostOf(request);
+        UpstreamRequestEvent event = new UpstreamRequestEvent();
+        event.begin();
+        long acquireStart = System.nanoTime();
+        rateLimiter.acquire(host);
+
+        HttpClientContext context = HttpClientContext.create();
+        AtomicInteger status = new AtomicInteger();
+        long start = System.nanoTime();
+        try {
+            return httpClient.execute(request, context, response -> {
+                long firstByte = System.nanoTime();
+                upstreamTimer(TTFB_METRIC, host, endpoint, null).record(firstByte - start, TimeUnit.NANOSECONDS);
+                recordConnectAndWait(context, acquireStart, firstByte);
+                status.set(response.getCode());
+                CountingEntity countingEntity = event.isEnabled() ? CountingEntity.wrap(response) : null;
+                try {
+                    return handler.handleResponse(response);
+                } finally {
+                    if (countingEntity != null) {
+                        event.bytes = countingEntity.getCount();
+                    }
+                }
+            });
+        } finally {
+            String statusTag = status.get() == 0 ? "IO_ERROR" : String.valueOf(status.get());
+            upstreamTimer(REQUESTS_METRIC, host, endpoint, statusTag).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            event.end();
+            if (event.shouldCommit()) {
+                event.host = host;
+                event.endpoint = endpoint;
+                event.path = request.getPath();
+                event.status = status.get();
+                event.commit();
+            }
+        }
+    }
+
+    /**
+     * Returns the rate limiter guarding this gateway.
+     */
+    public UpstreamRateLimiter getRateLimiter() {
+        return rateLimiter;
+    }
+
+    /**
+     * Returns aggregate connection pool statistics.
+     */
+    public PoolStats getTotalStats() {
+        return connectionManager.getTotalStats();
+    }
+
+    /**
+     * Returns connection pool statistics for every route the pool knows about, keyed by origin.
+     */
+    public Map<String, PoolStats> getRouteStats() {
+        Map<String, PoolStats> stats = new LinkedHashMap<>();
+        for (HttpRoute route : connectionManager.getRoutes()) {
+            stats.put(route.getTargetHost().toURI(), connectionManager.getStats(route));
+        }
+        return stats;
+    }
+
+    /**
+     * Returns the configured connection limit for the given origin.
+     */
+    public int getMaxPerRoute(String origin) {
+        return connectionManager.getMaxPerRoute(toRoute(origin));
+    }
+
+    /**
+     * Returns the process-wide gateway with default settings, for services constructed outside
+     * Spring. It is created on first use and closed when the JVM shuts down, so those services
+     * share one connection pool instead of each leaving one open.
+     */
+    public static TorreGateway shared() {
+        return SharedGateway.INSTANCE;
+    }
+
+    @Override
+    public void destroy() {
+        logger.info("Closing Torre gateway, pool stats at shutdown: {}", connectionManager.getTotalStats());
+        httpClient.close(CloseMode.GRACEFUL);
+    }
+
+    private Timer upstreamTimer(String name, String host, String endpoint, String status) {
+        Timer.Builder builder = Timer.builder(name)
+            .tag("host", host)
+            .tag("endpoint", endpoint)
+            .publishPercentileHistogram();
+        if (status != null) {
+            builder.tag("status", status);
+        }
+        return builder.register(meterRegistry);
+    }
+
+    /**
+     * Splits the time before the first byte into the request timing's connect phase (rate
+     * limit, pool lease, TCP/TLS) and wait phase (request sent until response headers).
+     */
+    private static void recordConnectAndWait(HttpClientContext context, long acquireStart, long firstByte) {
+        Object connectedAt = context.getAttribute(CONNECTED_AT);
+        long connected = connectedAt instanceof Long nanos ? nanos : acquireStart;
+        RequestTiming.record(TimingPhase.CONNECT, connected - acquireStart);
+        RequestTiming.record(TimingPhase.WAIT, firstByte - connected);
+    }
+
+    private void bindPoolMetrics() {
+        Gauge.builder("torre.gateway.pool.leased", connectionManager, manager -> manager.getTotalStats().getLeased())
+            .description("Upstream connections currently in use")
+            .register(meterRegistry);
+        Gauge.builder("torre.gateway.pool.available", connectionManager, manager -> manager.getTotalStats().getAvailable())
+            .description("Idle upstream connections kept alive in the pool")
+            .register(meterRegistry);
+        Gauge.builder("torre.gateway.pool.pending", connectionManager, manager -> manager.getTotalStats().getPending())
+            .description("Requests waiting for an upstream connection")
+            .register(meterRegistry);
+        Gauge.builder("torre.gateway.pool.max", connectionManager, manager -> manager.getTotalStats().getMax())
+            .description("Maximum number of pooled upstream connections")
+            .register(meterRegistry);
+    }
+
+    private static String hostOf(ClassicHttpRequest request) {
+        URIAuthority authority = request.getAuthority();
+        return authority != null ? authority.getHostName() : "unknown";
+    }
+
+    /**
+     * Response entity that counts the body bytes read by the handler, for flight recordings.
+     */
+    private static final class CountingEntity extends HttpEntityWrapper {
+
+        private CountingInputStream content;
+
+        private CountingEntity(HttpEntity entity) {
+            super(entity);
+        }
+
+        static CountingEntity wrap(ClassicHttpResponse response) {
+            if (response.getEntity() == null) {
+                return null;
+            }
+            CountingEntity entity = new CountingEntity(response.getEntity());
+            response.setEntity(entity);
+            return entity;
+        }
+
+        @Override
+        public InputStream getContent() throws IOException {
+            if (content == null) {
+                content = new CountingInputStream(super.getContent());
+            }
+            return content;
+        }
+
+        long getCount() {
+            return content == null ? 0 : content.getCount();
+        }
+    }
+
+    /**
+     * Builds the route the default route planner would produce for an origin, so per-route
+     * limits match the routes actually used at request time.
+     */
+    private static HttpRoute toRoute(String origin) {
+        URI uri = URI.create(origin);
+        String scheme = uri.getScheme() == null ? "https" : uri.getScheme();
+        int port = uri.getPort() != -1 ? uri.getPort() : ("https".equalsIgnoreCase(scheme) ? 443 : 80);
+        HttpHost host = new HttpHost(scheme, uri.getHost(), port);
+        return new HttpRoute(host, null, "https".equalsIgnoreCase(scheme));
+    }
+
+    private static final class SharedGateway {
+        private static final TorreGateway INSTANCE = create();
+
+        private static TorreGateway create() {
+            TorreGateway gateway = new TorreGateway();
+            Runtime.getRuntime().addShutdownHook(new Thread(gateway::destroy, "torre-gateway-shutdown"));
+            return gateway;
+        }
+    }
+}
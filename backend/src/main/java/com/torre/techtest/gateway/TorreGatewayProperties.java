@@ -0,0 +1,53 @@
+package com.torre.techtest.gateway;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+/**
+ * Connection pool settings for the shared Torre.ai upstream client.
+ *
+ * Routes are keyed by origin (e.g. {@code https://torre.ai}) so each upstream host
+ * gets its own connection limit inside the shared pool.
+ */
+@Data
+@ConfigurationProperties(prefix = "torre.gateway")
+public class TorreGatewayProperties {
+
+    /** Maximum number of pooled connections across all upstream hosts */
+    private int maxTotal = 100;
+
+    /** Connection limit for routes without an explicit entry in {@link #maxPerRoute} */
+    private int defaultMaxPerRoute = 20;
+
+    /** Per-origin connection limits */
+    private Map<String, Integer> maxPerRoute = new LinkedHashMap<>(Map.of(
+        "https://torre.ai", 40,
+        "https://search.torre.co", 40
+    ));
+
+    /** TCP connect timeout */
+    private Duration connectTimeout = Duration.ofSeconds(5);
+
+    /** Maximum time to wait for response data once the request is sent */
+    private Duration responseTimeout = Duration.ofSeconds(30);
+
+    /** Maximum time to wait for a free connection from the pool */
+    private Duration connectionRequestTimeout = Duration.ofSeconds(5);
+
+    /** Keep-alive used when the upstream does not send a Keep-Alive header */
+    private Duration keepAlive = Duration.ofSeconds(60);
+
+    /** Pooled connections idle for longer than this are closed by the evictor */
+    private Duration idleEviction = Duration.ofSeconds(30);
+
+    /** Hard upper bound on the lifetime of a pooled connection */
+    private Duration timeToLive = Duration.ofMinutes(5);
+
+    /** Idle period after which a connection is re-validated before reuse */
+    private Duration validateAfterInactivity = Duration.ofSeconds(2);
+}
@@ -0,0 +1,173 @@
+package com.torre.techtest.gateway;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import com.torre.techtest.exception.ExternalServiceException;
+import com.torre.techtest.exception.RateLimitExceededException;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Per-host token bucket limiter for outbound Torre.ai requests.
+ *
+ * Requests take a token before going upstream. When the bucket is empty the request waits
+ * for the next token, up to the configured acquire timeout, and is rejected beyond that.
+ * Token waits and rejections are published per host next to the {@code torre.upstream.*} meters.
+ */
+@Component
+public class UpstreamRateLimiter {
+
+    private static final Logger logger = LoggerFactory.getLogger(UpstreamRateLimiter.class);
+
+    static final String WAIT_METRIC = "torre.upstream.ratelimit.wait";
+    static final String REJECTED_METRIC = "torre.upstream.ratelimit.rejected";
+
+    private final RateLimitProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, HostLimiter> limiters = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a limiter whose meters go to a private registry.
+     */
+    public UpstreamRateLimiter(RateLimitProperties properties) {
+        this(properties, new SimpleMeterRegistry());
+    }
+
+    @Autowired
+    public UpstreamRateLimiter(RateLimitProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Takes a token for the given host, waiting for it if needed.
+     *
+     * The wait is bounded by the acquire timeout: a request that would wait longer is refused
+     * straight away rather than parked. If the thread is interrupted while waiting, the reserved
+     * token goes back to the bucket.
+     *
+     * @param host Upstream host name
+     * @throws RateLimitExceededException if no token becomes available within the acquire timeout
+     * @throws ExternalServiceException if the thread is interrupted while waiting
+     */
+    public void acquire(String host) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+
+        HostLimiter limiter = limiters.computeIfAbsent(host, this::createLimiter);
+        long waitNanos = limiter.bucket.reserve(properties.getAcquireTimeout().toNanos());
+
+        if (waitNanos < 0) {
+            limiter.rejected.increment();
+            limiter.rejectedCounter.increment();
+            logger.warn("Rate limit exceeded for upstream host {}", host);
+            throw new RateLimitExceededException("Torre.ai request rate limit exceeded for host " + host + ". Please retry shortly.");
+        }
+
+        if (waitNanos > 0) {
+            logger.debug("Waiting {} ms for upstream token on {}", TimeUnit.NANOSECONDS.toMillis(waitNanos), host);
+            try {
+                TimeUnit.NANOSECONDS.sleep(waitNanos);
+            } catch (InterruptedException e) {
+                limiter.bucket.release();
+                Thread.currentThread().interrupt();
+                throw new ExternalServiceException("Interrupted while waiting for Torre.ai rate limit on " + host, e);
+            }
+            limiter.totalWaitNanos.add(waitNanos);
+            limiter.maxWaitNanos.accumulate(waitNanos);
+        }
+        limiter.waitTimer.record(waitNanos, TimeUnit.NANOSECONDS);
+        limiter.acquired.increment();
+    }
+
+    /**
+     * Returns the tokens currently available for the host, so optional work can leave headroom
+     * for user requests. Hosts not seen yet report their full burst.
+     *
+     * @param host Upstream host name
+     * @return Available tokens, or {@link Double#POSITIVE_INFINITY} when rate limiting is disabled
+     */
+    public double availableTokens(String host) {
+        if (!properties.isEnabled()) {
+            return Double.POSITIVE_INFINITY;
+        }
+        HostLimiter limiter = limiters.get(host);
+        if (limiter == null) {
+            return properties.getHosts().getOrDefault(host, properties.getDefaults()).getBurst();
+        }
+        return limiter.bucket.availableTokens();
+    }
+
+    /**
+     * Returns acquisition statistics for every host seen so far, keyed by host name.
+     */
+    public Map<String, Stats> getStats() {
+        Map<String, Stats> stats = new TreeMap<>();
+        limiters.forEach((host, limiter) -> stats.put(host, new Stats(
+            limiter.acquired.sum(),
+            limiter.rejected.sum(),
+            limiter.totalWaitNanos.sum(),
+            limiter.maxWaitNanos.get(),
+            limiter.bucket.availableTokens()
+        )));
+        return stats;
+    }
+
+    private HostLimiter createLimiter(String host) {
+        RateLimitProperties.Limit limit = properties.getHosts().getOrDefault(host, properties.getDefaults());
+        logger.info("Rate limiting upstream host {} at {}/s with burst {}", host, limit.getPermitsPerSecond(), limit.getBurst());
+        Timer waitTimer = Timer.builder(WAIT_METRIC)
+            .description("Time requests waited for an upstream rate limit token")
+            .tag("host", host)
+            .publishPercentileHistogram()
+            .register(meterRegistry);
+        Counter rejectedCounter = Counter.builder(REJECTED_METRIC)
+            .description("Requests refused because the rate limit wait would exceed the acquire timeout")
+            .tag("host", host)
+            .register(meterRegistry);
+        return new HostLimiter(new TokenBucket(limit.getPermitsPerSecond(), limit.getBurst(), System::nanoTime),
+            waitTimer, rejectedCounter);
+    }
+
+    /**
+     * Snapshot of limiter activity for one host.
+     *
+     * @param acquired       Requests that obtained a token
+     * @param rejected       Requests refused because the wait would exceed the acquire timeout
+     * @param totalWaitNanos Total time requests spent waiting for tokens
+     * @param maxWaitNanos   Longest single wait
+     * @param availableTokens Tokens currently in the bucket
+     */
+    public record Stats(long acquired, long rejected, long totalWaitNanos, long maxWaitNanos, double availableTokens) {
+    }
+
+    private static final class HostLimiter {
+        private final TokenBucket bucket;
+        private final Timer waitTimer;
+        private final Counter rejectedCounter;
+        private final LongAdder acquired = new LongAdder();
+        private final LongAdder rejected = new LongAdder();
+        private final LongAdder totalWaitNanos = new LongAdder();
+        private final LongAccumulator maxWaitNanos = new LongAccumulator(Math::max, 0);
+
+        private HostLimiter(TokenBucket bucket, Timer waitTimer, Counter rejectedCounter) {
+            this.bucket = bucket;
+            this.waitTimer = waitTimer;
+            this.rejectedCounter = rejectedCounter;
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.torre.techtest.observability;
+
+import java.io.IOException;
+import java.time.Instant;
+
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Measures heap allocation and CPU time of every API request and hands the result to
+ * {@link AllocationTracker}, aggregated by the matched route pattern.
+ *
+ * Work done on the upstream executor is included through {@link RequestAllocation#wrap}.
+ * Streaming responses are written on an async thread after this filter returns, so only the
+ * part of those requests that runs before the stream starts is counted.
+ */
+@Component
+public class AllocationAccountingFilter extends OncePerRequestFilter {
+
+    static final String UNKNOWN_ROUTE = "UNKNOWN";
+
+    private final AllocationProperties properties;
+    private final AllocationTracker tracker;
+
+    public AllocationAccountingFilter(AllocationProperties properties, AllocationTracker tracker) {
+        this.properties = properties;
+        this.tracker = tracker;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return !properties.isEnabled() || !RequestAllocation.isSupported() || !path.startsWith("/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        RequestAllocation allocation = RequestAllocation.start();
+        long startNanos = System.nanoTime();
+        RequestAllocation.Snapshot start = RequestAllocation.Snapshot.take();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            allocation.add(start, RequestAllocation.Snapshot.take());
+            RequestAllocation.clear();
+            tracker.record(new AllocationTracker.RequestSample(
+                routeOf(request),
+                request.getMethod(),
+                request.getRequestURI(),
+                response.getStatus(),
+                allocation.getAllocatedBytes(),
+                allocation.getCpuNanos(),
+                System.nanoTime() - startNanos,
+                Instant.now()
+            ));
+        }
+    }
+
+    private static String routeOf(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pattern instanceof String route ? route : UNKNOWN_ROUTE;
+    }
+}
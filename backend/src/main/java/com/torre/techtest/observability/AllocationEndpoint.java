@@ -0,0 +1,39 @@
+package com.torre.techtest.observability;
+
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+/**
+ * Actuator endpoint at {@code /actuator/allocations} listing allocation totals per route and
+ * the most allocating individual requests.
+ */
+@Component
+@Endpoint(id = "allocations")
+public class AllocationEndpoint {
+
+    private final AllocationTracker tracker;
+
+    public AllocationEndpoint(AllocationTracker tracker) {
+        this.tracker = tracker;
+    }
+
+    @ReadOperation
+    public AllocationReport allocations() {
+        return new AllocationReport(RequestAllocation.isSupported(), tracker.getRouteStats(), tracker.getTopRequests());
+    }
+
+    /**
+     * Body of the endpoint.
+     *
+     * @param supported   Whether the JVM reports per-thread allocation
+     * @param routes      Totals per route pattern
+     * @param topRequests Most allocating requests, largest first
+     */
+    public record AllocationReport(boolean supported, Map<String, AllocationTracker.RouteStats> routes,
+                                   List<AllocationTracker.RequestSample> topRequests) {
+    }
+}
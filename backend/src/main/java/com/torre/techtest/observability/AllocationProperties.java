@@ -0,0 +1,19 @@
+package com.torre.techtest.observability;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+/**
+ * Settings for per-request allocation and CPU accounting.
+ */
+@Data
+@ConfigurationProperties(prefix = "torre.allocation")
+public class AllocationProperties {
+
+    /** Whether API requests are measured at all */
+    private boolean enabled = true;
+
+    /** Number of most allocating requests kept for the {@code allocations} actuator endpoint */
+    private int topRequests = 20;
+}
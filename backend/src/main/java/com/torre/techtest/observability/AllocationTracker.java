@@ -0,0 +1,153 @@
+package com.torre.techtest.observability;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Aggregates per-request allocation and CPU time by route.
+ *
+ * Every measured request is recorded in the {@code torre.request.allocated} and
+ * {@code torre.request.cpu} meters tagged by route pattern, added to per-route totals, and
+ * offered to a bounded list of the most allocating requests seen since startup.
+ */
+@Component
+public class AllocationTracker {
+
+    static final String ALLOCATED_METRIC = "torre.request.allocated";
+    static final String CPU_METRIC = "torre.request.cpu";
+
+    private static final Comparator<RequestSample> BY_ALLOCATION = Comparator.comparingLong(RequestSample::allocatedBytes);
+
+    private final AllocationProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, RouteTotals> routes = new ConcurrentHashMap<>();
+    private final PriorityQueue<RequestSample> topRequests = new PriorityQueue<>(BY_ALLOCATION);
+
+    public AllocationTracker(AllocationProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Records a finished request.
+     */
+    public void record(RequestSample sample) {
+        DistributionSummary.builder(ALLOCATED_METRIC)
+            .description("Heap bytes allocated per API request, including upstream executor work")
+            .baseUnit("bytes")
+            .tag("route", sample.route())
+            .publishPercentileHistogram()
+            .register(meterRegistry)
+            .record(sample.allocatedBytes());
+        Timer.builder(CPU_METRIC)
+            .description("CPU time used per API request, including upstream executor work")
+            .tag("route", sample.route())
+            .register(meterRegistry)
+            .record(sample.cpuNanos(), TimeUnit.NANOSECONDS);
+
+        RouteTotals totals = routes.computeIfAbsent(sample.route(), route -> new RouteTotals());
+        totals.requests.increment();
+        totals.allocatedBytes.add(sample.allocatedBytes());
+        totals.maxAllocatedBytes.accumulate(sample.allocatedBytes());
+        totals.cpuNanos.add(sample.cpuNanos());
+
+        offerTopRequest(sample);
+    }
+
+    /**
+     * Returns allocation totals for every route seen so far, keyed by route pattern.
+     */
+    public Map<String, RouteStats> getRouteStats() {
+        Map<String, RouteStats> stats = new TreeMap<>();
+        routes.forEach((route, totals) -> {
+            long requests = totals.requests.sum();
+            long allocated = totals.allocatedBytes.sum();
+            stats.put(route, new RouteStats(
+                requests,
+                allocated,
+                requests == 0 ? 0 : allocated / requests,
+                totals.maxAllocatedBytes.get(),
+                totals.cpuNanos.sum()
+            ));
+        });
+        return stats;
+    }
+
+    /**
+     * Returns the most allocating requests seen so far, largest first.
+     */
+    public List<RequestSample> getTopRequests() {
+        List<RequestSample> samples;
+        synchronized (topRequests) {
+            samples = new ArrayList<>(topRequests);
+        }
+        samples.sort(BY_ALLOCATION.reversed());
+        return samples;
+    }
+
+    private void offerTopRequest(RequestSample sample) {
+        int limit = properties.getTopRequests();
+        if (limit <= 0) {
+            return;
+        }
+        synchronized (topRequests) {
+            if (topRequests.size() < limit) {
+                topRequests.add(sample);
+            } else if (topRequests.peek().allocatedBytes() < sample.allocatedBytes()) {
+                topRequests.poll();
+                topRequests.add(sample);
+            }
+        }
+    }
+
+    /**
+     * Measurements of one API request.
+     *
+     * @param route          Route pattern, e.g. {@code /api/profile/{username}}
+     * @param method         HTTP method
+     * @param uri            Request URI as received
+     * @param status         Response status
+     * @param allocatedBytes Heap bytes allocated on the request thread and executor tasks
+     * @param cpuNanos       CPU time used on the request thread and executor tasks
+     * @param durationNanos  Wall-clock time of the request
+     * @param timestamp      When the request finished
+     */
+    public record RequestSample(String route, String method, String uri, int status, long allocatedBytes,
+                                long cpuNanos, long durationNanos, Instant timestamp) {
+    }
+
+    /**
+     * Allocation totals for one route.
+     *
+     * @param requests            Requests measured
+     * @param allocatedBytes      Bytes allocated by all of them
+     * @param meanAllocatedBytes  Average bytes allocated per request
+     * @param maxAllocatedBytes   Largest allocation of a single request
+     * @param cpuNanos            CPU time used by all of them
+     */
+    public record RouteStats(long requests, long allocatedBytes, long meanAllocatedBytes, long maxAllocatedBytes,
+                             long cpuNanos) {
+    }
+
+    private static final class RouteTotals {
+        private final LongAdder requests = new LongAdder();
+        private final LongAdder allocatedBytes = new LongAdder();
+        private final LongAccumulator maxAllocatedBytes = new LongAccumulator(Math::max, 0);
+        private final LongAdder cpuNanos = new LongAdder();
+    }
+}
@@ -0,0 +1,123 @@
+package com.torre.techtest.observability;
+
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Response wrapper that buffers the body until the request has been handled, and can switch to
+ * writing straight through when the handler continues the response asynchronously.
+ *
+ * Streaming handlers such as {@code StreamingResponseBody} write from another thread after the
+ * filter chain has returned, and {@link ServerTimingFilter} is not invoked again for that async
+ * work. Once {@link #startStreaming()} is called, whatever was buffered is sent and every later
+ * write goes to the underlying response. Writes and the switch are serialized on this wrapper
+ * so bytes written while the switch happens keep their order.
+ */
+class BufferedResponseWrapper extends ContentCachingResponseWrapper {
+
+    private ServletOutputStream outputStream;
+    private PrintWriter writer;
+    private volatile boolean streaming;
+
+    BufferedResponseWrapper(HttpServletResponse response) {
+        super(response);
+    }
+
+    @Override
+    public synchronized ServletOutputStream getOutputStream() throws IOException {
+        if (outputStream == null) {
+            outputStream = new SwitchingOutputStream(super.getOutputStream());
+        }
+        return outputStream;
+    }
+
+    @Override
+    public synchronized PrintWriter getWriter() throws IOException {
+        if (writer == null) {
+            writer = new PrintWriter(new OutputStreamWriter(getOutputStream(), getCharacterEncoding()));
+        }
+        return writer;
+    }
+
+    @Override
+    public void flushBuffer() throws IOException {
+        if (streaming) {
+            getResponse().flushBuffer();
+        }
+    }
+
+    /**
+     * Sends the buffered headers and body, then passes all further writes through unbuffered.
+     * No Content-Length is set, since the body is not complete yet.
+     */
+    synchronized void startStreaming() throws IOException {
+        copyBodyToResponse(false);
+        streaming = true;
+        getResponse().flushBuffer();
+    }
+
+    /**
+     * Flushes text still held by the writer's encoder into the buffer before the buffer is
+     * copied, so bodies written through {@link #getWriter()} are not lost.
+     */
+    @Override
+    protected synchronized void copyBodyToResponse(boolean complete) throws IOException {
+        if (writer != null) {
+            writer.flush();
+        }
+        super.copyBodyToResponse(complete);
+    }
+
+    private final class SwitchingOutputStream extends ServletOutputStream {
+
+        private final ServletOutputStream buffer;
+
+        private SwitchingOutputStream(ServletOutputStream buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            synchronized (BufferedResponseWrapper.this) {
+                target().write(b);
+            }
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            synchronized (BufferedResponseWrapper.this) {
+                target().write(b, off, len);
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+            synchronized (BufferedResponseWrapper.this) {
+                if (streaming) {
+                    getResponse().getOutputStream().flush();
+                }
+            }
+        }
+
+        @Override
+        public boolean isReady() {
+            return buffer.isReady();
+        }
+
+        @Override
+        public void setWriteListener(WriteListener writeListener) {
+            buffer.setWriteListener(writeListener);
+        }
+
+        private ServletOutputStream target() throws IOException {
+            return streaming ? getResponse().getOutputStream() : buffer;
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.torre.techtest.observability;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.boot.actuate.endpoint.web.annotation.WebEndpoint;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+/**
+ * Actuator endpoint at {@code /actuator/jfr} controlling the {@link FlightRecordingService}.
+ *
+ * {@code POST} starts a recording (optional {@code settings} and {@code duration}),
+ * {@code DELETE} stops it, and {@code GET} downloads the {@code .jfr} file with everything
+ * recorded so far.
+ */
+@Component
+@WebEndpoint(id = "jfr")
+public class FlightRecordingEndpoint {
+
+    private final FlightRecordingService recordingService;
+
+    public FlightRecordingEndpoint(FlightRecordingService recordingService) {
+        this.recordingService = recordingService;
+    }
+
+    @ReadOperation
+    public WebEndpointResponse<Resource> download() throws IOException {
+        Path file = recordingService.dump();
+        if (file == null) {
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND);
+        }
+        return new WebEndpointResponse<>(new FileSystemResource(file), WebEndpointResponse.STATUS_OK);
+    }
+
+    @WriteOperation
+    public FlightRecordingService.Status start(@Nullable String settings, @Nullable Duration duration) {
+        return recordingService.start(settings, duration);
+    }
+
+    @DeleteOperation
+    public FlightRecordingService.Status stop() throws IOException {
+        return recordingService.stop();
+    }
+}
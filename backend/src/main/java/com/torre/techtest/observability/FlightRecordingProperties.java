@@ -0,0 +1,29 @@
+package com.torre.techtest.observability;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import lombok.Data;
+
+/**
+ * Settings for flight recordings started through the {@code jfr} actuator endpoint.
+ */
+@Data
+@ConfigurationProperties(prefix = "torre.jfr")
+public class FlightRecordingProperties {
+
+    /** JFR configuration used when none is given, {@code default} or the more detailed {@code profile} */
+    private String settings = "profile";
+
+    /** Recorded data older than this is discarded while the recording runs */
+    private Duration maxAge = Duration.ofMinutes(15);
+
+    /** Recorded data beyond this size is discarded while the recording runs */
+    private DataSize maxSize = DataSize.ofMegabytes(200);
+
+    /** Directory the {@code .jfr} files are written to */
+    private Path directory = Path.of(System.getProperty("java.io.tmpdir"));
+}
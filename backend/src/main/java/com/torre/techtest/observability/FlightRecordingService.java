@@ -0,0 +1,158 @@
+package com.torre.techtest.observability;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.Instant;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.stereotype.Component;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+
+/**
+ * Starts, stops and dumps a single in-process Java Flight Recorder recording.
+ *
+ * The recording includes the Torre events ({@link UpstreamRequestEvent},
+ * {@link StreamLineParseEvent}, {@link ProfileDecodeEvent}, {@link ProficiencyScoringEvent})
+ * alongside the JVM's own GC, lock and allocation events, so upstream latency can be lined up
+ * with what the JVM was doing at the time. Only one recording runs at a time; the file of the
+ * last stopped recording stays available for download until the next one is started.
+ */
+@Component
+public class FlightRecordingService implements DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(FlightRecordingService.class);
+    static final String RECORDING_NAME = "torre-backend";
+
+    private final FlightRecordingProperties properties;
+    private Recording recording;
+    private String settings;
+    private Path file;
+
+    public FlightRecordingService(FlightRecordingProperties properties) {
+        this.properties = properties;
+    }
+
+    /**
+     * Starts a recording unless one is already running.
+     *
+     * @param settings JFR configuration name, or null for the configured default
+     * @param duration Time after which the recording stops by itself, or null to run until stopped
+     * @return State after the call
+     * @throws IllegalArgumentException if the configuration name is unknown
+     */
+    public synchronized Status start(String settings, Duration duration) {
+        if (recording != null && recording.getState() == RecordingState.RUNNING) {
+            return status();
+        }
+        closeRecording();
+
+        String configurationName = settings != null ? settings : properties.getSettings();
+        Configuration configuration;
+        try {
+            configuration = Configuration.getConfiguration(configurationName);
+        } catch (IOException | ParseException e) {
+            throw new IllegalArgumentException("Unknown JFR configuration: " + configurationName, e);
+        }
+
+        Recording started = new Recording(configuration);
+        started.setName(RECORDING_NAME);
+        started.setToDisk(true);
+        started.setMaxAge(properties.getMaxAge());
+        started.setMaxSize(properties.getMaxSize().toBytes());
+        started.setDuration(duration);
+        started.enable(UpstreamRequestEvent.class);
+        started.enable(StreamLineParseEvent.class);
+        started.enable(ProfileDecodeEvent.class);
+        started.enable(ProficiencyScoringEvent.class);
+        started.start();
+
+        recording = started;
+        this.settings = configurationName;
+        logger.info("Started flight recording with '{}' settings{}", configurationName,
+            duration != null ? " for " + duration : "");
+        return status();
+    }
+
+    /**
+     * Stops the running recording and writes it to disk.
+     *
+     * @return State after the call
+     */
+    public synchronized Status stop() throws IOException {
+        if (recording == null) {
+            return status();
+        }
+        if (recording.getState() == RecordingState.RUNNING) {
+            recording.stop();
+        }
+        dumpRecording();
+        closeRecording();
+        logger.info("Stopped flight recording, written to {}", file);
+        return status();
+    }
+
+    /**
+     * Writes the data recorded so far to disk and returns the file, or null if nothing was
+     * ever recorded. A running recording keeps running.
+     */
+    public synchronized Path dump() throws IOException {
+        if (recording != null) {
+            dumpRecording();
+            if (recording.getState() != RecordingState.RUNNING) {
+                closeRecording();
+            }
+        }
+        return file;
+    }
+
+    /**
+     * Returns the state of the current or last recording.
+     */
+    public synchronized Status status() {
+        if (recording == null) {
+            return new Status(file != null ? "STOPPED" : "NONE", null, null, null, 0, file);
+        }
+        return new Status(recording.getState().name(), settings, recording.getStartTime(), recording.getDuration(),
+            recording.getSize(), file);
+    }
+
+    @Override
+    public synchronized void destroy() {
+        closeRecording();
+    }
+
+    private void dumpRecording() throws IOException {
+        Files.createDirectories(properties.getDirectory());
+        Path target = properties.getDirectory().resolve(RECORDING_NAME + "-" + ProcessHandle.current().pid() + ".jfr");
+        recording.dump(target);
+        file = target;
+    }
+
+    private void closeRecording() {
+        if (recording != null) {
+            recording.close();
+            recording = null;
+        }
+    }
+
+    /**
+     * State of the flight recording.
+     *
+     * @param state     {@code NONE}, {@code RUNNING}, {@code STOPPED} or another {@link RecordingState}
+     * @param settings  JFR configuration in use
+     * @param startTime When the recording started
+     * @param duration  Configured duration, null when it runs until stopped
+     * @param size      Bytes recorded so far
+     * @param file      Last file written, null if none
+     */
+    public record Status(String state, String settings, Instant startTime, Duration duration, long size, Path file) {
+    }
+}
@@ -0,0 +1,25 @@
+package com.torre.techtest.observability;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event for reading and scoring the profiles of one distribution search response.
+ */
+@Name("com.torre.ProficiencyScoring")
+@Label("Proficiency Scoring Batch")
+@Category({"Torre", "Analysis"})
+@Description("Parsing and proficiency scoring of one distribution search response")
+@StackTrace(false)
+public class ProficiencyScoringEvent extends Event {
+
+    @Label("Search Term")
+    public String searchTerm;
+
+    @Label("Profiles Scored")
+    public int profiles;
+}
@@ -0,0 +1,27 @@
+package com.torre.techtest.observability;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event for deserializing and entity decoding one {@code genome/bios} response.
+ */
+@Name("com.torre.ProfileDecode")
+@Label("Profile Decode")
+@Category({"Torre", "Parsing"})
+@Description("Deserialization of a genome/bios response into a profile")
+@StackTrace(false)
+public class ProfileDecodeEvent extends Event {
+
+    @Label("Username")
+    public String username;
+
+    @Label("Payload Bytes")
+    @DataAmount
+    public long bytes;
+}
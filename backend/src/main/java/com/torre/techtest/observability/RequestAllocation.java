@@ -0,0 +1,149 @@
+package com.torre.techtest.observability;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-request accumulator of heap bytes allocated and CPU time used, read from
+ * {@code com.sun.management.ThreadMXBean}.
+ *
+ * The request thread is measured by {@link AllocationAccountingFilter}; tasks submitted to the
+ * upstream executor carry the accumulator along through {@link #wrap(Runnable)} and add what
+ * they allocate on the worker thread, so parallel distribution searches are charged to the
+ * request that started them.
+ *
+ * All static methods are no-ops when no accounting is bound or the JVM does not support
+ * per-thread allocation counters.
+ */
+public final class RequestAllocation {
+
+    private static final ThreadLocal<RequestAllocation> CURRENT = new ThreadLocal<>();
+    private static final com.sun.management.ThreadMXBean THREADS = threadBean();
+
+    private final LongAdder allocatedBytes = new LongAdder();
+    private final LongAdder cpuNanos = new LongAdder();
+
+    /**
+     * Returns whether the JVM reports allocated bytes per thread.
+     */
+    public static boolean isSupported() {
+        return THREADS != null;
+    }
+
+    /**
+     * Starts a new accumulator and binds it to the current thread.
+     */
+    public static RequestAllocation start() {
+        RequestAllocation allocation = new RequestAllocation();
+        CURRENT.set(allocation);
+        return allocation;
+    }
+
+    /**
+     * Unbinds the accumulator from the current thread.
+     */
+    public static void clear() {
+        CURRENT.remove();
+    }
+
+    /**
+     * Returns the accumulator bound to the current thread, or null outside an accounted request.
+     */
+    public static RequestAllocation current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Returns a task that runs with the caller's accumulator bound and charges its own
+     * allocation and CPU time to it, for use as a task decorator. A task that ends up running on
+     * a thread already bound to the same accumulator, such as the request thread under a
+     * caller-runs policy, is not measured again, since that thread is already being measured.
+     */
+    public static Runnable wrap(Runnable task) {
+        RequestAllocation allocation = CURRENT.get();
+        if (allocation == null || THREADS == null) {
+            return task;
+        }
+        return () -> {
+            RequestAllocation previous = CURRENT.get();
+            if (previous == allocation) {
+                task.run();
+                return;
+            }
+            CURRENT.set(allocation);
+            Snapshot start = Snapshot.take();
+            try {
+                task.run();
+            } finally {
+                allocation.add(start, Snapshot.take());
+                if (previous == null) {
+                    CURRENT.remove();
+                } else {
+                    CURRENT.set(previous);
+                }
+            }
+        };
+    }
+
+    /**
+     * Adds the difference between two snapshots taken on the same thread.
+     */
+    public void add(Snapshot start, Snapshot end) {
+        if (start.allocatedBytes() >= 0 && end.allocatedBytes() >= 0) {
+            allocatedBytes.add(end.allocatedBytes() - start.allocatedBytes());
+        }
+        if (start.cpuNanos() >= 0 && end.cpuNanos() >= 0) {
+            cpuNanos.add(end.cpuNanos() - start.cpuNanos());
+        }
+    }
+
+    /**
+     * Returns the bytes allocated so far on all threads working for the request.
+     */
+    public long getAllocatedBytes() {
+        return allocatedBytes.sum();
+    }
+
+    /**
+     * Returns the CPU time used so far on all threads working for the request.
+     */
+    public long getCpuNanos() {
+        return cpuNanos.sum();
+    }
+
+    private static com.sun.management.ThreadMXBean threadBean() {
+        if (!(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean bean)
+                || !bean.isThreadAllocatedMemorySupported()) {
+            return null;
+        }
+        if (!bean.isThreadAllocatedMemoryEnabled()) {
+            bean.setThreadAllocatedMemoryEnabled(true);
+        }
+        if (bean.isCurrentThreadCpuTimeSupported() && !bean.isThreadCpuTimeEnabled()) {
+            bean.setThreadCpuTimeEnabled(true);
+        }
+        return bean;
+    }
+
+    /**
+     * Allocation and CPU counters of the current thread at one point in time; -1 when unavailable.
+     *
+     * @param allocatedBytes Bytes allocated by the thread since it started
+     * @param cpuNanos       CPU time used by the thread since it started
+     */
+    public record Snapshot(long allocatedBytes, long cpuNanos) {
+
+        private static final Snapshot UNAVAILABLE = new Snapshot(-1, -1);
+
+        /**
+         * Reads the counters of the current thread.
+         */
+        public static Snapshot take() {
+            if (THREADS == null) {
+                return UNAVAILABLE;
+            }
+            long cpu = THREADS.isCurrentThreadCpuTimeSupported() ? THREADS.getCurrentThreadCpuTime() : -1;
+            return new Snapshot(THREADS.getCurrentThreadAllocatedBytes(), cpu);
+        }
+    }
+}
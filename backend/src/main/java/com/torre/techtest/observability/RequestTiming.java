@@ -0,0 +1,222 @@
+package com.torre.techtest.observability;
+
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Per-request accumulator of {@link TimingPhase} durations.
+ *
+ * The timing of the request being served is bound to the current thread by
+ * {@link ServerTimingFilter}; tasks submitted to the upstream executor carry it along through
+ * {@link #wrap(Runnable)}. Phases are exclusive: time spent in a phase nested inside another
+ * (for example entity decoding while parsing) is only counted for the inner phase. Phases that
+ * run on several threads at once are summed, so they can add up to more than the total.
+ *
+ * All static methods are no-ops when no timing is bound, so services can call them
+ * unconditionally.
+ */
+public final class RequestTiming {
+
+    private static final ThreadLocal<RequestTiming> CURRENT = new ThreadLocal<>();
+    private static final ThreadLocal<Span> ACTIVE = new ThreadLocal<>();
+    private static final TimingPhase[] PHASES = TimingPhase.values();
+
+    private final long startNanos = System.nanoTime();
+    private final AtomicLongArray phaseNanos = new AtomicLongArray(PHASES.length);
+    private volatile long serializeStartNanos;
+
+    /**
+     * Starts a new timing and binds it to the current thread.
+     */
+    public static RequestTiming start() {
+        RequestTiming timing = new RequestTiming();
+        CURRENT.set(timing);
+        ACTIVE.remove();
+        return timing;
+    }
+
+    /**
+     * Unbinds the timing from the current thread.
+     */
+    public static void clear() {
+        CURRENT.remove();
+        ACTIVE.remove();
+    }
+
+    /**
+     * Returns the timing bound to the current thread, or null outside a timed request.
+     */
+    public static RequestTiming current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Opens a span for the phase; closing it records the elapsed time minus nested phases.
+     */
+    public static Span phase(TimingPhase phase) {
+        RequestTiming timing = CURRENT.get();
+        if (timing == null) {
+            return Span.NOOP;
+        }
+        Span span = new Span(timing, phase, ACTIVE.get());
+        ACTIVE.set(span);
+        return span;
+    }
+
+    /**
+     * Records a duration measured elsewhere, such as by the HTTP client.
+     */
+    public static void record(TimingPhase phase, long nanos) {
+        RequestTiming timing = CURRENT.get();
+        if (timing == null || nanos <= 0) {
+            return;
+        }
+        timing.add(phase, nanos);
+        Span parent = ACTIVE.get();
+        if (parent != null) {
+            parent.childNanos += nanos;
+        }
+    }
+
+    /**
+     * Marks the point where the response body starts being written.
+     */
+    public static void markSerializeStart() {
+        RequestTiming timing = CURRENT.get();
+        if (timing != null) {
+            timing.serializeStartNanos = System.nanoTime();
+        }
+    }
+
+    /**
+     * Returns a task that runs with the caller's timing bound, for use as a task decorator.
+     */
+    public static Runnable wrap(Runnable task) {
+        RequestTiming timing = CURRENT.get();
+        if (timing == null) {
+            return task;
+        }
+        return () -> {
+            RequestTiming previous = CURRENT.get();
+            Span previousSpan = ACTIVE.get();
+            CURRENT.set(timing);
+            ACTIVE.remove();
+            try {
+                task.run();
+            } finally {
+                restore(CURRENT, previous);
+                restore(ACTIVE, previousSpan);
+            }
+        };
+    }
+
+    /**
+     * Closes the serialize phase opened by {@link #markSerializeStart()}, if any.
+     */
+    public void finishSerialize() {
+        long serializeStart = serializeStartNanos;
+        if (serializeStart != 0) {
+            add(TimingPhase.SERIALIZE, System.nanoTime() - serializeStart);
+            serializeStartNanos = 0;
+        }
+    }
+
+    /**
+     * Returns the accumulated time for a phase in nanoseconds.
+     */
+    public long getNanos(TimingPhase phase) {
+        return phaseNanos.get(phase.ordinal());
+    }
+
+    /**
+     * Returns the time since the timing started in nanoseconds.
+     */
+    public long getElapsedNanos() {
+        return System.nanoTime() - startNanos;
+    }
+
+    /**
+     * Formats the recorded phases and the total as a {@code Server-Timing} header value,
+     * e.g. {@code wait;desc="Upstream wait";dur=182.4, total;dur=190.2}.
+     */
+    public String toHeaderValue() {
+        StringBuilder header = new StringBuilder();
+        for (TimingPhase phase : PHASES) {
+            long nanos = getNanos(phase);
+            if (nanos > 0) {
+                header.append(phase.getMetricName())
+                    .append(";desc=\"").append(phase.getDescription()).append('"')
+                    .append(";dur=").append(millis(nanos))
+                    .append(", ");
+            }
+        }
+        return header.append("total;dur=").append(millis(getElapsedNanos())).toString();
+    }
+
+    /**
+     * Formats the recorded phases for log messages, e.g. {@code connect=1.2ms wait=180.3ms}.
+     */
+    public String toLogString() {
+        StringBuilder summary = new StringBuilder();
+        for (TimingPhase phase : PHASES) {
+            long nanos = getNanos(phase);
+            if (nanos > 0) {
+                summary.append(phase.getMetricName()).append('=').append(millis(nanos)).append("ms ");
+            }
+        }
+        return summary.append("total=").append(millis(getElapsedNanos())).append("ms").toString();
+    }
+
+    private void add(TimingPhase phase, long nanos) {
+        phaseNanos.addAndGet(phase.ordinal(), nanos);
+    }
+
+    private static <T> void restore(ThreadLocal<T> local, T value) {
+        if (value == null) {
+            local.remove();
+        } else {
+            local.set(value);
+        }
+    }
+
+    private static String millis(long nanos) {
+        return String.format(Locale.ROOT, "%.1f", nanos / 1_000_000.0);
+    }
+
+    /**
+     * An open phase on the current thread. Spans must be closed in reverse order of opening,
+     * which try-with-resources guarantees.
+     */
+    public static final class Span implements AutoCloseable {
+
+        private static final Span NOOP = new Span(null, null, null);
+
+        private final RequestTiming timing;
+        private final TimingPhase phase;
+        private final Span parent;
+        private final long startNanos;
+        private long childNanos;
+
+        private Span(RequestTiming timing, TimingPhase phase, Span parent) {
+            this.timing = timing;
+            this.phase = phase;
+            this.parent = parent;
+            this.startNanos = timing == null ? 0 : System.nanoTime();
+        }
+
+        @Override
+        public void close() {
+            if (timing == null) {
+                return;
+            }
+            long elapsed = System.nanoTime() - startNanos;
+            timing.add(phase, elapsed - childNanos);
+            if (parent != null) {
+                parent.childNanos += elapsed;
+                ACTIVE.set(parent);
+            } else {
+                ACTIVE.remove();
+            }
+        }
+    }
+}
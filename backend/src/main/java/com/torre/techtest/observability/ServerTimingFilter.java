@@ -0,0 +1,78 @@
+package com.torre.techtest.observability;
+
+import java.io.IOException;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Times API requests by phase and reports the breakdown in a {@code Server-Timing} header.
+ *
+ * The response body is buffered so serialization can be measured and the header added before
+ * anything is sent. Requests slower than the configured threshold are logged with the same
+ * breakdown, so slow profiles or distributions can be attributed to Torre.ai, parsing,
+ * decoding or serialization without a tracing system.
+ *
+ * When the handler continues the response asynchronously, as streaming endpoints do, the timing
+ * covers the request up to that point and the rest of the body is written through unbuffered.
+ */
+@Component
+public class ServerTimingFilter extends OncePerRequestFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(ServerTimingFilter.class);
+    public static final String SERVER_TIMING_HEADER = "Server-Timing";
+
+    private final ServerTimingProperties properties;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+    public ServerTimingFilter(ServerTimingProperties properties) {
+        this.properties = properties;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        if (!properties.isEnabled() || !path.startsWith("/api/")) {
+            return true;
+        }
+        return properties.getExcludedPaths().stream().anyMatch(pattern -> pathMatcher.match(pattern, path));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        RequestTiming timing = RequestTiming.start();
+        BufferedResponseWrapper bufferedResponse = new BufferedResponseWrapper(response);
+        try {
+            filterChain.doFilter(request, bufferedResponse);
+        } finally {
+            RequestTiming.clear();
+            timing.finishSerialize();
+            if (properties.isHeaderEnabled() && !response.isCommitted()) {
+                response.addHeader(SERVER_TIMING_HEADER, timing.toHeaderValue());
+            }
+            if (request.isAsyncStarted()) {
+                bufferedResponse.startStreaming();
+            } else {
+                bufferedResponse.copyBodyToResponse();
+            }
+            logIfSlow(request, bufferedResponse, timing);
+        }
+    }
+
+    private void logIfSlow(HttpServletRequest request, HttpServletResponse response, RequestTiming timing) {
+        long threshold = properties.getSlowRequestThreshold().toNanos();
+        if (threshold > 0 && timing.getElapsedNanos() >= threshold) {
+            logger.warn("Slow request {} {} -> {}: {}", request.getMethod(), request.getRequestURI(),
+                response.getStatus(), timing.toLogString());
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.torre.techtest.observability;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+/**
+ * Settings for per-phase request timing and the {@code Server-Timing} response header.
+ */
+@Data
+@ConfigurationProperties(prefix = "torre.server-timing")
+public class ServerTimingProperties {
+
+    /** Whether API requests are timed at all */
+    private boolean enabled = true;
+
+    /** Whether the phase breakdown is sent to clients in the {@code Server-Timing} header */
+    private boolean headerEnabled = true;
+
+    /** Requests slower than this are logged with their phase breakdown; zero disables the log */
+    private Duration slowRequestThreshold = Duration.ofSeconds(2);
+
+    /**
+     * Path patterns that are not timed. Streaming endpoints need no entry: their header covers
+     * the time until streaming starts and the rest of the body is written through unbuffered.
+     */
+    private List<String> excludedPaths = new ArrayList<>();
+}
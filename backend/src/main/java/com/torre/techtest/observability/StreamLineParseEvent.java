@@ -0,0 +1,31 @@
+package com.torre.techtest.observability;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event for parsing one line of a {@code _searchStream} response.
+ */
+@Name("com.torre.StreamLineParse")
+@Label("Search Stream Line Parse")
+@Category({"Torre", "Parsing"})
+@Description("Parsing and entity decoding of one _searchStream line")
+@StackTrace(false)
+public class StreamLineParseEvent extends Event {
+
+    @Label("Line Number")
+    public int lineNumber;
+
+    @Label("Line Bytes")
+    @DataAmount
+    public int bytes;
+
+    @Label("Person")
+    @Description("Whether the line produced a person result")
+    public boolean person;
+}
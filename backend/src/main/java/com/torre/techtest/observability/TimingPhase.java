@@ -0,0 +1,41 @@
+package com.torre.techtest.observability;
+
+/**
+ * Phases of a request reported in the {@code Server-Timing} header.
+ */
+public enum TimingPhase {
+
+    /** Rate limit wait, connection lease and TCP/TLS setup for upstream calls */
+    CONNECT("connect", "Upstream connect"),
+
+    /** Time from sending an upstream request until its response headers arrive */
+    WAIT("wait", "Upstream wait"),
+
+    /** Reading and parsing upstream response bodies */
+    PARSE("parse", "JSON parse"),
+
+    /** HTML entity decoding of upstream text */
+    DECODE("decode", "Entity decode"),
+
+    /** Scoring and combining upstream results */
+    AGGREGATE("aggregate", "Aggregate"),
+
+    /** Writing the response body */
+    SERIALIZE("serialize", "Serialize");
+
+    private final String metricName;
+    private final String description;
+
+    TimingPhase(String metricName, String description) {
+        this.metricName = metricName;
+        this.description = description;
+    }
+
+    public String getMetricName() {
+        return metricName;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+}
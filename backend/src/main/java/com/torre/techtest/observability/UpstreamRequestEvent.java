@@ -0,0 +1,38 @@
+package com.torre.techtest.observability;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event spanning one Torre.ai call, from rate limit acquisition until the response has
+ * been handled.
+ */
+@Name("com.torre.UpstreamRequest")
+@Label("Torre.ai Request")
+@Category({"Torre", "Upstream"})
+@Description("Outbound request to Torre.ai, including rate limit wait and response handling")
+@StackTrace(false)
+public class UpstreamRequestEvent extends Event {
+
+    @Label("Host")
+    public String host;
+
+    @Label("Endpoint")
+    public String endpoint;
+
+    @Label("Path")
+    public String path;
+
+    @Label("Status")
+    @Description("HTTP status, or 0 when the request failed before a response arrived")
+    public int status;
+
+    @Label("Response Bytes")
+    @DataAmount
+    public long bytes;
+}
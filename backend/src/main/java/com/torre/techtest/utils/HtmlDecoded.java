@@ -0,0 +1,21 @@
+package com.torre.techtest.utils;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import com.fasterxml.jackson.annotation.JacksonAnnotationsInside;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+
+/**
+ * Marks a String property whose HTML entities are decoded while it is deserialized.
+ *
+ * Works with any ObjectMapper; no module registration is needed.
+ */
+@Target({ElementType.FIELD, ElementType.METHOD, ElementType.PARAMETER, ElementType.ANNOTATION_TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+@JacksonAnnotationsInside
+@JsonDeserialize(using = HtmlDecodingDeserializer.class)
+public @interface HtmlDecoded {
+}
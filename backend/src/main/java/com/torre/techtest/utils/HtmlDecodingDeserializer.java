@@ -0,0 +1,21 @@
+package com.torre.techtest.utils;
+
+import java.io.IOException;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.deser.std.StringDeserializer;
+
+/**
+ * String deserializer that decodes HTML entities as the value is read.
+ * Applied to properties annotated with {@link HtmlDecoded}.
+ */
+public class HtmlDecodingDeserializer extends StringDeserializer {
+
+    private static final long serialVersionUID = 1L;
+
+    @Override
+    public String deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+        return HtmlUtils.decodeHtmlEntities(super.deserialize(parser, context));
+    }
+}
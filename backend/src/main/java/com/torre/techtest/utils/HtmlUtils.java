@@ -1,97 +1,278 @@
 package com.torre.techtest.utils;
 
-import java.util.HashMap;
-import java.util.Map;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.TreeMap;
 
 /**
  * Utility class for handling HTML entity decoding.
- * 
+ *
  * Torre.ai API responses sometimes contain HTML-encoded entities (like &#x27; for apostrophes)
  * that need to be decoded for proper display in the frontend.
+ *
+ * Decoding time is summed per thread rather than reported per string; callers read
+ * {@link #getDecodeNanos()} around a whole response and report the difference once.
  */
 public class HtmlUtils {
 
     /** Private constructor to hide implicit public constructor */
     private HtmlUtils() {}
 
-    /** Pattern to match numeric HTML entities (&#nnnn; and &#xHHHH;) */
-    private static final Pattern NUMERIC_ENTITY_PATTERN = Pattern.compile("&#(x?)([0-9a-fA-F]+);");
-    
-    /** Map of common named HTML entities to their character equivalents */
-    private static final Map<String, String> NAMED_ENTITIES = new HashMap<>();
-    
-    static {
-        // Common named entities
-        NAMED_ENTITIES.put("&amp;", "&");
-        NAMED_ENTITIES.put("&lt;", "<");
-        NAMED_ENTITIES.put("&gt;", ">");
-        NAMED_ENTITIES.put("&quot;", "\"");
-        NAMED_ENTITIES.put("&apos;", "'");
-        NAMED_ENTITIES.put("&#39;", "'");
-        NAMED_ENTITIES.put("&nbsp;", " ");
-    }
-    
+    /** Classpath resource holding the HTML5 named character reference table */
+    private static final String ENTITY_TABLE = "html5-entities.txt";
+
+    /** Trie over the HTML5 entity names, including their trailing semicolon */
+    private static final EntityTrie NAMED_ENTITIES = EntityTrie.load(ENTITY_TABLE);
+
+    /** HTML5 replacements for numeric references in the 0x80-0x9F range (windows-1252) */
+    private static final char[] C1_REPLACEMENTS = {
+        '€', '\u0081', '‚', 'ƒ', '„', '…', '†', '‡',
+        'ˆ', '‰', 'Š', '‹', 'Œ', '\u008D', 'Ž', '\u008F',
+        '\u0090', '‘', '’', '“', '”', '•', '–', '—',
+        '˜', '™', 'š', '›', 'œ', '\u009D', 'ž', 'Ÿ'
+    };
+
+    private static final int REPLACEMENT_CHARACTER = 0xFFFD;
+
+    /** Time the thread has spent decoding text that contains an ampersand; the fast path is not counted */
+    private static final ThreadLocal<long[]> DECODE_NANOS = ThreadLocal.withInitial(() -> new long[1]);
+
     /**
      * Decodes HTML entities in the given text.
-     * 
-     * Handles both named entities (&amp;, &lt;, etc.) and numeric entities
-     * (&#39;, &#x27;, etc.) commonly found in Torre.ai API responses.
-     * 
+     *
+     * Handles every HTML5 named entity (&amp;, &lt;, &hearts;, etc.) and numeric entities
+     * (&#39;, &#x27;, &#x1F600;, etc.) in a single pass. Only references terminated by a
+     * semicolon are decoded; anything else is copied unchanged. Text without an ampersand is
+     * returned as-is without copying. Unlike the HTML5 table, &nbsp; decodes to a plain space.
+     *
      * @param text The text containing HTML entities to decode
      * @return The decoded text with HTML entities converted to their character equivalents
      */
     public static String decodeHtmlEntities(String text) {
-        if (text == null || text.isEmpty()) {
+        if (text == null) {
+            return null;
+        }
+
+        int amp = text.indexOf('&');
+        if (amp < 0) {
+            return text;
+        }
+
+        long start = System.nanoTime();
+        try {
+            return decodeFrom(text, amp);
+        } finally {
+            DECODE_NANOS.get()[0] += System.nanoTime() - start;
+        }
+    }
+
+    /**
+     * Returns the total time the current thread has spent decoding entities. Only differences
+     * between two calls on the same thread are meaningful.
+     */
+    public static long getDecodeNanos() {
+        return DECODE_NANOS.get()[0];
+    }
+
+    private static String decodeFrom(String text, int amp) {
+        int length = text.length();
+        StringBuilder decoded = null;
+        int copied = 0;
+
+        while (amp >= 0) {
+            int end = amp + 1 < length && text.charAt(amp + 1) == '#'
+                ? decodeNumeric(text, amp, copied, decoded)
+                : decodeNamed(text, amp, copied, decoded);
+
+            if (end < 0) {
+                amp = text.indexOf('&', amp + 1);
+                continue;
+            }
+            if (decoded == null) {
+                // First reference found: redo it into a fresh builder
+                decoded = new StringBuilder(length);
+                continue;
+            }
+            copied = end;
+            amp = text.indexOf('&', end);
+        }
+
+        if (decoded == null) {
             return text;
         }
-        
-        String result = text;
-        
-        // First, handle named entities
-        for (Map.Entry<String, String> entity : NAMED_ENTITIES.entrySet()) {
-            result = result.replace(entity.getKey(), entity.getValue());
-        }
-        
-        // Then handle numeric entities (&#39; and &#x27; format)
-        Matcher matcher = NUMERIC_ENTITY_PATTERN.matcher(result);
-        StringBuffer sb = new StringBuffer();
-        
-        while (matcher.find()) {
-            String isHex = matcher.group(1); // "x" if hexadecimal, empty if decimal
-            String number = matcher.group(2);
-            
-            try {
-                int charCode;
-                if ("x".equals(isHex)) {
-                    // Hexadecimal entity (&#x27;)
-                    charCode = Integer.parseInt(number, 16);
-                } else {
-                    // Decimal entity (&#39;)
-                    charCode = Integer.parseInt(number, 10);
+        return decoded.append(text, copied, length).toString();
+    }
+
+    /**
+     * Decodes a named reference starting at {@code amp}. When {@code out} is null this only
+     * checks for a match.
+     *
+     * @return Index just past the reference, or -1 when there is none
+     */
+    private static int decodeNamed(String text, int amp, int copied, StringBuilder out) {
+        int node = EntityTrie.ROOT;
+        for (int i = amp + 1; i < text.length(); i++) {
+            node = NAMED_ENTITIES.step(node, text.charAt(i));
+            if (node < 0) {
+                return -1;
+            }
+            String value = NAMED_ENTITIES.value(node);
+            if (value != null) {
+                if (out != null) {
+                    out.append(text, copied, amp).append(value);
                 }
-                
-                // Convert to character and replace
-                String replacement = String.valueOf((char) charCode);
-                matcher.appendReplacement(sb, Matcher.quoteReplacement(replacement));
-            } catch (NumberFormatException e) {
-                // If parsing fails, leave the entity as-is
-                matcher.appendReplacement(sb, Matcher.quoteReplacement(matcher.group(0)));
+                return i + 1;
             }
         }
-        matcher.appendTail(sb);
-        
-        return sb.toString();
+        return -1;
     }
-    
+
+    /**
+     * Decodes a decimal or hexadecimal reference starting at {@code amp}. When {@code out} is
+     * null this only checks for a match.
+     *
+     * @return Index just past the reference, or -1 when there is none
+     */
+    private static int decodeNumeric(String text, int amp, int copied, StringBuilder out) {
+        int length = text.length();
+        int i = amp + 2;
+        int radix = 10;
+        if (i < length && (text.charAt(i) == 'x' || text.charAt(i) == 'X')) {
+            radix = 16;
+            i++;
+        }
+
+        int digitsStart = i;
+        int codePoint = 0;
+        while (i < length) {
+            int digit = Character.digit(text.charAt(i), radix);
+            if (digit < 0) {
+                break;
+            }
+            // Clamp instead of overflowing; anything above U+10FFFF is replaced anyway
+            codePoint = codePoint > Character.MAX_CODE_POINT ? codePoint : codePoint * radix + digit;
+            i++;
+        }
+
+        if (i == digitsStart || i >= length || text.charAt(i) != ';') {
+            return -1;
+        }
+        if (out != null) {
+            out.append(text, copied, amp).appendCodePoint(sanitizeCodePoint(codePoint));
+        }
+        return i + 1;
+    }
+
+    private static int sanitizeCodePoint(int codePoint) {
+        if (codePoint == 0 || codePoint > Character.MAX_CODE_POINT
+                || (codePoint >= Character.MIN_SURROGATE && codePoint <= Character.MAX_SURROGATE)) {
+            return REPLACEMENT_CHARACTER;
+        }
+        if (codePoint >= 0x80 && codePoint <= 0x9F) {
+            return C1_REPLACEMENTS[codePoint - 0x80];
+        }
+        return codePoint;
+    }
+
     /**
      * Safely decodes HTML entities, handling null values gracefully.
-     * 
+     *
      * @param text The text to decode (can be null)
      * @return The decoded text, or null if input was null
      */
     public static String safeDecodeHtmlEntities(String text) {
         return text == null ? null : decodeHtmlEntities(text);
     }
+
+    /**
+     * Immutable character trie. Each node keeps its outgoing characters sorted so a step is a
+     * binary search over a handful of chars; nodes that complete a name carry the replacement.
+     */
+    private static final class EntityTrie {
+
+        static final int ROOT = 0;
+
+        private final char[][] labels;
+        private final int[][] targets;
+        private final String[] values;
+
+        private EntityTrie(char[][] labels, int[][] targets, String[] values) {
+            this.labels = labels;
+            this.targets = targets;
+            this.values = values;
+        }
+
+        int step(int node, char c) {
+            char[] edges = labels[node];
+            int index = Arrays.binarySearch(edges, c);
+            return index < 0 ? -1 : targets[node][index];
+        }
+
+        String value(int node) {
+            return values[node];
+        }
+
+        static EntityTrie load(String resource) {
+            List<TreeMap<Character, Integer>> children = new ArrayList<>();
+            List<String> values = new ArrayList<>();
+            children.add(new TreeMap<>());
+            values.add(null);
+
+            try (InputStream in = HtmlUtils.class.getResourceAsStream(resource)) {
+                if (in == null) {
+                    throw new IllegalStateException("Missing HTML entity table: " + resource);
+                }
+                BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.US_ASCII));
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    if (line.isEmpty() || line.charAt(0) == '#') {
+                        continue;
+                    }
+                    String[] parts = line.split(" ");
+                    StringBuilder value = new StringBuilder(2);
+                    for (int p = 1; p < parts.length; p++) {
+                        value.appendCodePoint(Integer.parseInt(parts[p], 16));
+                    }
+
+                    int node = ROOT;
+                    for (char c : parts[0].toCharArray()) {
+                        Integer next = children.get(node).get(c);
+                        if (next == null) {
+                            next = children.size();
+                            children.get(node).put(c, next);
+                            children.add(new TreeMap<>());
+                            values.add(null);
+                        }
+                        node = next;
+                    }
+                    values.set(node, value.toString().intern());
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to read HTML entity table: " + resource, e);
+            }
+
+            int size = children.size();
+            char[][] labels = new char[size][];
+            int[][] targets = new int[size][];
+            for (int node = 0; node < size; node++) {
+                TreeMap<Character, Integer> edges = children.get(node);
+                labels[node] = new char[edges.size()];
+                targets[node] = new int[edges.size()];
+                int index = 0;
+                for (var edge : edges.entrySet()) {
+                    labels[node][index] = edge.getKey();
+                    targets[node][index] = edge.getValue();
+                    index++;
+                }
+            }
+            return new EntityTrie(labels, targets, values.toArray(new String[0]));
+        }
+    }
 }
@@ -70,6 +70,25 @@ class GlobalExceptionHandlerTest {
         assertEquals("/api/test/external", body.path());
     }
 
+    @Test
+    void rateLimited503() {
+        GlobalExceptionHandler handler = new GlobalExceptionHandler();
+        HttpServletRequest request = Mockito.mock(HttpServletRequest.class);
+        when(request.getRequestURI()).thenReturn("/api/test/limited");
+
+        RateLimitExceededException exception = new RateLimitExceededException("slow down");
+
+        ResponseEntity<ApiErrorResponse> response = handler.handleRateLimited(exception, request);
+        ApiErrorResponse body = response.getBody();
+
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, response.getStatusCode());
+        assertNotNull(body);
+        assertEquals(503, body.status());
+        assertEquals("Service Unavailable", body.error());
+        assertEquals("slow down", body.message());
+        assertEquals("/api/test/limited", body.path());
+    }
+
     @Test
     void unexpected500() {
         GlobalExceptionHandler handler = new GlobalExceptionHandler();
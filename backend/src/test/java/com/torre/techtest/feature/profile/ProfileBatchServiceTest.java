@@ -0,0 +1,131 @@
+package com.torre.techtest.feature.profile;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import com.torre.techtest.exception.ExternalServiceException;
+import com.torre.techtest.exception.ResourceNotFoundException;
+
+class ProfileBatchServiceTest {
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(8);
+    private final ProfileService profileService = mock(ProfileService.class);
+    private final ProfileBatchProperties properties = new ProfileBatchProperties();
+
+    @AfterEach
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void resultsPerUsernameInRequestOrder() {
+        when(profileService.getPersonDetails("ana-ruiz")).thenReturn(profile("Ana"));
+        when(profileService.getPersonDetails("missing")).thenThrow(new ResourceNotFoundException("profile not found"));
+        when(profileService.getPersonDetails("broken")).thenThrow(new ExternalServiceException("Torre.ai API unavailable"));
+        ProfileBatchService service = new ProfileBatchService(profileService, properties, executor);
+
+        List<ProfileBatchResult> streamed = Collections.synchronizedList(new ArrayList<>());
+        List<ProfileBatchResult> results = service.getPersonDetails(List.of("ana-ruiz", "missing", " ", "broken"), streamed::add);
+
+        assertEquals(List.of(200, 404, 400, 502), results.stream().map(ProfileBatchResult::getStatus).toList());
+        assertEquals("Ana", results.get(0).getProfile().getPerson().getName());
+        assertEquals("profile not found", results.get(1).getMessage());
+        assertNull(results.get(1).getProfile());
+        assertEquals(4, streamed.size());
+        assertEquals(1, new ProfileBatchResponse(results).getSucceeded());
+    }
+
+    @Test
+    void boundsConcurrentFetches() {
+        properties.setParallelism(3);
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        when(profileService.getPersonDetails(anyString())).thenAnswer(invocation -> {
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            Thread.sleep(20);
+            running.decrementAndGet();
+            return profile(invocation.getArgument(0));
+        });
+        ProfileBatchService service = new ProfileBatchService(profileService, properties, executor);
+
+        List<String> usernames = new ArrayList<>();
+        for (int i = 0; i < 12; i++) {
+            usernames.add("user-" + i);
+        }
+        List<ProfileBatchResult> results = service.getPersonDetails(usernames, result -> { });
+
+        assertEquals(usernames, results.stream().map(result -> result.getProfile().getPerson().getName()).toList());
+        assertTrue(maxRunning.get() <= 3, "max concurrent fetches: " + maxRunning.get());
+        assertTrue(maxRunning.get() > 1, "fetches did not overlap");
+    }
+
+    @Test
+    void reportsUnfinishedUsernamesAsTimedOut() throws Exception {
+        properties.setTimeout(Duration.ofMillis(100));
+        CountDownLatch release = new CountDownLatch(1);
+        when(profileService.getPersonDetails("fast")).thenReturn(profile("Fast"));
+        when(profileService.getPersonDetails("slow")).thenAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return profile("Slow");
+        });
+        ProfileBatchService service = new ProfileBatchService(profileService, properties, executor);
+
+        List<ProfileBatchResult> streamed = Collections.synchronizedList(new ArrayList<>());
+        List<ProfileBatchResult> results = service.getPersonDetails(List.of("fast", "slow"), streamed::add);
+        release.countDown();
+
+        assertEquals(List.of(200, 504), results.stream().map(ProfileBatchResult::getStatus).toList());
+        Thread.sleep(50);
+        assertEquals(2, streamed.size());
+    }
+
+    @Test
+    void rejectsUnsafeUsernamesPerItem() {
+        when(profileService.getPersonDetails("ana-ruiz")).thenReturn(profile("Ana"));
+        ProfileBatchService service = new ProfileBatchService(profileService, properties, executor);
+
+        List<ProfileBatchResult> results = service.getPersonDetails(
+            List.of("ana-ruiz", "../x", "a?b=", "a#", "a%2Fb", "a b", ".."), result -> { });
+
+        assertEquals(List.of(200, 400, 400, 400, 400, 400, 400), results.stream().map(ProfileBatchResult::getStatus).toList());
+        assertEquals("Invalid username '../x'.", results.get(1).getMessage());
+        verify(profileService, times(1)).getPersonDetails(anyString());
+    }
+
+    @Test
+    void rejectsOversizedBatch() {
+        properties.setMaxUsernames(2);
+        ProfileBatchService service = new ProfileBatchService(profileService, properties, executor);
+
+        assertThrows(IllegalArgumentException.class, () -> service.getPersonDetails(List.of("a", "b", "c"), result -> { }));
+        assertThrows(IllegalArgumentException.class, () -> service.getPersonDetails(List.of(), result -> { }));
+    }
+
+    private static PersonDetailsResponse profile(String name) {
+        PersonDetailsResponse.Person person = new PersonDetailsResponse.Person();
+        person.setName(name);
+        PersonDetailsResponse response = new PersonDetailsResponse();
+        response.setPerson(person);
+        return response;
+    }
+}
@@ -1,7 +1,12 @@
 package com.torre.techtest.feature.profile;
 
+import java.util.List;
+import java.util.function.Consumer;
+
 import org.junit.jupiter.api.Test;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -10,16 +15,25 @@ import org.springframework.http.MediaType;
 import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import com.torre.techtest.exception.ExternalServiceException;
 import com.torre.techtest.exception.GlobalExceptionHandler;
 import com.torre.techtest.exception.ResourceNotFoundException;
+import com.torre.techtest.observability.ServerTimingFilter;
+import com.torre.techtest.observability.ServerTimingProperties;
 
 @WebMvcTest(ProfileController.class)
-@ContextConfiguration(classes = {ProfileController.class, GlobalExceptionHandler.class})
+@ContextConfiguration(classes = {ProfileController.class, GlobalExceptionHandler.class,
+    ServerTimingFilter.class, ServerTimingProperties.class})
 class ProfileControllerTest {
 
     @Autowired
@@ -28,6 +42,9 @@ class ProfileControllerTest {
     @MockitoBean
     private ProfileService profileService;
 
+    @MockitoBean
+    private ProfileBatchService profileBatchService;
+
     @Test
     void blankUsername() throws Exception {
         mockMvc.perform(get("/api/profile/{username}", "   ")
@@ -82,4 +99,49 @@ class ProfileControllerTest {
             .andExpect(status().isBadGateway())
             .andExpect(jsonPath("$.message").value("Torre.ai API unavailable"));
     }
+
+    @Test
+    void batchProfiles() throws Exception {
+        PersonDetailsResponse.Person person = new PersonDetailsResponse.Person();
+        person.setName("Ana Ruiz");
+        PersonDetailsResponse profile = new PersonDetailsResponse();
+        profile.setPerson(person);
+
+        when(profileBatchService.getPersonDetails(eq(List.of("ana-ruiz", "missing")), any())).thenReturn(List.of(
+            ProfileBatchResult.success("ana-ruiz", profile),
+            ProfileBatchResult.failure("missing", 404, "profile not found")));
+
+        mockMvc.perform(post("/api/profile/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"usernames\":[\"ana-ruiz\",\"missing\"]}"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.succeeded").value(1))
+            .andExpect(jsonPath("$.failed").value(1))
+            .andExpect(jsonPath("$.results[0].profile.person.name").value("Ana Ruiz"))
+            .andExpect(jsonPath("$.results[1].status").value(404))
+            .andExpect(jsonPath("$.results[1].message").value("profile not found"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void streamBatchProfilesThroughServerTiming() throws Exception {
+        doAnswer(invocation -> {
+            Consumer<ProfileBatchResult> listener = invocation.getArgument(1);
+            ProfileBatchResult missing = ProfileBatchResult.failure("missing", 404, "profile not found");
+            listener.accept(missing);
+            return List.of(missing);
+        }).when(profileBatchService).getPersonDetails(eq(List.of("missing")), any(Consumer.class));
+
+        MvcResult started = mockMvc.perform(post("/api/profile/batch/stream")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"usernames\":[\"missing\"]}"))
+            .andExpect(request().asyncStarted())
+            .andExpect(header().exists(ServerTimingFilter.SERVER_TIMING_HEADER))
+            .andReturn();
+
+        mockMvc.perform(asyncDispatch(started))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType("application/x-ndjson"))
+            .andExpect(content().string("{\"username\":\"missing\",\"status\":404,\"message\":\"profile not found\"}\n"));
+    }
 }
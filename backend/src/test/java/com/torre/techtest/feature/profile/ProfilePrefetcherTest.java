@@ -0,0 +1,104 @@
+package com.torre.techtest.feature.profile;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.torre.techtest.gateway.RateLimitProperties;
+import com.torre.techtest.gateway.TorreApiProperties;
+import com.torre.techtest.gateway.TorreGateway;
+import com.torre.techtest.gateway.TorreGatewayProperties;
+import com.torre.techtest.gateway.UpstreamRateLimiter;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class ProfilePrefetcherTest {
+
+    private final ProfileService profileService = mock(ProfileService.class);
+    private final RateLimitProperties rateLimitProperties = new RateLimitProperties();
+    private final UpstreamRateLimiter rateLimiter = new UpstreamRateLimiter(rateLimitProperties);
+    private final TorreGateway torreGateway = new TorreGateway(new TorreGatewayProperties(), rateLimiter, new SimpleMeterRegistry());
+    private final ProfilePrefetchProperties properties = new ProfilePrefetchProperties();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final List<Runnable> queued = new ArrayList<>();
+
+    ProfilePrefetcherTest() {
+        properties.setEnabled(true);
+        when(profileService.isCacheEnabled()).thenReturn(true);
+    }
+
+    @Test
+    void prefetchesLeadingUncachedResults() {
+        when(profileService.isCached("ana-ruiz")).thenReturn(true);
+        ProfilePrefetcher prefetcher = prefetcher();
+
+        prefetcher.prefetch(List.of("ana-ruiz", "luis", " ", "maria", "pedro"));
+        queued.forEach(Runnable::run);
+
+        verify(profileService, never()).getPersonDetails("ana-ruiz");
+        verify(profileService).getPersonDetails("luis");
+        verify(profileService).getPersonDetails("maria");
+        verify(profileService, never()).getPersonDetails("pedro");
+        assertEquals(2, outcome("started"));
+    }
+
+    @Test
+    void staysWithinBudget() {
+        properties.setMaxInFlight(1);
+        ProfilePrefetcher prefetcher = prefetcher();
+
+        prefetcher.prefetch(List.of("ana-ruiz", "luis"));
+        assertEquals(1, queued.size());
+        assertEquals(1, outcome("skipped"));
+
+        queued.forEach(Runnable::run);
+        prefetcher.prefetch(List.of("maria"));
+        assertEquals(2, queued.size());
+    }
+
+    @Test
+    void backsOffWhenRateLimitHeadroomIsLow() {
+        rateLimitProperties.setDefaults(new RateLimitProperties.Limit(0.001, 12));
+        properties.setReservedTokens(10);
+        ProfilePrefetcher prefetcher = prefetcher();
+
+        prefetcher.prefetch(List.of("ana-ruiz"));
+        rateLimiter.acquire("torre.ai");
+        rateLimiter.acquire("torre.ai");
+        rateLimiter.acquire("torre.ai");
+        prefetcher.prefetch(List.of("luis"));
+        assertEquals(1, queued.size());
+        assertEquals(1, outcome("skipped"));
+
+        queued.forEach(Runnable::run);
+
+        assertTrue(prefetcher.isUnderLoad());
+        verify(profileService, never()).getPersonDetails(anyString());
+        assertEquals(1, outcome("cancelled"));
+    }
+
+    @Test
+    void disabledByDefault() {
+        properties.setEnabled(new ProfilePrefetchProperties().isEnabled());
+        prefetcher().prefetch(List.of("ana-ruiz"));
+
+        assertTrue(queued.isEmpty());
+    }
+
+    private ProfilePrefetcher prefetcher() {
+        return new ProfilePrefetcher(profileService, torreGateway, new TorreApiProperties(), properties, queued::add, meterRegistry);
+    }
+
+    private double outcome(String outcome) {
+        return meterRegistry.get(ProfilePrefetcher.PREFETCH_METRIC).tag("outcome", outcome).counter().count();
+    }
+}
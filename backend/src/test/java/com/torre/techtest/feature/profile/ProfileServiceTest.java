@@ -4,17 +4,33 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.RegisterExtension;
 
 import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
 import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.getRequestedFor;
 import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo;
 import com.github.tomakehurst.wiremock.core.WireMockConfiguration;
 import com.github.tomakehurst.wiremock.junit5.WireMockExtension;
 import com.torre.techtest.exception.ExternalServiceException;
 import com.torre.techtest.exception.ResourceNotFoundException;
+import com.torre.techtest.gateway.TorreApiProperties;
+import com.torre.techtest.gateway.TorreGateway;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 
 class ProfileServiceTest {
 
@@ -161,6 +177,181 @@ class ProfileServiceTest {
         assertNull(response);
     }
 
+    @Test
+    void cachedProfile() {
+        wireMockServer.stubFor(get(urlEqualTo("/api/genome/bios/ana-ruiz"))
+            .willReturn(aResponse()
+                .withStatus(200)
+                .withBody("{\"person\":{\"name\":\"Ana &amp; Ruiz\"}}")));
+
+        ProfileService service = new TestProfileService(wireMockServer.baseUrl());
+        PersonDetailsResponse first = service.getPersonDetails("ana-ruiz");
+        PersonDetailsResponse second = service.getPersonDetails("  Ana-Ruiz ");
+
+        assertSame(first, second);
+        assertEquals("Ana & Ruiz", second.getPerson().getName());
+        assertEquals(1, service.getCacheStats().hitCount());
+        assertEquals(1, service.getCacheStats().missCount());
+        wireMockServer.verify(1, getRequestedFor(urlEqualTo("/api/genome/bios/ana-ruiz")));
+    }
+
+    @Test
+    void mixedCaseUsername() {
+        wireMockServer.stubFor(get(urlEqualTo("/api/genome/bios/AnaRuiz"))
+            .willReturn(aResponse()
+                .withStatus(200)
+                .withBody("{\"person\":{\"name\":\"Ana\"}}")));
+
+        ProfileService service = new TestProfileService(wireMockServer.baseUrl());
+        PersonDetailsResponse first = service.getPersonDetails("AnaRuiz");
+        PersonDetailsResponse second = service.getPersonDetails("anaruiz");
+
+        assertSame(first, second);
+        assertTrue(service.isCached("ANARUIZ"));
+        wireMockServer.verify(1, getRequestedFor(urlEqualTo("/api/genome/bios/AnaRuiz")));
+        wireMockServer.verify(0, getRequestedFor(urlEqualTo("/api/genome/bios/anaruiz")));
+    }
+
+    @Test
+    void rejectsUsernamesThatRewriteTheUpstreamUrl() {
+        ProfileService service = new TestProfileService(wireMockServer.baseUrl());
+
+        for (String username : List.of("../x", "a?b=", "a#", "a%2F", "a b", "..")) {
+            assertThrows(IllegalArgumentException.class, () -> service.getPersonDetails(username), username);
+        }
+        assertThrows(IllegalArgumentException.class, () -> service.getPersonDetails(" "));
+        assertEquals(0, wireMockServer.getAllServeEvents().size());
+    }
+
+    @Test
+    void concurrentMissesShareOneFetch() {
+        wireMockServer.stubFor(get(urlEqualTo("/api/genome/bios/ana-ruiz"))
+            .willReturn(aResponse()
+                .withStatus(200)
+                .withFixedDelay(300)
+                .withBody("{\"person\":{\"name\":\"Ana\"}}")));
+
+        ProfileService service = new TestProfileService(wireMockServer.baseUrl());
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            CompletableFuture<PersonDetailsResponse> first = CompletableFuture.supplyAsync(
+                () -> service.getPersonDetails("ana-ruiz"), executor);
+            CompletableFuture<PersonDetailsResponse> second = CompletableFuture.supplyAsync(
+                () -> service.getPersonDetails("ana-ruiz"), executor);
+
+            assertSame(first.join(), second.join());
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(1, service.getCacheSize());
+        wireMockServer.verify(1, getRequestedFor(urlEqualTo("/api/genome/bios/ana-ruiz")));
+    }
+
+    @Test
+    void staleWhileRevalidate() throws Exception {
+        wireMockServer.stubFor(get(urlEqualTo("/api/genome/bios/ana-ruiz"))
+            .willReturn(aResponse()
+                .withStatus(200)
+                .withBody("{\"person\":{\"name\":\"Ana\"}}")));
+
+        ProfileCacheProperties properties = new ProfileCacheProperties();
+        properties.setTtl(Duration.ofMillis(50));
+        List<Runnable> pendingRefreshes = new ArrayList<>();
+        ProfileService service = new TestProfileService(wireMockServer.baseUrl(), properties, pendingRefreshes::add);
+
+        assertEquals("Ana", service.getPersonDetails("ana-ruiz").getPerson().getName());
+
+        wireMockServer.stubFor(get(urlEqualTo("/api/genome/bios/ana-ruiz"))
+            .willReturn(aResponse()
+                .withStatus(200)
+                .withBody("{\"person\":{\"name\":\"Ana Ruiz\"}}")));
+        Thread.sleep(100);
+
+        assertEquals("Ana", service.getPersonDetails("ana-ruiz").getPerson().getName());
+        wireMockServer.verify(1, getRequestedFor(urlEqualTo("/api/genome/bios/ana-ruiz")));
+
+        new ArrayList<>(pendingRefreshes).forEach(Runnable::run);
+
+        assertEquals("Ana Ruiz", service.getPersonDetails("ana-ruiz").getPerson().getName());
+        wireMockServer.verify(2, getRequestedFor(urlEqualTo("/api/genome/bios/ana-ruiz")));
+    }
+
+    @Test
+    void missingUsernameAnsweredLocally() {
+        wireMockServer.stubFor(get(urlEqualTo("/api/genome/bios/missing"))
+            .willReturn(aResponse().withStatus(404).withBody("not found")));
+
+        ProfileService service = new TestProfileService(wireMockServer.baseUrl());
+
+        assertThrows(ResourceNotFoundException.class, () -> service.getPersonDetails("missing"));
+        ResourceNotFoundException repeated = assertThrows(
+            ResourceNotFoundException.class,
+            () -> service.getPersonDetails("Missing")
+        );
+
+        assertEquals("Torre.ai profile API returned status 404 for username 'missing': not found", repeated.getMessage());
+        assertEquals(1, service.getNegativeCacheStats().hitCount());
+        wireMockServer.verify(1, getRequestedFor(urlEqualTo("/api/genome/bios/missing")));
+    }
+
+    @Test
+    void missingUsernameExpires() throws Exception {
+        wireMockServer.stubFor(get(urlEqualTo("/api/genome/bios/missing"))
+            .willReturn(aResponse().withStatus(404).withBody("not found")));
+
+        ProfileCacheProperties properties = new ProfileCacheProperties();
+        properties.setNegativeTtl(Duration.ofMillis(50));
+        ProfileService service = new TestProfileService(wireMockServer.baseUrl(), properties, Runnable::run);
+
+        assertThrows(ResourceNotFoundException.class, () -> service.getPersonDetails("missing"));
+        Thread.sleep(100);
+        assertThrows(ResourceNotFoundException.class, () -> service.getPersonDetails("missing"));
+
+        wireMockServer.verify(2, getRequestedFor(urlEqualTo("/api/genome/bios/missing")));
+    }
+
+    @Test
+    void cacheMetrics() {
+        wireMockServer.stubFor(get(urlEqualTo("/api/genome/bios/ana-ruiz"))
+            .willReturn(aResponse()
+                .withStatus(200)
+                .withBody("{\"person\":{\"name\":\"Ana\"}}")));
+        wireMockServer.stubFor(get(urlEqualTo("/api/genome/bios/missing"))
+            .willReturn(aResponse().withStatus(404).withBody("not found")));
+
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        ProfileService service = new TestProfileService(wireMockServer.baseUrl(), new ProfileCacheProperties(), Runnable::run, registry);
+        service.getPersonDetails("ana-ruiz");
+        service.getPersonDetails("ana-ruiz");
+        assertThrows(ResourceNotFoundException.class, () -> service.getPersonDetails("missing"));
+        assertThrows(ResourceNotFoundException.class, () -> service.getPersonDetails("missing"));
+
+        assertEquals(1, registry.get("cache.gets").tag("cache", "profile.details").tag("result", "hit")
+            .functionCounter().count());
+        assertEquals(1, registry.get("cache.gets").tag("cache", "profile.missing").tag("result", "hit")
+            .functionCounter().count());
+    }
+
+    @Test
+    void cacheDisabled() {
+        wireMockServer.stubFor(get(urlEqualTo("/api/genome/bios/ana-ruiz"))
+            .willReturn(aResponse()
+                .withStatus(200)
+                .withBody("{\"person\":{\"name\":\"Ana\"}}")));
+
+        ProfileCacheProperties properties = new ProfileCacheProperties();
+        properties.setEnabled(false);
+        properties.setNegativeEnabled(false);
+        ProfileService service = new TestProfileService(wireMockServer.baseUrl(), properties, Runnable::run);
+
+        service.getPersonDetails("ana-ruiz");
+        service.getPersonDetails("ana-ruiz");
+
+        assertEquals(0, service.getCacheSize());
+        wireMockServer.verify(2, getRequestedFor(urlEqualTo("/api/genome/bios/ana-ruiz")));
+    }
+
     private static final class TestProfileService extends ProfileService {
         private final String baseUrl;
 
@@ -168,6 +359,16 @@ class ProfileServiceTest {
             this.baseUrl = baseUrl;
         }
 
+        private TestProfileService(String baseUrl, ProfileCacheProperties properties, Executor refreshExecutor) {
+            this(baseUrl, properties, refreshExecutor, new SimpleMeterRegistry());
+        }
+
+        private TestProfileService(String baseUrl, ProfileCacheProperties properties, Executor refreshExecutor,
+                                   MeterRegistry meterRegistry) {
+            super(new TorreGateway(), new TorreApiProperties(), properties, refreshExecutor, meterRegistry);
+            this.baseUrl = baseUrl;
+        }
+
         @Override
         protected String getProfileBaseUrl() {
             return baseUrl + "/api/genome/bios/";
@@ -1,5 +1,9 @@
 package com.torre.techtest.feature.search;
 
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+
 import org.junit.jupiter.api.Test;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.verify;
@@ -11,6 +15,7 @@ import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -140,4 +145,34 @@ class AnalysisControllerTest {
             .andExpect(jsonPath("$.distribution[1].level").value("intermediate"))
             .andExpect(jsonPath("$.distribution[2].level").value("expert"));
     }
+
+    @Test
+    void batchAnalysis() throws Exception {
+        SkillAnalysisResult java = new SkillAnalysisResult("java");
+        java.setCompensation(new SkillCompensationResponse("java"));
+        SkillAnalysisResult rust = new SkillAnalysisResult("rust");
+        rust.setErrors(Map.of("compensation", "downstream failure"));
+
+        when(analysisService.analyzeSkills(eq(List.of("java", "rust")), eq(EnumSet.of(SkillAnalysisType.COMPENSATION))))
+            .thenReturn(new SkillAnalysisBatchResponse(List.of(java, rust)));
+
+        mockMvc.perform(post("/api/analyze/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"skills\":[\"java\",\"rust\"],\"types\":[\"Compensation\"]}"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.results[0].compensation.skill").value("java"))
+            .andExpect(jsonPath("$.results[0].errors").doesNotExist())
+            .andExpect(jsonPath("$.results[1].errors.compensation").value("downstream failure"));
+
+        verify(analysisService).analyzeSkills(List.of("java", "rust"), EnumSet.of(SkillAnalysisType.COMPENSATION));
+    }
+
+    @Test
+    void batchAnalysisUnknownType() throws Exception {
+        mockMvc.perform(post("/api/analyze/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"skills\":[\"java\"],\"types\":[\"salary\"]}"))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.message").value("Unknown analysis type: salary. Expected compensation or distribution."));
+    }
 }
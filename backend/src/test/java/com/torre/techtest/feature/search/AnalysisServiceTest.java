@@ -1,22 +1,42 @@
 package com.torre.techtest.feature.search;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
-import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.RegisterExtension;
 
 import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
 import static com.github.tomakehurst.wiremock.client.WireMock.post;
+import static com.github.tomakehurst.wiremock.client.WireMock.postRequestedFor;
 import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo;
 import com.github.tomakehurst.wiremock.core.WireMockConfiguration;
 import com.github.tomakehurst.wiremock.junit5.WireMockExtension;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.torre.techtest.exception.ExternalServiceException;
+import com.torre.techtest.gateway.RateLimitProperties;
+import com.torre.techtest.gateway.TorreApiProperties;
+import com.torre.techtest.gateway.TorreGateway;
+import com.torre.techtest.gateway.TorreGatewayProperties;
+import com.torre.techtest.gateway.UpstreamRateLimiter;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 
 class AnalysisServiceTest {
 
@@ -47,6 +67,23 @@ class AnalysisServiceTest {
         assertEquals(10, response.getDataPoints());
     }
 
+    @Test
+    void compensationSkipsUnusedFields() {
+        wireMockServer.stubFor(post(urlEqualTo("/people/_analyze"))
+            .willReturn(aResponse()
+                .withStatus(200)
+                .withBody("{\"total\":7,\"aggregators\":{\"skill\":[{\"value\":\"java\",\"total\":99}]},"
+                    + "\"result\":{\"meta\":{\"mean\":1},\"compensation\":{\"mean\":\"10\",\"histogram\":[1,2,3],\"max\":null}}}")));
+
+        AnalysisService service = new TestAnalysisService(wireMockServer.baseUrl());
+        SkillCompensationResponse response = service.analyzeSkillCompensation("java");
+
+        assertEquals(20000.0, response.getAverageCompensation());
+        assertEquals(0.0, response.getMaxCompensation());
+        assertEquals("USD", response.getCurrency());
+        assertEquals(7, response.getDataPoints());
+    }
+
     @Test
     void distribution() {
         wireMockServer.stubFor(post(urlEqualTo("/people/_search"))
@@ -143,7 +180,6 @@ class AnalysisServiceTest {
 
         assertEquals("https://search.torre.co/people/_analyze", service.getAnalyzeApiUrl());
         assertEquals("https://search.torre.co/people/_search", service.getSearchApiUrl());
-        assertDoesNotThrow(() -> service.pause(0));
     }
 
     @Test
@@ -166,7 +202,7 @@ class AnalysisServiceTest {
         AnalysisService service = new AnalysisService();
         Method parseCompensationResponse = AnalysisService.class.getDeclaredMethod(
             "parseCompensationResponse",
-            String.class,
+            InputStream.class,
             String.class
         );
         parseCompensationResponse.setAccessible(true);
@@ -175,7 +211,7 @@ class AnalysisServiceTest {
             ExternalServiceException.class,
             () -> {
                 try {
-                    parseCompensationResponse.invoke(service, "{ invalid", "java");
+                    parseCompensationResponse.invoke(service, new ByteArrayInputStream("{ invalid".getBytes(StandardCharsets.UTF_8)), "java");
                 } catch (InvocationTargetException e) {
                     throw (ExternalServiceException) e.getCause();
                 }
@@ -234,6 +270,279 @@ class AnalysisServiceTest {
         assertEquals("golang", extractBaseSkill.invoke(service, "golang"));
     }
 
+    @Test
+    void parallelDistribution() {
+        wireMockServer.stubFor(post(urlEqualTo("/people/_search"))
+            .willReturn(aResponse()
+                .withStatus(200)
+                .withFixedDelay(400)
+                .withBody("{\"results\":[{\"name\":\"Ana Ruiz\",\"professionalHeadline\":\"Senior Java Developer Expert\",\"weight\":1.5,\"completion\":0.9}]}")));
+
+        ExecutorService executor = Executors.newFixedThreadPool(5);
+        try {
+            AnalysisProperties properties = new AnalysisProperties();
+            AnalysisService service = new TestAnalysisService(wireMockServer.baseUrl(), properties, executor);
+
+            long start = System.nanoTime();
+            SkillDistributionResponse response = service.getSkillProficiencyDistribution("java");
+            long elapsedMillis = Duration.ofNanos(System.nanoTime() - start).toMillis();
+
+            assertEquals(5, response.getTotalProfiles());
+            assertEquals(5, response.getDistribution().get(0).getCount());
+            assertTrue(elapsedMillis < 5 * 400, "searches should overlap, took " + elapsedMillis + " ms");
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void distributionDeadline() {
+        wireMockServer.stubFor(post(urlEqualTo("/people/_search"))
+            .willReturn(aResponse()
+                .withStatus(200)
+                .withFixedDelay(3000)
+                .withBody("{\"results\":[{\"name\":\"Ana Ruiz\",\"professionalHeadline\":\"Java Developer\"}]}")));
+
+        ExecutorService executor = Executors.newFixedThreadPool(5);
+        try {
+            AnalysisProperties properties = new AnalysisProperties();
+            properties.setDistributionTimeout(Duration.ofMillis(200));
+            AnalysisService service = new TestAnalysisService(wireMockServer.baseUrl(), properties, executor);
+
+            SkillDistributionResponse response = service.getSkillProficiencyDistribution("java");
+
+            assertEquals(0, response.getTotalProfiles());
+            assertTrue(response.getDistribution().isEmpty());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void coalescedCompensation() throws Exception {
+        wireMockServer.stubFor(post(urlEqualTo("/people/_analyze"))
+            .willReturn(aResponse()
+                .withStatus(200)
+                .withFixedDelay(500)
+                .withBody("{\"total\":10,\"result\":{\"compensation\":{\"mean\":10}}}")));
+
+        AnalysisService service = new TestAnalysisService(wireMockServer.baseUrl());
+        ExecutorService callers = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<SkillCompensationResponse>> responses = List.of(
+                callers.submit(() -> service.analyzeSkillCompensation("java")),
+                callers.submit(() -> service.analyzeSkillCompensation("java")),
+                callers.submit(() -> service.analyzeSkillCompensation(" Java ")),
+                callers.submit(() -> service.analyzeSkillCompensation("java"))
+            );
+            for (Future<SkillCompensationResponse> response : responses) {
+                assertEquals(20000.0, response.get(5, TimeUnit.SECONDS).getAverageCompensation());
+            }
+        } finally {
+            callers.shutdownNow();
+        }
+
+        wireMockServer.verify(1, postRequestedFor(urlEqualTo("/people/_analyze")));
+    }
+
+    @Test
+    void cachedCompensation() {
+        wireMockServer.stubFor(post(urlEqualTo("/people/_analyze"))
+            .willReturn(aResponse()
+                .withStatus(200)
+                .withBody("{\"total\":10,\"result\":{\"compensation\":{\"mean\":10}}}")));
+
+        AnalysisService service = new TestAnalysisService(wireMockServer.baseUrl());
+        service.analyzeSkillCompensation("java");
+        SkillCompensationResponse cached = service.analyzeSkillCompensation(" JAVA ");
+
+        assertEquals(20000.0, cached.getAverageCompensation());
+        assertEquals(1, service.getCompensationCacheStats().hitCount());
+        wireMockServer.verify(1, postRequestedFor(urlEqualTo("/people/_analyze")));
+    }
+
+    @Test
+    void refreshesFrequentlyRequestedCompensation() {
+        wireMockServer.stubFor(post(urlEqualTo("/people/_analyze"))
+            .willReturn(aResponse()
+                .withStatus(200)
+                .withBody("{\"total\":10,\"result\":{\"compensation\":{\"mean\":10}}}")));
+
+        CompensationCacheProperties cacheProperties = new CompensationCacheProperties();
+        cacheProperties.setRefreshAfter(Duration.ZERO);
+        cacheProperties.setRefreshMinHits(2);
+        AnalysisService service = new TestAnalysisService(wireMockServer.baseUrl(), cacheProperties);
+        service.analyzeSkillCompensation("java");
+        service.analyzeSkillCompensation("java");
+        service.analyzeSkillCompensation("python");
+
+        assertEquals(1, service.refreshCompensationCache());
+        assertEquals(0, service.refreshCompensationCache(), "hits are counted again from the refresh");
+
+        cacheProperties.setRefreshBudget(0);
+        service.analyzeSkillCompensation("java");
+        service.analyzeSkillCompensation("java");
+        assertEquals(0, service.refreshCompensationCache());
+        wireMockServer.verify(3, postRequestedFor(urlEqualTo("/people/_analyze")));
+    }
+
+    @Test
+    void servesPopularDistributionsFromStore() {
+        wireMockServer.stubFor(post(urlEqualTo("/people/_search"))
+            .willReturn(aResponse()
+                .withStatus(200)
+                .withBody("{\"results\":[{\"name\":\"Ana Ruiz\",\"professionalHeadline\":\"Senior Java Developer Expert\",\"weight\":1.5,\"completion\":0.9}]}")));
+
+        DistributionStoreProperties storeProperties = new DistributionStoreProperties();
+        storeProperties.setMinRequests(2);
+        AnalysisService service = new TestAnalysisService(wireMockServer.baseUrl(), storeProperties);
+        service.getSkillProficiencyDistribution("java");
+        service.getSkillProficiencyDistribution("Java");
+        service.getSkillProficiencyDistribution("rust");
+        wireMockServer.verify(15, postRequestedFor(urlEqualTo("/people/_search")));
+
+        assertEquals(1, service.refreshDistributionStore());
+        assertEquals(1, service.getMaterializedDistributionCount());
+        wireMockServer.verify(20, postRequestedFor(urlEqualTo("/people/_search")));
+
+        SkillDistributionResponse materialized = service.getSkillProficiencyDistribution(" JAVA ");
+        assertEquals(5, materialized.getTotalProfiles());
+        wireMockServer.verify(20, postRequestedFor(urlEqualTo("/people/_search")));
+
+        service.getSkillProficiencyDistribution("rust");
+        wireMockServer.verify(25, postRequestedFor(urlEqualTo("/people/_search")));
+    }
+
+    @Test
+    void batchAnalysis() {
+        wireMockServer.stubFor(post(urlEqualTo("/people/_analyze"))
+            .willReturn(aResponse()
+                .withStatus(200)
+                .withBody("{\"total\":10,\"result\":{\"compensation\":{\"mean\":10}}}")));
+        wireMockServer.stubFor(post(urlEqualTo("/people/_search"))
+            .willReturn(aResponse()
+                .withStatus(200)
+                .withBody("{\"results\":[{\"name\":\"Ana Ruiz\",\"professionalHeadline\":\"Senior Java Developer Expert\",\"weight\":1.5,\"completion\":0.9}]}")));
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            AnalysisService service = new TestAnalysisService(wireMockServer.baseUrl(), new AnalysisProperties(), executor);
+            SkillAnalysisBatchResponse response = service.analyzeSkills(List.of("java", " Java ", "python"),
+                EnumSet.allOf(SkillAnalysisType.class));
+
+            assertEquals(List.of("java", "python"), response.getResults().stream().map(SkillAnalysisResult::getSkill).toList());
+            for (SkillAnalysisResult result : response.getResults()) {
+                assertEquals(20000.0, result.getCompensation().getAverageCompensation());
+                assertEquals(5, result.getDistribution().getTotalProfiles());
+                assertTrue(result.getErrors().isEmpty());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        wireMockServer.verify(2, postRequestedFor(urlEqualTo("/people/_analyze")));
+        wireMockServer.verify(10, postRequestedFor(urlEqualTo("/people/_search")));
+    }
+
+    @Test
+    void concurrentBatchesDoNotStarveTheirSearches() throws Exception {
+        wireMockServer.stubFor(post(urlEqualTo("/people/_search"))
+            .willReturn(aResponse()
+                .withStatus(200)
+                .withFixedDelay(20)
+                .withBody("{\"results\":[{\"name\":\"Ana Ruiz\",\"professionalHeadline\":\"Senior Java Developer Expert\",\"weight\":1.5,\"completion\":0.9}]}")));
+
+        AnalysisProperties properties = new AnalysisProperties();
+        properties.setDistributionTimeout(Duration.ofSeconds(3));
+        ExecutorService upstream = Executors.newFixedThreadPool(8);
+        ExecutorService batch = Executors.newFixedThreadPool(8);
+        ExecutorService callers = Executors.newFixedThreadPool(2);
+        try {
+            AnalysisService service = new TestAnalysisService(wireMockServer.baseUrl(), properties, upstream, batch);
+            Set<SkillAnalysisType> distribution = EnumSet.of(SkillAnalysisType.DISTRIBUTION);
+            Future<SkillAnalysisBatchResponse> first = callers.submit(
+                () -> service.analyzeSkills(List.of("java", "python", "go", "rust"), distribution));
+            Future<SkillAnalysisBatchResponse> second = callers.submit(
+                () -> service.analyzeSkills(List.of("kotlin", "scala", "ruby", "elixir"), distribution));
+
+            for (Future<SkillAnalysisBatchResponse> response : List.of(first, second)) {
+                for (SkillAnalysisResult result : response.get(10, TimeUnit.SECONDS).getResults()) {
+                    assertEquals(5, result.getDistribution().getTotalProfiles(), result.getSkill());
+                }
+            }
+        } finally {
+            callers.shutdownNow();
+            batch.shutdownNow();
+            upstream.shutdownNow();
+        }
+    }
+
+    @Test
+    void batchAnalysisReportsFailuresPerAnalysis() {
+        wireMockServer.stubFor(post(urlEqualTo("/people/_analyze"))
+            .willReturn(aResponse().withStatus(503).withBody("service unavailable")));
+
+        AnalysisService service = new TestAnalysisService(wireMockServer.baseUrl());
+        SkillAnalysisBatchResponse response = service.analyzeSkills(List.of("java"), Set.of(SkillAnalysisType.COMPENSATION));
+
+        SkillAnalysisResult result = response.getResults().get(0);
+        assertNull(result.getCompensation());
+        assertNull(result.getDistribution());
+        assertTrue(result.getErrors().get("compensation").contains("Unable to analyze skill compensation"));
+        wireMockServer.verify(0, postRequestedFor(urlEqualTo("/people/_search")));
+    }
+
+    @Test
+    void batchAnalysisRejectsOversizedBatch() {
+        AnalysisProperties properties = new AnalysisProperties();
+        properties.setBatchMaxSkills(2);
+        AnalysisService service = new TestAnalysisService(wireMockServer.baseUrl(), properties, Runnable::run);
+
+        assertThrows(IllegalArgumentException.class,
+            () -> service.analyzeSkills(List.of("java", "python", "go"), EnumSet.allOf(SkillAnalysisType.class)));
+        assertThrows(IllegalArgumentException.class,
+            () -> service.analyzeSkills(List.of("java", " "), EnumSet.allOf(SkillAnalysisType.class)));
+        assertThrows(IllegalArgumentException.class,
+            () -> service.analyzeSkills(List.of("java"), EnumSet.noneOf(SkillAnalysisType.class)));
+    }
+
+    @Test
+    void keepsMaterializedDistributionWhenRefreshDegrades() {
+        wireMockServer.stubFor(post(urlEqualTo("/people/_search"))
+            .willReturn(aResponse()
+                .withStatus(200)
+                .withBody("{\"results\":[{\"name\":\"Ana Ruiz\",\"professionalHeadline\":\"Senior Java Developer Expert\",\"weight\":1.5,\"completion\":0.9}]}")));
+
+        DistributionStoreProperties storeProperties = new DistributionStoreProperties();
+        storeProperties.setMinRequests(1);
+        AnalysisService service = new TestAnalysisService(wireMockServer.baseUrl(), storeProperties);
+        service.getSkillProficiencyDistribution("java");
+        assertEquals(1, service.refreshDistributionStore());
+
+        wireMockServer.stubFor(post(urlEqualTo("/people/_search"))
+            .willReturn(aResponse().withStatus(503).withBody("service unavailable")));
+
+        assertEquals(0, service.refreshDistributionStore());
+        assertEquals(1, service.getMaterializedDistributionCount());
+        assertEquals(5, service.getSkillProficiencyDistribution("java").getTotalProfiles());
+    }
+
+    @Test
+    void countMinSketchNeverUndercounts() {
+        CountMinSketch sketch = new CountMinSketch(4, 64);
+        for (int i = 0; i < 500; i++) {
+            sketch.add("skill-" + (i % 50));
+        }
+        for (int i = 0; i < 10; i++) {
+            sketch.add("java");
+        }
+
+        assertTrue(sketch.estimate("java") >= 10);
+        assertTrue(sketch.estimate("skill-7") >= 10);
+        sketch.halve();
+        assertTrue(sketch.estimate("java") >= 5);
+    }
+
     private static final class TestAnalysisService extends AnalysisService {
         private final String baseUrl;
 
@@ -241,6 +550,35 @@ class AnalysisServiceTest {
             this.baseUrl = baseUrl;
         }
 
+        private TestAnalysisService(String baseUrl, AnalysisProperties properties, Executor executor) {
+            super(new TorreGateway(), new TorreApiProperties(), properties, executor);
+            this.baseUrl = baseUrl;
+        }
+
+        private TestAnalysisService(String baseUrl, AnalysisProperties properties, Executor executor, Executor batchExecutor) {
+            super(unlimitedGateway(), new TorreApiProperties(), properties, new CompensationCacheProperties(),
+                new DistributionStoreProperties(), executor, batchExecutor);
+            this.baseUrl = baseUrl;
+        }
+
+        private TestAnalysisService(String baseUrl, DistributionStoreProperties storeProperties) {
+            super(new TorreGateway(), new TorreApiProperties(), new AnalysisProperties(), new CompensationCacheProperties(),
+                storeProperties, Runnable::run);
+            this.baseUrl = baseUrl;
+        }
+
+        private TestAnalysisService(String baseUrl, CompensationCacheProperties cacheProperties) {
+            super(new TorreGateway(), new TorreApiProperties(), new AnalysisProperties(), cacheProperties,
+                new DistributionStoreProperties(), Runnable::run);
+            this.baseUrl = baseUrl;
+        }
+
+        private static TorreGateway unlimitedGateway() {
+            RateLimitProperties rateLimit = new RateLimitProperties();
+            rateLimit.setEnabled(false);
+            return new TorreGateway(new TorreGatewayProperties(), new UpstreamRateLimiter(rateLimit), new SimpleMeterRegistry());
+        }
+
         @Override
         protected String getAnalyzeApiUrl() {
             return baseUrl + "/people/_analyze";
@@ -250,9 +588,5 @@ class AnalysisServiceTest {
         protected String getSearchApiUrl() {
             return baseUrl + "/people/_search";
         }
-
-        @Override
-        protected void pause(long millis) {
-        }
     }
 }
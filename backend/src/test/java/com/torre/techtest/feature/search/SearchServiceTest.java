@@ -1,17 +1,31 @@
 package com.torre.techtest.feature.search;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.RegisterExtension;
 
 import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.equalTo;
+import static com.github.tomakehurst.wiremock.client.WireMock.matchingJsonPath;
 import static com.github.tomakehurst.wiremock.client.WireMock.post;
+import static com.github.tomakehurst.wiremock.client.WireMock.postRequestedFor;
 import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo;
 import com.github.tomakehurst.wiremock.core.WireMockConfiguration;
 import com.github.tomakehurst.wiremock.junit5.WireMockExtension;
 import com.torre.techtest.exception.ExternalServiceException;
+import com.torre.techtest.gateway.TorreApiProperties;
+import com.torre.techtest.gateway.TorreGateway;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 
 class SearchServiceTest {
 
@@ -36,6 +50,20 @@ class SearchServiceTest {
         assertEquals("gg-2", response.getResults().get(1).getUsername());
     }
 
+    @Test
+    void configuredUrl() {
+        wireMockServer.stubFor(post(urlEqualTo("/sim/_searchStream"))
+            .willReturn(aResponse()
+                .withStatus(200)
+                .withBody("{\"ggId\":\"gg-1\",\"name\":\"Ana\"}\n")));
+
+        TorreApiProperties apiProperties = new TorreApiProperties();
+        apiProperties.setSearchStreamUrl(wireMockServer.baseUrl() + "/sim/_searchStream");
+        SearchService service = new SearchService(new TorreGateway(), apiProperties, new SimpleMeterRegistry());
+
+        assertEquals(1, service.searchPeople(new SearchRequest("java", 30)).getResults().size());
+    }
+
     @Test
     void error500() {
         wireMockServer.stubFor(post(urlEqualTo("/api/entities/_searchStream"))
@@ -164,6 +192,141 @@ class SearchServiceTest {
         assertEquals("Ana Ruiz", response.getResults().get(0).getName());
     }
 
+    @Test
+    void streamPeople() {
+        wireMockServer.stubFor(post(urlEqualTo("/api/entities/_searchStream"))
+            .willReturn(aResponse()
+                .withStatus(200)
+                .withBody("{\"ggId\":\"gg-1\",\"name\":\"Ana &amp; Ruiz\"}\nnot-json\n{\"ggId\":\"gg-2\",\"name\":\"Luis\"}\n")));
+
+        SearchService service = new TestSearchService(wireMockServer.baseUrl());
+        List<String> names = new ArrayList<>();
+        int delivered = service.streamPeople(new SearchRequest("java", 30), person -> names.add(person.getName()));
+
+        assertEquals(2, delivered);
+        assertEquals(List.of("Ana & Ruiz", "Luis"), names);
+    }
+
+    @Test
+    void pagesFromResultWindow() {
+        wireMockServer.stubFor(post(urlEqualTo("/api/entities/_searchStream"))
+            .atPriority(5)
+            .willReturn(aResponse()
+                .withStatus(200)
+                .withBody("{\"ggId\":\"gg-1\",\"name\":\"Ana\"}\n{\"ggId\":\"gg-2\",\"name\":\"Luis\"}\n")));
+        wireMockServer.stubFor(post(urlEqualTo("/api/entities/_searchStream"))
+            .atPriority(1)
+            .withRequestBody(matchingJsonPath("$.excludedPeople[?(@ == 'gg-1')]"))
+            .willReturn(aResponse()
+                .withStatus(200)
+                .withBody("{\"ggId\":\"gg-3\",\"name\":\"Marta\"}\n{\"ggId\":\"gg-4\",\"name\":\"Pablo\"}\n")));
+
+        SearchPaginationProperties pagination = new SearchPaginationProperties();
+        pagination.setWindowSize(2);
+        SearchService service = new TestSearchService(wireMockServer.baseUrl(), pagination);
+        SearchRequest request = new SearchRequest("java", 100);
+
+        SearchResponse first = service.searchPeoplePage(request, 1, 2, null);
+        assertEquals(List.of("Ana", "Luis"), first.getResults().stream().map(SearchResponse.PersonResult::getName).toList());
+        assertTrue(first.getHasMore());
+        String cursor = first.getCursor();
+
+        assertEquals("Ana", service.searchPeoplePage(request, 1, 2, cursor).getResults().get(0).getName());
+        SearchResponse respaced = service.searchPeoplePage(new SearchRequest("  Java ", 100), 1, 2, cursor);
+        assertEquals(cursor, respaced.getCursor());
+        wireMockServer.verify(1, postRequestedFor(urlEqualTo("/api/entities/_searchStream")));
+
+        SearchResponse second = service.searchPeoplePage(request, 2, 2, cursor);
+        assertEquals(List.of("Marta", "Pablo"), second.getResults().stream().map(SearchResponse.PersonResult::getName).toList());
+        assertEquals(cursor, second.getCursor());
+        assertEquals(4, second.getPagination().getTotalResults());
+        assertEquals(2, second.getPagination().getTotal());
+
+        SearchResponse third = service.searchPeoplePage(request, 3, 2, cursor);
+        assertTrue(third.getResults().isEmpty());
+        assertFalse(third.getHasMore());
+        wireMockServer.verify(3, postRequestedFor(urlEqualTo("/api/entities/_searchStream")));
+
+        SearchResponse otherQuery = service.searchPeoplePage(new SearchRequest("python", 100), 1, 2, cursor);
+        assertFalse(cursor.equals(otherQuery.getCursor()));
+    }
+
+    @Test
+    void capsWindowChunksAtMaxChunkSize() {
+        wireMockServer.stubFor(post(urlEqualTo("/api/entities/_searchStream"))
+            .willReturn(aResponse()
+                .withStatus(200)
+                .withBody("{\"ggId\":\"gg-1\",\"name\":\"Ana\"}\n")));
+
+        SearchPaginationProperties pagination = new SearchPaginationProperties();
+        pagination.setMaxChunkSize(5);
+        SearchService service = new TestSearchService(wireMockServer.baseUrl(), pagination);
+
+        service.searchPeoplePage(new SearchRequest("java", 100), 1, 20, null);
+
+        wireMockServer.verify(1, postRequestedFor(urlEqualTo("/api/entities/_searchStream"))
+            .withRequestBody(matchingJsonPath("$.limit", equalTo("5"))));
+    }
+
+    @Test
+    void cachesNormalizedSearches() {
+        wireMockServer.stubFor(post(urlEqualTo("/api/entities/_searchStream"))
+            .willReturn(aResponse()
+                .withStatus(200)
+                .withBody("{\"ggId\":\"gg-1\",\"name\":\"Ana\"}\n{\"ggId\":\"gg-2\",\"name\":\"Luis\"}\n")));
+
+        SearchService service = new TestSearchService(wireMockServer.baseUrl());
+        SearchRequest first = new SearchRequest("Java Developer", 30);
+        first.setExcludedPeople(new ArrayList<>(List.of("gg-9", "gg-5")));
+        SearchRequest second = new SearchRequest("  java   developer ", 30);
+        second.setExcludedPeople(new ArrayList<>(List.of("gg-5", "gg-9")));
+
+        assertEquals(2, service.searchPeople(first).getResults().size());
+        assertEquals(2, service.searchPeople(second).getResults().size());
+        List<String> streamed = new ArrayList<>();
+        assertEquals(2, service.streamPeople(second, person -> streamed.add(person.getId())));
+
+        assertEquals(List.of("gg-1", "gg-2"), streamed);
+        assertEquals(2, service.getCacheStats().hitCount());
+        wireMockServer.verify(1, postRequestedFor(urlEqualTo("/api/entities/_searchStream")));
+
+        service.searchPeople(new SearchRequest("java developer", 50));
+        wireMockServer.verify(2, postRequestedFor(urlEqualTo("/api/entities/_searchStream")));
+    }
+
+    @Test
+    void concurrentMissesShareOneSearch() {
+        wireMockServer.stubFor(post(urlEqualTo("/api/entities/_searchStream"))
+            .willReturn(aResponse()
+                .withStatus(200)
+                .withFixedDelay(300)
+                .withBody("{\"ggId\":\"gg-1\",\"name\":\"Ana\"}\n")));
+
+        SearchService service = new TestSearchService(wireMockServer.baseUrl());
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            CompletableFuture<SearchResponse> first = CompletableFuture.supplyAsync(
+                () -> service.searchPeople(new SearchRequest("java", 20)), executor);
+            CompletableFuture<SearchResponse> second = CompletableFuture.supplyAsync(
+                () -> service.searchPeople(new SearchRequest("Java", 20)), executor);
+
+            assertEquals(1, first.join().getResults().size());
+            assertEquals(1, second.join().getResults().size());
+        } finally {
+            executor.shutdownNow();
+        }
+
+        wireMockServer.verify(1, postRequestedFor(urlEqualTo("/api/entities/_searchStream")));
+    }
+
+    @Test
+    void rejectsInvalidPage() {
+        SearchService service = new TestSearchService(wireMockServer.baseUrl());
+
+        assertThrows(IllegalArgumentException.class, () -> service.searchPeoplePage(new SearchRequest("java"), 0, 20, null));
+        assertThrows(IllegalArgumentException.class, () -> service.searchPeoplePage(new SearchRequest("java"), 1, 500, null));
+    }
+
     private static final class TestSearchService extends SearchService {
         private final String baseUrl;
 
@@ -171,6 +334,12 @@ class SearchServiceTest {
             this.baseUrl = baseUrl;
         }
 
+        private TestSearchService(String baseUrl, SearchPaginationProperties paginationProperties) {
+            super(new TorreGateway(), new TorreApiProperties(), paginationProperties, new SearchCacheProperties(),
+                new SimpleMeterRegistry());
+            this.baseUrl = baseUrl;
+        }
+
         @Override
         protected String getSearchApiUrl() {
             return baseUrl + "/api/entities/_searchStream";
@@ -0,0 +1,112 @@
+package com.torre.techtest.feature.search;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.core.JsonFactory;
+
+class SearchStreamParserTest {
+
+    private final SearchStreamParser parser = new SearchStreamParser(new JsonFactory());
+
+    @Test
+    void extractsPersonFields() throws IOException {
+        List<SearchResponse.PersonResult> results = parse(
+            "{\"ggId\":\"gg-1\",\"name\":\"Ana &amp; Ruiz\",\"professionalHeadline\":\"Dev &lt;3\",\"imageUrl\":\"https://img.local/a.png\",\"username\":\"ana\"}\n");
+
+        assertEquals(1, results.size());
+        SearchResponse.PersonResult person = results.get(0);
+        assertEquals("gg-1", person.getId());
+        assertEquals("Ana & Ruiz", person.getName());
+        assertEquals("Dev <3", person.getProfessionalHeadline());
+        assertEquals("https://img.local/a.png", person.getPicture());
+        assertEquals("ana", person.getUsername());
+    }
+
+    @Test
+    void skipsNestedSubtrees() throws IOException {
+        List<SearchResponse.PersonResult> results = parse(
+            "{\"meta\":{\"ggId\":\"nested\",\"name\":\"Nested\"},\"skills\":[{\"name\":\"Java\"}],\"ggId\":\"gg-1\",\"weight\":1.5,\"name\":\"Ana\"}\n");
+
+        assertEquals(1, results.size());
+        assertEquals("gg-1", results.get(0).getId());
+        assertEquals("Ana", results.get(0).getName());
+        assertEquals("gg-1", results.get(0).getUsername());
+    }
+
+    @Test
+    void skipsMalformedAndNonPersonLines() throws IOException {
+        List<SearchResponse.PersonResult> results = parse(
+            "{\"ggId\":\"gg-1\",\"name\":\"Ana\"}\r\n\n   \n[1,2]\n{\"name\":\"No id\"}\n{\"ggId\":\"gg-3\",\"name\":\n{\"ggId\":\"gg-2\",\"name\":\"Luis\"}");
+
+        assertEquals(2, results.size());
+        assertEquals("Ana", results.get(0).getName());
+        assertEquals("Luis", results.get(1).getName());
+    }
+
+    @Test
+    void linesSplitAcrossReads() throws IOException {
+        String body = "{\"ggId\":\"gg-1\",\"name\":\"Zoë Ñúñez\"}\n{\"ggId\":\"gg-2\",\"name\":\"" + "x".repeat(20000) + "\"}\n";
+        List<SearchResponse.PersonResult> results = new ArrayList<>();
+
+        int delivered = parser.parse(new TrickleInputStream(body.getBytes(StandardCharsets.UTF_8), 7), results::add);
+
+        assertEquals(2, delivered);
+        assertEquals("Zoë Ñúñez", results.get(0).getName());
+        assertEquals(20000, results.get(1).getName().length());
+    }
+
+    @Test
+    void nullValuesTreatedAsAbsent() throws IOException {
+        List<SearchResponse.PersonResult> results = parse(
+            "{\"ggId\":\"gg-1\",\"name\":\"Ana\",\"imageUrl\":null,\"professionalHeadline\":null}\n");
+
+        assertNull(results.get(0).getPicture());
+        assertNull(results.get(0).getProfessionalHeadline());
+    }
+
+    private List<SearchResponse.PersonResult> parse(String body) throws IOException {
+        List<SearchResponse.PersonResult> results = new ArrayList<>();
+        parser.parse(new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)), results::add);
+        return results;
+    }
+
+    /**
+     * Returns at most a few bytes per read, like a slow network stream.
+     */
+    private static final class TrickleInputStream extends InputStream {
+        private final byte[] data;
+        private final int maxRead;
+        private int position;
+
+        private TrickleInputStream(byte[] data, int maxRead) {
+            this.data = data;
+            this.maxRead = maxRead;
+        }
+
+        @Override
+        public int read() {
+            return position < data.length ? data[position++] & 0xff : -1;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) {
+            if (position >= data.length) {
+                return -1;
+            }
+            int count = Math.min(Math.min(length, maxRead), data.length - position);
+            System.arraycopy(data, position, buffer, offset, count);
+            position += count;
+            return count;
+        }
+    }
+}
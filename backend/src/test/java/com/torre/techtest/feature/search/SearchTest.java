@@ -2,8 +2,13 @@ package com.torre.techtest.feature.search;
 
 import java.util.List;
 
+import java.util.function.Consumer;
+
 import org.junit.jupiter.api.Test;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
@@ -13,15 +18,25 @@ import org.springframework.http.MediaType;
 import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import com.torre.techtest.exception.ExternalServiceException;
 import com.torre.techtest.exception.GlobalExceptionHandler;
+import com.torre.techtest.exception.RateLimitExceededException;
+import com.torre.techtest.feature.profile.ProfilePrefetcher;
+import com.torre.techtest.observability.ServerTimingFilter;
+import com.torre.techtest.observability.ServerTimingProperties;
 
 @WebMvcTest(SearchController.class)
-@ContextConfiguration(classes = {SearchController.class, GlobalExceptionHandler.class})
+@ContextConfiguration(classes = {SearchController.class, GlobalExceptionHandler.class,
+    ServerTimingFilter.class, ServerTimingProperties.class})
 class SearchTest {
 
     @Autowired
@@ -30,6 +45,9 @@ class SearchTest {
     @MockitoBean
     private SearchService searchService;
 
+    @MockitoBean
+    private ProfilePrefetcher profilePrefetcher;
+
     @Test
     void searchPeople() throws Exception {
         SearchResponse.PersonResult person = new SearchResponse.PersonResult(
@@ -51,6 +69,26 @@ class SearchTest {
             .andExpect(jsonPath("$.pagination.totalResults").value(1));
 
         verify(searchService).searchPeople(any(SearchRequest.class));
+        verify(profilePrefetcher).prefetch(List.of("ana-ruiz"));
+    }
+
+    @Test
+    void searchPeoplePage() throws Exception {
+        SearchResponse.PersonResult person = new SearchResponse.PersonResult("gg-21", "Ana Ruiz", null, null, "ana-ruiz");
+        SearchResponse page = new SearchResponse(List.of(person), new SearchResponse.PaginationInfo(3, 2, 20, 41), "abc123", true);
+
+        when(searchService.searchPeoplePage(any(SearchRequest.class), eq(2), eq(20), eq("abc123"))).thenReturn(page);
+
+        mockMvc.perform(post("/api/search/people")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"query\":\"java\",\"page\":2,\"pageSize\":20,\"cursor\":\"abc123\"}"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.results[0].id").value("gg-21"))
+            .andExpect(jsonPath("$.pagination.currentPage").value(2))
+            .andExpect(jsonPath("$.cursor").value("abc123"))
+            .andExpect(jsonPath("$.hasMore").value(true));
+
+        verify(searchService, never()).searchPeople(any(SearchRequest.class));
     }
 
     @Test
@@ -101,4 +139,75 @@ class SearchTest {
 
         verify(searchService).searchPeople(any(SearchRequest.class));
     }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void streamPeople() throws Exception {
+        SearchResponse.PersonResult ana = new SearchResponse.PersonResult("gg-1", "Ana Ruiz", null, null, "ana-ruiz");
+        SearchResponse.PersonResult luis = new SearchResponse.PersonResult("gg-2", "Luis", null, null, "luis");
+        doAnswer(invocation -> {
+            Consumer<SearchResponse.PersonResult> consumer = invocation.getArgument(1);
+            consumer.accept(ana);
+            consumer.accept(luis);
+            return 2;
+        }).when(searchService).streamPeople(any(SearchRequest.class), any(Consumer.class));
+
+        MvcResult started = mockMvc.perform(post("/api/search/people/stream")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"query\":\"java\",\"limit\":30}"))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+        mockMvc.perform(asyncDispatch(started))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType("application/x-ndjson"))
+            .andExpect(header().exists(ServerTimingFilter.SERVER_TIMING_HEADER))
+            .andExpect(content().string(
+                "{\"type\":\"result\",\"result\":{\"id\":\"gg-1\",\"name\":\"Ana Ruiz\",\"professionalHeadline\":null,\"picture\":null,\"username\":\"ana-ruiz\"}}\n" +
+                "{\"type\":\"result\",\"result\":{\"id\":\"gg-2\",\"name\":\"Luis\",\"professionalHeadline\":null,\"picture\":null,\"username\":\"luis\"}}\n" +
+                "{\"type\":\"summary\",\"total\":2}\n"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void streamPeopleUpstreamError() throws Exception {
+        when(searchService.streamPeople(any(SearchRequest.class), any(Consumer.class)))
+            .thenThrow(new ExternalServiceException("upstream failure"));
+
+        MvcResult started = mockMvc.perform(post("/api/search/people/stream")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"query\":\"java\"}"))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+        mockMvc.perform(asyncDispatch(started))
+            .andExpect(status().isOk())
+            .andExpect(content().string("{\"type\":\"error\",\"message\":\"upstream failure\"}\n"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void streamPeopleRateLimited() throws Exception {
+        when(searchService.streamPeople(any(SearchRequest.class), any(Consumer.class)))
+            .thenThrow(new RateLimitExceededException("rate limit exceeded"));
+
+        MvcResult started = mockMvc.perform(post("/api/search/people/stream")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"query\":\"java\"}"))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+        mockMvc.perform(asyncDispatch(started))
+            .andExpect(status().isOk())
+            .andExpect(content().string("{\"type\":\"error\",\"message\":\"rate limit exceeded\"}\n"));
+    }
+
+    @Test
+    void streamPeopleBlankQuery() throws Exception {
+        mockMvc.perform(post("/api/search/people/stream")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"query\":\" \"}"))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.message").value("Search query cannot be empty."));
+    }
 }
@@ -0,0 +1,120 @@
+package com.torre.techtest.gateway;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Map;
+
+import org.apache.hc.client5.http.classic.methods.HttpGet;
+import org.apache.hc.core5.http.io.entity.EntityUtils;
+import org.apache.hc.core5.pool.PoolStats;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo;
+import com.github.tomakehurst.wiremock.core.WireMockConfiguration;
+import com.github.tomakehurst.wiremock.junit5.WireMockExtension;
+import com.torre.techtest.observability.RequestTiming;
+import com.torre.techtest.observability.TimingPhase;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class TorreGatewayTest {
+
+    @RegisterExtension
+    static final WireMockExtension wireMockServer = WireMockExtension.newInstance()
+        .options(WireMockConfiguration.options().dynamicPort())
+        .build();
+
+    @Test
+    void reusesPooledConnection() throws Exception {
+        wireMockServer.stubFor(get(urlEqualTo("/ping"))
+            .willReturn(aResponse().withStatus(200).withBody("pong")));
+
+        TorreGateway gateway = new TorreGateway();
+        try {
+            for (int i = 0; i < 3; i++) {
+                String body = gateway.execute("ping", new HttpGet(wireMockServer.baseUrl() + "/ping"),
+                    response -> EntityUtils.toString(response.getEntity()));
+                assertEquals("pong", body);
+            }
+
+            PoolStats total = gateway.getTotalStats();
+            assertEquals(0, total.getLeased());
+            assertEquals(1, total.getAvailable());
+
+            Map<String, PoolStats> routes = gateway.getRouteStats();
+            assertEquals(1, routes.size());
+            assertTrue(routes.keySet().iterator().next().contains("localhost"));
+        } finally {
+            gateway.destroy();
+        }
+    }
+
+    @Test
+    void upstreamMetrics() throws Exception {
+        wireMockServer.stubFor(get(urlEqualTo("/ping"))
+            .willReturn(aResponse().withStatus(200).withBody("pong")));
+        wireMockServer.stubFor(get(urlEqualTo("/missing"))
+            .willReturn(aResponse().withStatus(404)));
+
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        TorreGateway gateway = new TorreGateway(new TorreGatewayProperties(),
+            new UpstreamRateLimiter(new RateLimitProperties()), registry);
+        try {
+            gateway.execute("ping", new HttpGet(wireMockServer.baseUrl() + "/ping"), response -> EntityUtils.toString(response.getEntity()));
+            gateway.execute("ping", new HttpGet(wireMockServer.baseUrl() + "/missing"), response -> response.getCode());
+
+            assertEquals(1, registry.get(TorreGateway.REQUESTS_METRIC)
+                .tags("host", "localhost", "endpoint", "ping", "status", "200").timer().count());
+            assertEquals(1, registry.get(TorreGateway.REQUESTS_METRIC)
+                .tags("endpoint", "ping", "status", "404").timer().count());
+            assertEquals(2, registry.get(TorreGateway.TTFB_METRIC).tags("endpoint", "ping").timer().count());
+            assertEquals(1.0, registry.get("torre.gateway.pool.available").gauge().value());
+        } finally {
+            gateway.destroy();
+        }
+    }
+
+    @Test
+    void recordsConnectAndWait() throws Exception {
+        wireMockServer.stubFor(get(urlEqualTo("/slow"))
+            .willReturn(aResponse().withStatus(200).withFixedDelay(50)));
+
+        TorreGateway gateway = new TorreGateway();
+        RequestTiming timing = RequestTiming.start();
+        try {
+            gateway.execute("slow", new HttpGet(wireMockServer.baseUrl() + "/slow"), response -> response.getCode());
+
+            assertTrue(timing.getNanos(TimingPhase.CONNECT) > 0);
+            assertTrue(timing.getNanos(TimingPhase.WAIT) >= 50_000_000L);
+        } finally {
+            RequestTiming.clear();
+            gateway.destroy();
+        }
+    }
+
+    @Test
+    void perRouteLimits() {
+        TorreGatewayProperties properties = new TorreGatewayProperties();
+        properties.getMaxPerRoute().put("http://localhost:9999", 3);
+
+        TorreGateway gateway = new TorreGateway(properties, new UpstreamRateLimiter(new RateLimitProperties()), new SimpleMeterRegistry());
+        try {
+            assertEquals(40, gateway.getMaxPerRoute("https://torre.ai"));
+            assertEquals(40, gateway.getMaxPerRoute("https://search.torre.co"));
+            assertEquals(3, gateway.getMaxPerRoute("http://localhost:9999"));
+            assertEquals(20, gateway.getMaxPerRoute("https://example.com"));
+        } finally {
+            gateway.destroy();
+        }
+    }
+
+    @Test
+    void sharedGatewayIsReused() {
+        assertSame(TorreGateway.shared(), TorreGateway.shared());
+    }
+}
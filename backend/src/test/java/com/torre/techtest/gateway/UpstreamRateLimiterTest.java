@@ -0,0 +1,116 @@
+package com.torre.techtest.gateway;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+import com.torre.techtest.exception.ExternalServiceException;
+import com.torre.techtest.exception.RateLimitExceededException;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class UpstreamRateLimiterTest {
+
+    @Test
+    void bucketBurstAndRefill() {
+        AtomicLong clock = new AtomicLong();
+        TokenBucket bucket = new TokenBucket(10, 2, clock::get);
+
+        assertEquals(0, bucket.reserve(0));
+        assertEquals(0, bucket.reserve(0));
+        assertEquals(-1, bucket.reserve(0));
+
+        long wait = bucket.reserve(TimeUnit.SECONDS.toNanos(1));
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(100), wait);
+
+        bucket.release();
+        assertEquals(0.0, bucket.availableTokens());
+
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(10));
+        assertEquals(2.0, bucket.availableTokens());
+        bucket.release();
+        assertEquals(2.0, bucket.availableTokens());
+    }
+
+    @Test
+    void rejectsWhenWaitExceedsTimeout() {
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.setAcquireTimeout(Duration.ZERO);
+        properties.getHosts().put("torre.ai", new RateLimitProperties.Limit(1, 1));
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        UpstreamRateLimiter limiter = new UpstreamRateLimiter(properties, registry);
+
+        limiter.acquire("torre.ai");
+        assertThrows(RateLimitExceededException.class, () -> limiter.acquire("torre.ai"));
+        limiter.acquire("search.torre.co");
+
+        UpstreamRateLimiter.Stats torre = limiter.getStats().get("torre.ai");
+        assertEquals(1, torre.acquired());
+        assertEquals(1, torre.rejected());
+        assertEquals(1, limiter.getStats().get("search.torre.co").acquired());
+        assertEquals(1, registry.get(UpstreamRateLimiter.REJECTED_METRIC).tag("host", "torre.ai").counter().count());
+        assertEquals(0, registry.get(UpstreamRateLimiter.REJECTED_METRIC).tag("host", "search.torre.co").counter().count());
+    }
+
+    @Test
+    void waitsForNextToken() {
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.setDefaults(new RateLimitProperties.Limit(20, 1));
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        UpstreamRateLimiter limiter = new UpstreamRateLimiter(properties, registry);
+
+        limiter.acquire("torre.ai");
+        limiter.acquire("torre.ai");
+
+        UpstreamRateLimiter.Stats stats = limiter.getStats().get("torre.ai");
+        assertEquals(2, stats.acquired());
+        assertEquals(0, stats.rejected());
+        assertTrue(stats.maxWaitNanos() > 0);
+        Timer wait = registry.get(UpstreamRateLimiter.WAIT_METRIC).tag("host", "torre.ai").timer();
+        assertEquals(2, wait.count());
+        assertTrue(wait.max(TimeUnit.NANOSECONDS) > 0);
+    }
+
+    @Test
+    void returnsTokenWhenInterruptedWhileWaiting() {
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.setDefaults(new RateLimitProperties.Limit(1, 1));
+        UpstreamRateLimiter limiter = new UpstreamRateLimiter(properties);
+
+        limiter.acquire("torre.ai");
+        double before = limiter.availableTokens("torre.ai");
+        Thread.currentThread().interrupt();
+        try {
+            assertThrows(ExternalServiceException.class, () -> limiter.acquire("torre.ai"));
+            assertTrue(Thread.currentThread().isInterrupted());
+        } finally {
+            Thread.interrupted();
+        }
+
+        assertTrue(limiter.availableTokens("torre.ai") >= before);
+        UpstreamRateLimiter.Stats stats = limiter.getStats().get("torre.ai");
+        assertEquals(1, stats.acquired());
+        assertEquals(0, stats.maxWaitNanos());
+    }
+
+    @Test
+    void disabled() {
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.setEnabled(false);
+        properties.setDefaults(new RateLimitProperties.Limit(1, 1));
+        UpstreamRateLimiter limiter = new UpstreamRateLimiter(properties);
+
+        for (int i = 0; i < 5; i++) {
+            limiter.acquire("torre.ai");
+        }
+
+        assertTrue(limiter.getStats().isEmpty());
+    }
+}
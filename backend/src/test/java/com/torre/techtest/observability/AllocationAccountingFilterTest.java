@@ -0,0 +1,128 @@
+package com.torre.techtest.observability;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class AllocationAccountingFilterTest {
+
+    private final AllocationProperties properties = new AllocationProperties();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AllocationTracker tracker = new AllocationTracker(properties, meterRegistry);
+    private final AllocationAccountingFilter filter = new AllocationAccountingFilter(properties, tracker);
+
+    @BeforeEach
+    void requireSupport() {
+        assumeTrue(RequestAllocation.isSupported());
+    }
+
+    @Test
+    void recordsAllocationByRoutePattern() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/profile/torrenegra");
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/profile/{username}");
+
+        filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> {
+            byte[][] garbage = new byte[64][];
+            for (int i = 0; i < garbage.length; i++) {
+                garbage[i] = new byte[16 * 1024];
+            }
+            res.getWriter().write(String.valueOf(garbage.length));
+        });
+
+        AllocationTracker.RouteStats stats = tracker.getRouteStats().get("/api/profile/{username}");
+        assertEquals(1, stats.requests());
+        assertTrue(stats.allocatedBytes() >= 64 * 16 * 1024, "allocated: " + stats.allocatedBytes());
+        assertEquals(1, meterRegistry.get(AllocationTracker.ALLOCATED_METRIC)
+            .tag("route", "/api/profile/{username}").summary().count());
+        assertNull(RequestAllocation.current());
+    }
+
+    @Test
+    void chargesExecutorTasksToTheRequest() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/analyze/skill-distribution");
+
+        filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> {
+            Thread worker = new Thread(RequestAllocation.wrap(() -> {
+                byte[] garbage = new byte[2 * 1024 * 1024];
+                garbage[0] = 1;
+            }));
+            worker.start();
+            try {
+                worker.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+
+        AllocationTracker.RouteStats stats = tracker.getRouteStats().get(AllocationAccountingFilter.UNKNOWN_ROUTE);
+        assertTrue(stats.allocatedBytes() >= 2 * 1024 * 1024, "allocated: " + stats.allocatedBytes());
+    }
+
+    @Test
+    void countsCallerRunsTasksOnce() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/analyze/skill-distribution");
+        CountDownLatch release = new CountDownLatch(1);
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+            new SynchronousQueue<>(), new ThreadPoolExecutor.CallerRunsPolicy());
+
+        try {
+            executor.execute(() -> {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            filter.doFilter(request, new MockHttpServletResponse(), (req, res) ->
+                executor.execute(RequestAllocation.wrap(() -> {
+                    byte[] garbage = new byte[8 * 1024 * 1024];
+                    garbage[0] = 1;
+                })));
+        } finally {
+            release.countDown();
+            executor.shutdown();
+        }
+
+        AllocationTracker.RouteStats stats = tracker.getRouteStats().get(AllocationAccountingFilter.UNKNOWN_ROUTE);
+        assertTrue(stats.allocatedBytes() >= 8 * 1024 * 1024, "allocated: " + stats.allocatedBytes());
+        assertTrue(stats.allocatedBytes() < 16 * 1024 * 1024, "allocated: " + stats.allocatedBytes());
+    }
+
+    @Test
+    void keepsOnlyTheMostAllocatingRequests() {
+        properties.setTopRequests(2);
+        for (long bytes : new long[] {300, 100, 500, 200}) {
+            tracker.record(new AllocationTracker.RequestSample("/api/search/people", "POST", "/api/search/people",
+                200, bytes, 0, 0, Instant.now()));
+        }
+
+        List<AllocationTracker.RequestSample> top = tracker.getTopRequests();
+
+        assertEquals(List.of(500L, 300L), top.stream().map(AllocationTracker.RequestSample::allocatedBytes).toList());
+        assertEquals(4, tracker.getRouteStats().get("/api/search/people").requests());
+    }
+
+    @Test
+    void skipsNonApiPaths() throws Exception {
+        filter.doFilter(new MockHttpServletRequest("GET", "/actuator/health"), new MockHttpServletResponse(),
+            (req, res) -> res.getWriter().write("ok"));
+
+        assertTrue(tracker.getRouteStats().isEmpty());
+    }
+}
@@ -0,0 +1,68 @@
+package com.torre.techtest.observability;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+class FlightRecordingServiceTest {
+
+    @TempDir
+    Path directory;
+
+    private FlightRecordingService service;
+
+    @AfterEach
+    void close() {
+        if (service != null) {
+            service.destroy();
+        }
+    }
+
+    @Test
+    void recordsTorreEventsToFile() throws Exception {
+        FlightRecordingProperties properties = new FlightRecordingProperties();
+        properties.setDirectory(directory);
+        service = new FlightRecordingService(properties);
+        assertNull(service.dump());
+
+        assertEquals("RUNNING", service.start("default", null).state());
+        UpstreamRequestEvent event = new UpstreamRequestEvent();
+        event.begin();
+        event.host = "torre.ai";
+        event.endpoint = "bios";
+        event.path = "/api/genome/bios/torrenegra";
+        event.status = 200;
+        event.bytes = 1234;
+        event.commit();
+        FlightRecordingService.Status stopped = service.stop();
+
+        assertEquals("STOPPED", stopped.state());
+        List<RecordedEvent> events = RecordingFile.readAllEvents(stopped.file());
+        RecordedEvent upstream = events.stream()
+            .filter(recorded -> recorded.getEventType().getName().equals("com.torre.UpstreamRequest"))
+            .findFirst()
+            .orElseThrow();
+        assertEquals("bios", upstream.getString("endpoint"));
+        assertEquals(1234, upstream.getLong("bytes"));
+        assertTrue(stopped.file().startsWith(directory));
+    }
+
+    @Test
+    void rejectsUnknownSettings() {
+        service = new FlightRecordingService(new FlightRecordingProperties());
+
+        assertThrows(IllegalArgumentException.class, () -> service.start("no-such-settings", null));
+        assertEquals("NONE", service.status().state());
+    }
+}
@@ -0,0 +1,81 @@
+package com.torre.techtest.observability;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class RequestTimingTest {
+
+    @AfterEach
+    void clear() {
+        RequestTiming.clear();
+    }
+
+    @Test
+    void nestedPhasesAreExclusive() throws Exception {
+        RequestTiming timing = RequestTiming.start();
+
+        try (RequestTiming.Span parse = RequestTiming.phase(TimingPhase.PARSE)) {
+            Thread.sleep(20);
+            try (RequestTiming.Span decode = RequestTiming.phase(TimingPhase.DECODE)) {
+                Thread.sleep(40);
+            }
+            Thread.sleep(30);
+            RequestTiming.record(TimingPhase.WAIT, 30_000_000L);
+        }
+
+        long parse = timing.getNanos(TimingPhase.PARSE);
+        long decode = timing.getNanos(TimingPhase.DECODE);
+        assertTrue(decode >= 40_000_000L);
+        assertTrue(parse >= 20_000_000L && parse < 80_000_000L, "parse excludes nested phases: " + parse);
+        assertEquals(30_000_000L, timing.getNanos(TimingPhase.WAIT));
+    }
+
+    @Test
+    void headerValue() {
+        RequestTiming timing = RequestTiming.start();
+        RequestTiming.record(TimingPhase.WAIT, 12_340_000L);
+        RequestTiming.record(TimingPhase.DECODE, 500_000L);
+
+        String header = timing.toHeaderValue();
+
+        assertTrue(header.startsWith("wait;desc=\"Upstream wait\";dur=12.3, decode;desc=\"Entity decode\";dur=0.5, total;dur="), header);
+        assertFalse(header.contains("connect"));
+    }
+
+    @Test
+    void noopWithoutTiming() {
+        try (RequestTiming.Span span = RequestTiming.phase(TimingPhase.PARSE)) {
+            RequestTiming.record(TimingPhase.WAIT, 1_000L);
+        }
+        assertNull(RequestTiming.current());
+    }
+
+    @Test
+    void wrappedTasksRecordIntoSubmitterTiming() throws Exception {
+        RequestTiming timing = RequestTiming.start();
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            CompletableFuture<RequestTiming> seen = new CompletableFuture<>();
+            executor.execute(RequestTiming.wrap(() -> {
+                RequestTiming.record(TimingPhase.CONNECT, 5_000L);
+                seen.complete(RequestTiming.current());
+            }));
+
+            assertSame(timing, seen.get());
+            assertEquals(5_000L, timing.getNanos(TimingPhase.CONNECT));
+            assertNull(executor.submit(RequestTiming::current).get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.torre.techtest.observability;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import jakarta.servlet.FilterChain;
+
+class ServerTimingFilterTest {
+
+    private final ServerTimingProperties properties = new ServerTimingProperties();
+    private final ServerTimingFilter filter = new ServerTimingFilter(properties);
+
+    @Test
+    void addsHeaderBeforeBody() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/profile/torrenegra");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        FilterChain chain = (req, res) -> {
+            RequestTiming.record(TimingPhase.WAIT, 2_000_000L);
+            RequestTiming.markSerializeStart();
+            res.getOutputStream().write("{\"name\":\"Torre\"}".getBytes(StandardCharsets.UTF_8));
+        };
+
+        filter.doFilter(request, response, chain);
+
+        String header = response.getHeader(ServerTimingFilter.SERVER_TIMING_HEADER);
+        assertTrue(header.contains("wait;desc=\"Upstream wait\";dur=2.0"), header);
+        assertTrue(header.contains("serialize;"), header);
+        assertTrue(header.contains("total;dur="), header);
+        assertEquals("{\"name\":\"Torre\"}", response.getContentAsString());
+        assertNull(RequestTiming.current());
+    }
+
+    @Test
+    void keepsBodyWrittenThroughWriter() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/profile/torrenegra"), response, (req, res) -> {
+            res.setCharacterEncoding("UTF-8");
+            res.getWriter().write("{\"name\":\"Jos\u00e9\"}");
+        });
+
+        assertTrue(response.getHeader(ServerTimingFilter.SERVER_TIMING_HEADER).contains("total;dur="));
+        assertEquals("{\"name\":\"Jos\u00e9\"}", response.getContentAsString(StandardCharsets.UTF_8));
+        assertEquals(response.getContentAsByteArray().length, response.getContentLength());
+    }
+
+    @Test
+    void skipsExcludedAndNonApiPaths() throws Exception {
+        properties.getExcludedPaths().add("/api/search/people/stream");
+        FilterChain chain = (req, res) -> res.getWriter().write("ok");
+
+        MockHttpServletResponse stream = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest("POST", "/api/search/people/stream"), stream, chain);
+        MockHttpServletResponse actuator = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest("GET", "/actuator/health"), actuator, chain);
+
+        assertNull(stream.getHeader(ServerTimingFilter.SERVER_TIMING_HEADER));
+        assertNull(actuator.getHeader(ServerTimingFilter.SERVER_TIMING_HEADER));
+        assertEquals("ok", stream.getContentAsString());
+    }
+
+    @Test
+    void headerCanBeDisabled() throws Exception {
+        properties.setHeaderEnabled(false);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/profile/torrenegra"), response,
+            (req, res) -> res.getWriter().write("ok"));
+
+        assertNull(response.getHeader(ServerTimingFilter.SERVER_TIMING_HEADER));
+        assertEquals("ok", response.getContentAsString());
+    }
+}
@@ -0,0 +1,37 @@
+package com.torre.techtest.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+class HtmlDecodingDeserializerTest {
+
+    static class Sample {
+        @HtmlDecoded
+        public String decoded;
+
+        public String raw;
+    }
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void decodesAnnotatedFieldsOnly() throws Exception {
+        Sample sample = objectMapper.readValue(
+            "{\"decoded\":\"Ana &amp; Ruiz &#x1F600;\",\"raw\":\"Ana &amp; Ruiz\"}", Sample.class);
+
+        assertEquals("Ana & Ruiz 😀", sample.decoded);
+        assertEquals("Ana &amp; Ruiz", sample.raw);
+    }
+
+    @Test
+    void nullAndScalarValues() throws Exception {
+        Sample sample = objectMapper.readValue("{\"decoded\":null}", Sample.class);
+        assertNull(sample.decoded);
+
+        sample = objectMapper.readValue("{\"decoded\":42}", Sample.class);
+        assertEquals("42", sample.decoded);
+    }
+}
@@ -2,6 +2,8 @@ package com.torre.techtest.utils;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import org.junit.jupiter.api.Test;
 
 class HtmlUtilsTest {
@@ -13,6 +15,11 @@ class HtmlUtilsTest {
         assertEquals("Ana & Ruiz 'Senior' 'Java'", value);
     }
 
+    @Test
+    void nbspDecodesToPlainSpace() {
+        assertEquals("Senior Java Developer", HtmlUtils.decodeHtmlEntities("Senior&nbsp;Java&nbsp;Developer"));
+    }
+
     @Test
     void nullInput() {
         assertNull(HtmlUtils.safeDecodeHtmlEntities(null));
@@ -59,4 +66,50 @@ class HtmlUtilsTest {
         String value = HtmlUtils.decodeHtmlEntities("&#x003C;script&#x003E;");
         assertEquals("<script>", value);
     }
+
+    @Test
+    void noAmpersandReturnsSameInstance() {
+        String text = "Senior Java Developer";
+        assertSame(text, HtmlUtils.decodeHtmlEntities(text));
+    }
+
+    @Test
+    void decodeTimeAccumulatesOnlyWhenDecoding() {
+        long before = HtmlUtils.getDecodeNanos();
+        HtmlUtils.decodeHtmlEntities("Plain text without entities");
+        assertEquals(before, HtmlUtils.getDecodeNanos());
+
+        HtmlUtils.decodeHtmlEntities("Ana &amp; Ruiz");
+        assertTrue(HtmlUtils.getDecodeNanos() >= before);
+    }
+
+    @Test
+    void unmatchedAmpersandReturnsSameInstance() {
+        String text = "AT&T R&D &unknown; &#; &#xZZ; &amp";
+        assertSame(text, HtmlUtils.decodeHtmlEntities(text));
+    }
+
+    @Test
+    void html5NamedEntities() {
+        String value = HtmlUtils.decodeHtmlEntities("&hearts; &eacute;l&egrave;ve &NotEqualTilde; &Aacute;");
+        assertEquals("\u2665 \u00e9l\u00e8ve \u2242\u0338 \u00c1", value);
+    }
+
+    @Test
+    void supplementaryCodePoints() {
+        String value = HtmlUtils.decodeHtmlEntities("Hi &#x1F600; &#128640; &fopf;");
+        assertEquals("Hi \uD83D\uDE00 \uD83D\uDE80 \uD835\uDD57", value);
+    }
+
+    @Test
+    void invalidCodePointsReplaced() {
+        String value = HtmlUtils.decodeHtmlEntities("&#0;&#xD800;&#x110000;&#99999999999;&#x80;");
+        assertEquals("\uFFFD\uFFFD\uFFFD\uFFFD\u20AC", value);
+    }
+
+    @Test
+    void singlePass() {
+        String value = HtmlUtils.decodeHtmlEntities("&amp;#39; &amp;amp;");
+        assertEquals("&#39; &amp;", value);
+    }
 }
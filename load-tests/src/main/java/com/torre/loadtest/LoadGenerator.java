@@ -0,0 +1,129 @@
+package com.torre.loadtest;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Open-model load generator. Requests are started on a fixed arrival schedule whatever the
+ * backend's response times, and each latency is measured from the scheduled start, so a slow
+ * backend shows up as latency instead of silently lowering the offered load.
+ */
+public class LoadGenerator implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(LoadGenerator.class);
+
+    private final LoadTestConfig config;
+    private final RequestMix mix;
+    private final ExecutorService clientExecutor;
+    private final HttpClient httpClient;
+    private final SplittableRandom random;
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    public LoadGenerator(LoadTestConfig config, long seed) {
+        this.config = config;
+        this.mix = new RequestMix(config.mix());
+        this.random = new SplittableRandom(seed);
+        this.clientExecutor = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "load-client");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.httpClient = HttpClient.newBuilder()
+            .executor(clientExecutor)
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    }
+
+    /**
+     * Offers {@code rate} requests per second for {@code duration}, then waits for the
+     * outstanding requests to finish or time out.
+     */
+    public LoadTestReport.StageResult runStage(double rate, Duration duration) {
+        Map<Scenario, ScenarioStats> stats = new EnumMap<>(Scenario.class);
+        config.mix().keySet().forEach(scenario -> stats.put(scenario, new ScenarioStats()));
+
+        long start = System.nanoTime();
+        long end = start + duration.toNanos();
+        long meanGapNanos = (long) (TimeUnit.SECONDS.toNanos(1) / rate);
+        long next = start;
+
+        while (next < end) {
+            parkUntil(next);
+            Scenario scenario = mix.next(random);
+            fire(scenario, scenario.request(config, random), next, stats.get(scenario));
+            next += nextGap(meanGapNanos);
+        }
+
+        awaitInFlight();
+        double elapsedSeconds = (System.nanoTime() - start) / 1e9;
+
+        Map<String, LoadTestReport.ScenarioSummary> scenarios = new LinkedHashMap<>();
+        stats.forEach((scenario, scenarioStats) -> scenarios.put(scenario.key(), scenarioStats.summarize(elapsedSeconds)));
+        LoadTestReport.ScenarioSummary total = ScenarioStats.summarizeAll(stats.values(), elapsedSeconds);
+
+        return new LoadTestReport.StageResult(rate, total.throughput(), LoadTestReport.round(elapsedSeconds), total, scenarios);
+    }
+
+    private void fire(Scenario scenario, HttpRequest.Builder request, long intendedStart, ScenarioStats stats) {
+        if (inFlight.get() >= config.maxInFlight()) {
+            stats.recordDropped();
+            return;
+        }
+        inFlight.incrementAndGet();
+        httpClient.sendAsync(request.timeout(config.requestTimeout()).build(), HttpResponse.BodyHandlers.discarding())
+            .whenComplete((response, failure) -> {
+                long latency = System.nanoTime() - intendedStart;
+                if (failure != null) {
+                    stats.recordFailure(failure.getCause() != null ? failure.getCause() : failure, latency);
+                    logger.debug("{} request failed: {}", scenario.key(), failure.toString());
+                } else {
+                    stats.recordResponse(response.statusCode(), latency);
+                }
+                inFlight.decrementAndGet();
+            });
+    }
+
+    private long nextGap(long meanGapNanos) {
+        if (config.arrival() == LoadTestConfig.Arrival.CONSTANT) {
+            return meanGapNanos;
+        }
+        return (long) (-Math.log(1.0 - random.nextDouble()) * meanGapNanos);
+    }
+
+    private void awaitInFlight() {
+        long deadline = System.nanoTime() + config.requestTimeout().toNanos() + TimeUnit.SECONDS.toNanos(1);
+        while (inFlight.get() > 0 && System.nanoTime() < deadline) {
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(10));
+        }
+        if (inFlight.get() > 0) {
+            logger.warn("{} requests still in flight after the stage timeout", inFlight.get());
+        }
+    }
+
+    private static void parkUntil(long deadline) {
+        long remaining;
+        while ((remaining = deadline - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(remaining);
+        }
+    }
+
+    @Override
+    public void close() {
+        clientExecutor.shutdownNow();
+    }
+}
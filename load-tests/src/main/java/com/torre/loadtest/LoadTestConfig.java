@@ -0,0 +1,135 @@
+package com.torre.loadtest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * Workload definition. Read from {@code load-test.properties} on the classpath, then an
+ * optional file named by {@code -Dload.config}, then {@code -Dload.<key>} system properties.
+ */
+public record LoadTestConfig(
+    URI baseUrl,
+    List<Double> rates,
+    Duration stageDuration,
+    double warmupRate,
+    Duration warmupDuration,
+    Arrival arrival,
+    Map<Scenario, Integer> mix,
+    List<String> queries,
+    List<String> skills,
+    int usernames,
+    double missingProfileRate,
+    int maxInFlight,
+    Duration requestTimeout,
+    Path reportFile
+) {
+
+    static final String DEFAULTS = "/load-test.properties";
+    static final String SYSTEM_PREFIX = "load.";
+
+    /** Inter-arrival time model of the open workload */
+    public enum Arrival {
+        /** Exponentially distributed gaps, like independent users */
+        POISSON,
+        /** Evenly spaced requests */
+        CONSTANT
+    }
+
+    public static LoadTestConfig load() throws IOException {
+        Properties properties = new Properties();
+        try (InputStream defaults = LoadTestConfig.class.getResourceAsStream(DEFAULTS)) {
+            if (defaults != null) {
+                properties.load(defaults);
+            }
+        }
+
+        String configFile = System.getProperty(SYSTEM_PREFIX + "config");
+        if (configFile != null) {
+            try (Reader reader = Files.newBufferedReader(Path.of(configFile))) {
+                properties.load(reader);
+            }
+        }
+
+        System.getProperties().stringPropertyNames().stream()
+            .filter(name -> name.startsWith(SYSTEM_PREFIX) && !name.equals(SYSTEM_PREFIX + "config"))
+            .forEach(name -> properties.setProperty(name.substring(SYSTEM_PREFIX.length()), System.getProperty(name)));
+
+        return from(properties);
+    }
+
+    static LoadTestConfig from(Properties properties) {
+        Map<Scenario, Integer> mix = new LinkedHashMap<>();
+        for (Scenario scenario : Scenario.values()) {
+            int weight = Integer.parseInt(properties.getProperty("mix." + scenario.key(), "0").trim());
+            if (weight < 0) {
+                throw new IllegalArgumentException("mix." + scenario.key() + " must not be negative");
+            }
+            if (weight > 0) {
+                mix.put(scenario, weight);
+            }
+        }
+        if (mix.isEmpty()) {
+            throw new IllegalArgumentException("At least one mix.<scenario> weight must be positive");
+        }
+
+        return new LoadTestConfig(
+            URI.create(stripTrailingSlash(required(properties, "base-url"))),
+            list(properties.getProperty("rates", "10")).stream().map(Double::parseDouble).toList(),
+            duration(properties.getProperty("stage-duration", "30s")),
+            Double.parseDouble(properties.getProperty("warmup-rate", "0")),
+            duration(properties.getProperty("warmup-duration", "0s")),
+            Arrival.valueOf(properties.getProperty("arrival", "POISSON").trim().toUpperCase()),
+            mix,
+            list(properties.getProperty("queries", "java")),
+            list(properties.getProperty("skills", "java")),
+            Integer.parseInt(properties.getProperty("usernames", "100").trim()),
+            Double.parseDouble(properties.getProperty("missing-profile-rate", "0")),
+            Integer.parseInt(properties.getProperty("max-in-flight", "2000").trim()),
+            duration(properties.getProperty("request-timeout", "30s")),
+            Path.of(properties.getProperty("report-file", "target/load-test-report.json"))
+        );
+    }
+
+    /**
+     * Parses durations written as {@code 500ms}, {@code 30s} or {@code 2m}.
+     */
+    static Duration duration(String value) {
+        String text = value.trim().toLowerCase();
+        if (text.endsWith("ms")) {
+            return Duration.ofMillis(Long.parseLong(text.substring(0, text.length() - 2)));
+        }
+        if (text.endsWith("s")) {
+            return Duration.ofSeconds(Long.parseLong(text.substring(0, text.length() - 1)));
+        }
+        if (text.endsWith("m")) {
+            return Duration.ofMinutes(Long.parseLong(text.substring(0, text.length() - 1)));
+        }
+        throw new IllegalArgumentException("Unsupported duration: " + value);
+    }
+
+    private static String required(Properties properties, String key) {
+        String value = properties.getProperty(key);
+        if (value == null || value.isBlank()) {
+            throw new IllegalArgumentException("Missing load test property: " + key);
+        }
+        return value.trim();
+    }
+
+    private static List<String> list(String value) {
+        return Arrays.stream(value.split(",")).map(String::trim).filter(item -> !item.isEmpty()).toList();
+    }
+
+    private static String stripTrailingSlash(String url) {
+        return url.endsWith("/") ? url.substring(0, url.length() - 1) : url;
+    }
+}
@@ -0,0 +1,68 @@
+package com.torre.loadtest;
+
+import java.nio.file.Files;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+/**
+ * Runs the configured warm-up and rate stages against the backend and writes a JSON report.
+ */
+public final class LoadTestMain {
+
+    private static final Logger logger = LoggerFactory.getLogger(LoadTestMain.class);
+
+    private LoadTestMain() {}
+
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = LoadTestConfig.load();
+        long seed = Long.getLong(LoadTestConfig.SYSTEM_PREFIX + "seed", 42L);
+        String startedAt = Instant.now().toString();
+        List<LoadTestReport.StageResult> stages = new ArrayList<>();
+
+        try (LoadGenerator generator = new LoadGenerator(config, seed)) {
+            if (config.warmupRate() > 0 && !config.warmupDuration().isZero()) {
+                logger.info("Warming up at {} req/s for {}", config.warmupRate(), config.warmupDuration());
+                generator.runStage(config.warmupRate(), config.warmupDuration());
+            }
+            for (double rate : config.rates()) {
+                logger.info("Offering {} req/s for {}", rate, config.stageDuration());
+                LoadTestReport.StageResult stage = generator.runStage(rate, config.stageDuration());
+                stages.add(stage);
+                printStage(stage);
+            }
+        }
+
+        Map<String, Integer> mix = new LinkedHashMap<>();
+        config.mix().forEach((scenario, weight) -> mix.put(scenario.key(), weight));
+        LoadTestReport report = new LoadTestReport(startedAt, config.baseUrl().toString(), config.arrival().name(), mix, stages);
+
+        if (config.reportFile().getParent() != null) {
+            Files.createDirectories(config.reportFile().getParent());
+        }
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(config.reportFile().toFile(), report);
+        logger.info("Report written to {}", config.reportFile().toAbsolutePath());
+    }
+
+    private static void printStage(LoadTestReport.StageResult stage) {
+        System.out.printf("%n%-14s %9s %9s %7s %7s %9s %9s %9s %9s%n",
+            "rate " + stage.targetRate(), "requests", "req/s", "errors", "dropped", "p50 ms", "p95 ms", "p99 ms", "max ms");
+        stage.scenarios().forEach((name, summary) -> printRow(name, summary));
+        printRow("total", stage.total());
+    }
+
+    private static void printRow(String name, LoadTestReport.ScenarioSummary summary) {
+        LoadTestReport.Latency latency = summary.latencyMillis();
+        System.out.printf("%-14s %9d %9.2f %7d %7d %9.2f %9.2f %9.2f %9.2f%n",
+            name, summary.requests(), summary.throughput(), summary.errors(), summary.dropped(),
+            latency.p50(), latency.p95(), latency.p99(), latency.max());
+    }
+}
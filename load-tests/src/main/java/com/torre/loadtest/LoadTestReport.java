@@ -0,0 +1,77 @@
+package com.torre.loadtest;
+
+import java.util.List;
+import java.util.Map;
+
+import org.HdrHistogram.Histogram;
+
+/**
+ * Machine-readable result of a run, written as JSON.
+ */
+public record LoadTestReport(
+    String startedAt,
+    String baseUrl,
+    String arrival,
+    Map<String, Integer> mix,
+    List<StageResult> stages
+) {
+
+    /**
+     * One constant-rate stage. {@code achievedRate} counts completed requests per second.
+     */
+    public record StageResult(
+        double targetRate,
+        double achievedRate,
+        double durationSeconds,
+        ScenarioSummary total,
+        Map<String, ScenarioSummary> scenarios
+    ) {
+    }
+
+    /**
+     * Outcome counts (HTTP status or exception name) and latency percentiles in milliseconds.
+     */
+    public record ScenarioSummary(
+        long requests,
+        long successes,
+        long errors,
+        long dropped,
+        double throughput,
+        Map<String, Long> outcomes,
+        Latency latencyMillis
+    ) {
+
+        static ScenarioSummary of(Histogram histogram, long successes, long errors, long dropped,
+                                  Map<String, Long> outcomes, double elapsedSeconds) {
+            long requests = successes + errors;
+            double throughput = elapsedSeconds > 0 ? requests / elapsedSeconds : 0;
+            return new ScenarioSummary(requests, successes, errors, dropped, round(throughput), outcomes, Latency.of(histogram));
+        }
+    }
+
+    public record Latency(double mean, double p50, double p90, double p95, double p99, double p999, double max) {
+
+        static Latency of(Histogram micros) {
+            if (micros.getTotalCount() == 0) {
+                return new Latency(0, 0, 0, 0, 0, 0, 0);
+            }
+            return new Latency(
+                millis(micros.getMean()),
+                millis(micros.getValueAtPercentile(50)),
+                millis(micros.getValueAtPercentile(90)),
+                millis(micros.getValueAtPercentile(95)),
+                millis(micros.getValueAtPercentile(99)),
+                millis(micros.getValueAtPercentile(99.9)),
+                millis(micros.getMaxValue())
+            );
+        }
+
+        private static double millis(double micros) {
+            return round(micros / 1000.0);
+        }
+    }
+
+    static double round(double value) {
+        return Math.round(value * 100) / 100.0;
+    }
+}
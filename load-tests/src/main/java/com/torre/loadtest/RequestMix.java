@@ -0,0 +1,38 @@
+package com.torre.loadtest;
+
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Picks scenarios in proportion to their configured weights.
+ */
+final class RequestMix {
+
+    private final Scenario[] scenarios;
+    private final int[] cumulativeWeights;
+    private final int totalWeight;
+
+    RequestMix(Map<Scenario, Integer> weights) {
+        scenarios = new Scenario[weights.size()];
+        cumulativeWeights = new int[weights.size()];
+        int total = 0;
+        int index = 0;
+        for (Map.Entry<Scenario, Integer> entry : weights.entrySet()) {
+            total += entry.getValue();
+            scenarios[index] = entry.getKey();
+            cumulativeWeights[index] = total;
+            index++;
+        }
+        totalWeight = total;
+    }
+
+    Scenario next(SplittableRandom random) {
+        int ticket = random.nextInt(totalWeight);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (ticket < cumulativeWeights[i]) {
+                return scenarios[i];
+            }
+        }
+        return scenarios[scenarios.length - 1];
+    }
+}
@@ -0,0 +1,69 @@
+package com.torre.loadtest;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpRequest;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Backend requests the generator can issue, with randomized inputs.
+ */
+public enum Scenario {
+
+    SEARCH("search") {
+        @Override
+        HttpRequest.Builder request(LoadTestConfig config, SplittableRandom random) {
+            String body = "{\"query\":\"" + pick(config.queries(), random) + "\",\"limit\":20}";
+            return HttpRequest.newBuilder(config.baseUrl().resolve("/api/search/people"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body));
+        }
+    },
+
+    PROFILE("profile") {
+        @Override
+        HttpRequest.Builder request(LoadTestConfig config, SplittableRandom random) {
+            int index = random.nextInt(Math.max(1, config.usernames()));
+            String username = random.nextDouble() < config.missingProfileRate() ? "missing-" + index : "user-" + index;
+            return HttpRequest.newBuilder(config.baseUrl().resolve("/api/profile/" + username)).GET();
+        }
+    },
+
+    COMPENSATION("compensation") {
+        @Override
+        HttpRequest.Builder request(LoadTestConfig config, SplittableRandom random) {
+            return HttpRequest.newBuilder(skillUri(config, "/api/analyze/skill-compensation", random)).GET();
+        }
+    },
+
+    DISTRIBUTION("distribution") {
+        @Override
+        HttpRequest.Builder request(LoadTestConfig config, SplittableRandom random) {
+            return HttpRequest.newBuilder(skillUri(config, "/api/analyze/skill-distribution", random)).GET();
+        }
+    };
+
+    private final String key;
+
+    Scenario(String key) {
+        this.key = key;
+    }
+
+    /** Name used in {@code mix.<key>} and in the report */
+    public String key() {
+        return key;
+    }
+
+    abstract HttpRequest.Builder request(LoadTestConfig config, SplittableRandom random);
+
+    private static URI skillUri(LoadTestConfig config, String path, SplittableRandom random) {
+        String skill = URLEncoder.encode(pick(config.skills(), random), StandardCharsets.UTF_8);
+        return config.baseUrl().resolve(path + "?skill=" + skill);
+    }
+
+    private static String pick(List<String> values, SplittableRandom random) {
+        return values.get(random.nextInt(values.size()));
+    }
+}
@@ -0,0 +1,67 @@
+package com.torre.loadtest;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+/**
+ * Thread-safe counters and latency histogram for one scenario within a stage.
+ * Latencies are recorded in microseconds from the request's intended start time.
+ */
+final class ScenarioStats {
+
+    private static final int SIGNIFICANT_DIGITS = 3;
+
+    private final Histogram latencies = new ConcurrentHistogram(SIGNIFICANT_DIGITS);
+    private final LongAdder successes = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final Map<String, LongAdder> outcomes = new ConcurrentHashMap<>();
+
+    void recordResponse(int status, long latencyNanos) {
+        latencies.recordValue(TimeUnit.NANOSECONDS.toMicros(latencyNanos));
+        (status >= 200 && status < 300 ? successes : errors).increment();
+        outcomes.computeIfAbsent(String.valueOf(status), key -> new LongAdder()).increment();
+    }
+
+    void recordFailure(Throwable failure, long latencyNanos) {
+        latencies.recordValue(TimeUnit.NANOSECONDS.toMicros(latencyNanos));
+        errors.increment();
+        outcomes.computeIfAbsent(failure.getClass().getSimpleName(), key -> new LongAdder()).increment();
+    }
+
+    void recordDropped() {
+        dropped.increment();
+    }
+
+    Histogram latencies() {
+        return latencies;
+    }
+
+    LoadTestReport.ScenarioSummary summarize(double elapsedSeconds) {
+        Map<String, Long> counts = new TreeMap<>();
+        outcomes.forEach((outcome, count) -> counts.put(outcome, count.sum()));
+        return LoadTestReport.ScenarioSummary.of(latencies, successes.sum(), errors.sum(), dropped.sum(), counts, elapsedSeconds);
+    }
+
+    static LoadTestReport.ScenarioSummary summarizeAll(Iterable<ScenarioStats> stats, double elapsedSeconds) {
+        Histogram combined = new Histogram(SIGNIFICANT_DIGITS);
+        long successes = 0;
+        long errors = 0;
+        long dropped = 0;
+        Map<String, Long> counts = new TreeMap<>();
+        for (ScenarioStats scenario : stats) {
+            combined.add(scenario.latencies);
+            successes += scenario.successes.sum();
+            errors += scenario.errors.sum();
+            dropped += scenario.dropped.sum();
+            scenario.outcomes.forEach((outcome, count) -> counts.merge(outcome, count.sum(), Long::sum));
+        }
+        return LoadTestReport.ScenarioSummary.of(combined, successes, errors, dropped, counts, elapsedSeconds);
+    }
+}
@@ -0,0 +1,110 @@
+package com.torre.loadtest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.Properties;
+import java.util.concurrent.Executors;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.sun.net.httpserver.HttpServer;
+
+class LoadGeneratorTest {
+
+    private HttpServer server;
+
+    @BeforeEach
+    void startServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.createContext("/", exchange -> {
+            int status = exchange.getRequestURI().getPath().contains("missing-") ? 404 : 200;
+            if (exchange.getRequestURI().getPath().contains("skill-distribution")) {
+                sleep(200);
+            }
+            // Avoid the JDK client reusing a connection the test server is closing
+            exchange.getResponseHeaders().add("Connection", "close");
+            exchange.sendResponseHeaders(status, -1);
+            exchange.close();
+        });
+        server.start();
+    }
+
+    @AfterEach
+    void stopServer() {
+        server.stop(0);
+    }
+
+    @Test
+    void constantRate() {
+        LoadTestConfig config = config("CONSTANT", "mix.search=1\nmix.profile=1\nmissing-profile-rate=0");
+
+        try (LoadGenerator generator = new LoadGenerator(config, 1L)) {
+            LoadTestReport.StageResult stage = generator.runStage(100, Duration.ofSeconds(1));
+
+            assertEquals(100, stage.total().requests());
+            assertEquals(0, stage.total().errors(), stage.total().outcomes().toString());
+            assertEquals(100L, stage.total().outcomes().get("200"));
+            assertTrue(stage.scenarios().get("search").requests() > 20);
+            assertTrue(stage.scenarios().get("profile").requests() > 20);
+        }
+    }
+
+    @Test
+    void slowEndpointDoesNotThrottleArrivals() {
+        LoadTestConfig config = config("CONSTANT", "mix.distribution=1");
+
+        try (LoadGenerator generator = new LoadGenerator(config, 1L)) {
+            LoadTestReport.StageResult stage = generator.runStage(50, Duration.ofSeconds(1));
+
+            assertEquals(50, stage.total().requests());
+            assertTrue(stage.total().latencyMillis().p50() >= 200);
+        }
+    }
+
+    @Test
+    void errorsAndDrops() {
+        LoadTestConfig config = config("POISSON", "mix.profile=1\nmissing-profile-rate=1\nmax-in-flight=0");
+
+        try (LoadGenerator generator = new LoadGenerator(config, 1L)) {
+            LoadTestReport.StageResult stage = generator.runStage(50, Duration.ofMillis(500));
+
+            assertEquals(0, stage.total().requests());
+            assertTrue(stage.total().dropped() > 0);
+        }
+
+        config = config("POISSON", "mix.profile=1\nmissing-profile-rate=1");
+        try (LoadGenerator generator = new LoadGenerator(config, 1L)) {
+            LoadTestReport.StageResult stage = generator.runStage(50, Duration.ofMillis(500));
+
+            assertEquals(stage.total().requests(), stage.total().errors());
+            assertEquals(stage.total().requests(), stage.total().outcomes().get("404"));
+        }
+    }
+
+    private LoadTestConfig config(String arrival, String extra) {
+        Properties properties = new Properties();
+        properties.setProperty("base-url", "http://localhost:" + server.getAddress().getPort() + "/");
+        properties.setProperty("arrival", arrival);
+        properties.setProperty("request-timeout", "5s");
+        for (String line : extra.split("\n")) {
+            String[] parts = line.split("=", 2);
+            properties.setProperty(parts[0], parts[1]);
+        }
+        return LoadTestConfig.from(properties);
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
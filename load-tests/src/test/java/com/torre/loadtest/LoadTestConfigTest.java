@@ -0,0 +1,47 @@
+package com.torre.loadtest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.InputStream;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+import org.junit.jupiter.api.Test;
+
+class LoadTestConfigTest {
+
+    @Test
+    void defaults() throws Exception {
+        Properties properties = new Properties();
+        try (InputStream in = LoadTestConfig.class.getResourceAsStream(LoadTestConfig.DEFAULTS)) {
+            properties.load(in);
+        }
+
+        LoadTestConfig config = LoadTestConfig.from(properties);
+
+        assertEquals("http://localhost:8080", config.baseUrl().toString());
+        assertEquals(List.of(5.0, 10.0, 20.0, 40.0), config.rates());
+        assertEquals(Duration.ofSeconds(30), config.stageDuration());
+        assertEquals(LoadTestConfig.Arrival.POISSON, config.arrival());
+        assertEquals(Map.of(Scenario.SEARCH, 50, Scenario.PROFILE, 35, Scenario.COMPENSATION, 10, Scenario.DISTRIBUTION, 5), config.mix());
+    }
+
+    @Test
+    void durations() {
+        assertEquals(Duration.ofMillis(250), LoadTestConfig.duration("250ms"));
+        assertEquals(Duration.ofSeconds(45), LoadTestConfig.duration("45s"));
+        assertEquals(Duration.ofMinutes(2), LoadTestConfig.duration("2m"));
+        assertThrows(IllegalArgumentException.class, () -> LoadTestConfig.duration("2h"));
+    }
+
+    @Test
+    void emptyMixRejected() {
+        Properties properties = new Properties();
+        properties.setProperty("base-url", "http://localhost:8080");
+
+        assertThrows(IllegalArgumentException.class, () -> LoadTestConfig.from(properties));
+    }
+}
@@ -0,0 +1,61 @@
+package com.torre.simulator;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.springframework.stereotype.Component;
+
+import com.torre.simulator.SimulatorProperties.Endpoint;
+
+/**
+ * Applies the configured latency and error injection for an endpoint.
+ */
+@Component
+public class EndpointBehavior {
+
+    /** z-score of the 99th percentile of a standard normal distribution */
+    private static final double Z_99 = 2.3263;
+
+    /**
+     * Waits for a latency sampled from the endpoint's distribution.
+     */
+    public void delay(Endpoint endpoint) {
+        sleep(sampleLatency(endpoint));
+    }
+
+    /**
+     * Decides whether this request should fail according to the endpoint's error rate.
+     */
+    public boolean shouldFail(Endpoint endpoint) {
+        return endpoint.getErrorRate() > 0 && ThreadLocalRandom.current().nextDouble() < endpoint.getErrorRate();
+    }
+
+    public void sleep(Duration duration) {
+        if (duration.isZero() || duration.isNegative()) {
+            return;
+        }
+        try {
+            Thread.sleep(duration.toMillis(), duration.toNanosPart() % 1_000_000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    Duration sampleLatency(Endpoint endpoint) {
+        long base = endpoint.getLatency().toNanos();
+        long max = Math.max(base, endpoint.getLatencyMax().toNanos());
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+
+        return switch (endpoint.getDistribution()) {
+            case FIXED -> Duration.ofNanos(base);
+            case UNIFORM -> Duration.ofNanos(base == max ? base : random.nextLong(base, max + 1));
+            case LOG_NORMAL -> {
+                if (base <= 0 || max == base) {
+                    yield Duration.ofNanos(base);
+                }
+                double sigma = Math.log((double) max / base) / Z_99;
+                yield Duration.ofNanos((long) (base * Math.exp(sigma * random.nextGaussian())));
+            }
+        };
+    }
+}
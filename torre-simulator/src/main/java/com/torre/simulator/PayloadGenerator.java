@@ -0,0 +1,228 @@
+package com.torre.simulator;
+
+import java.util.List;
+import java.util.SplittableRandom;
+
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * Builds Torre.ai-shaped payloads. Output is deterministic for a given seed and request,
+ * and includes HTML-encoded text the way Torre.ai returns it.
+ */
+@Component
+public class PayloadGenerator {
+
+    private static final List<String> FIRST_NAMES = List.of(
+        "Ana", "Carlos", "Mar&iacute;a", "Juan", "Luisa", "Andr&eacute;s", "Sof&iacute;a", "Diego",
+        "Valentina", "Mateo", "Camila", "Santiago", "Isabela", "Sebasti&aacute;n", "Laura");
+    private static final List<String> LAST_NAMES = List.of(
+        "Ruiz", "G&oacute;mez", "Rodr&iacute;guez", "L&oacute;pez", "Mart&iacute;nez", "P&eacute;rez",
+        "Garc&iacute;a", "S&aacute;nchez", "Ram&iacute;rez", "Torres", "O&#x27;Brien", "Castro");
+    private static final List<String> HEADLINES = List.of(
+        "Senior %s Developer", "Backend Engineer &amp; Tech Lead (%s)", "Full-stack Developer | %s &amp; React",
+        "Junior %s Developer", "Staff Engineer, %s Platform", "%s Expert &#x2014; Architect",
+        "Intermediate %s Engineer", "Principal Architect &lt;%s&gt;", "Engineering Manager");
+    private static final List<String> SKILLS = List.of(
+        "Java", "Spring Boot", "Kotlin", "Python", "React", "Node.js", "TypeScript", "AWS", "Kubernetes",
+        "Docker", "PostgreSQL", "Kafka", "Terraform", "GraphQL", "Go", "Scala", "Microservices", "CI/CD");
+    private static final List<String> PROFICIENCIES = List.of("novice", "proficient", "expert", "master");
+    private static final List<String> EXPERIENCE = List.of(
+        "potential-to-develop", "1-plus-year", "3-plus-years", "5-plus-years", "10-plus-years");
+    private static final List<String> PLACES = List.of(
+        "Bogot&aacute;, Colombia", "Medell&iacute;n, Colombia", "Ciudad de M&eacute;xico, Mexico",
+        "Buenos Aires, Argentina", "S&atilde;o Paulo, Brazil", "Lima, Peru", "Madrid, Spain");
+    private static final List<String> ORGANIZATIONS = List.of(
+        "Torre &amp; Co", "Globant", "Rappi", "Mercado Libre", "Nubank", "Bancolombia", "EPAM", "Endava");
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final SimulatorProperties properties;
+
+    public PayloadGenerator(SimulatorProperties properties) {
+        this.properties = properties;
+    }
+
+    /**
+     * One {@code _searchStream} / {@code _search} result entry.
+     */
+    public ObjectNode person(String term, int index) {
+        SplittableRandom random = random(term, index);
+        String first = pick(random, FIRST_NAMES);
+        String last = pick(random, LAST_NAMES);
+        String ggId = String.valueOf(1_000_000 + index);
+        String skill = term == null || term.isBlank() ? pick(random, SKILLS) : term;
+
+        ObjectNode person = objectMapper.createObjectNode();
+        person.put("ardaId", 2_000_000L + index);
+        person.put("ggId", ggId);
+        person.put("name", first + " " + last);
+        person.put("comparableName", (first + " " + last).toLowerCase());
+        person.put("username", usernameFor(first, last, index));
+        person.put("professionalHeadline", String.format(pick(random, HEADLINES), skill));
+        person.put("imageUrl", "https://res.cloudinary.com/torre-technologies-co/image/upload/v1/origin/bio/crawled-pictures/" + ggId + ".jpg");
+        person.put("completion", round(random.nextDouble(0.2, 1.0)));
+        person.put("grammar", round(random.nextDouble(0.5, 1.0)));
+        person.put("weight", round(random.nextDouble(0, 300)));
+        person.put("verified", random.nextDouble() < 0.6);
+        person.putArray("connections");
+        person.put("totalStrength", random.nextInt(60));
+        person.put("pageRank", round(random.nextDouble(0, 2)));
+        person.putNull("organizationId");
+        person.putNull("publicId");
+        person.put("relationDegree", 1 + random.nextInt(3));
+        person.put("isSearchable", true);
+        person.put("contact", false);
+        ArrayNode skills = person.putArray("skills");
+        skills.addObject().put("name", skill).put("weight", random.nextInt(6));
+        for (int s = 0; s < 4; s++) {
+            skills.addObject().put("name", pick(random, SKILLS)).put("weight", random.nextInt(6));
+        }
+        person.putArray("openTo").add("full-time-employment").add("freelance-gigs");
+        person.put("locationName", pick(random, PLACES));
+        ObjectNode meta = person.putObject("_meta");
+        meta.putObject("ranker").put("skill", round(random.nextDouble())).put("boost", 1.0);
+        meta.putNull("filter");
+        return person;
+    }
+
+    /**
+     * {@code _search} response page.
+     */
+    public ObjectNode searchPage(String term, int offset, int limit, int total) {
+        ObjectNode page = objectMapper.createObjectNode();
+        ArrayNode aggregators = page.putObject("aggregators").putArray("skill");
+        for (String skill : SKILLS) {
+            aggregators.addObject().put("value", skill).put("total", Math.abs(skill.hashCode() % 5000));
+        }
+        page.put("offset", offset);
+        ArrayNode results = page.putArray("results");
+        int end = Math.min(total, offset + limit);
+        for (int index = offset; index < end; index++) {
+            results.add(person(term, index));
+        }
+        page.put("size", results.size());
+        page.put("total", total);
+        page.putNull("meta");
+        return page;
+    }
+
+    /**
+     * {@code _analyze} compensation response with {@code buckets} histogram entries.
+     */
+    public ObjectNode compensation(String skill, int buckets) {
+        SplittableRandom random = random(skill, 0);
+        double mean = round(random.nextDouble(15, 60));
+        int total = 100 + random.nextInt(2000);
+
+        ObjectNode response = objectMapper.createObjectNode();
+        response.put("total", total);
+        ObjectNode result = response.putObject("result");
+        ObjectNode compensation = result.putObject("compensation");
+        compensation.put("mean", mean);
+        compensation.put("suggested", round(mean * 0.95));
+        compensation.put("min", round(mean * 0.3));
+        compensation.put("max", round(mean * 3.5));
+        compensation.put("total", total);
+        compensation.put("currency", "USD$");
+        compensation.put("periodicity", "hourly");
+        ArrayNode histogram = compensation.putArray("histogram");
+        for (int b = 0; b < buckets; b++) {
+            histogram.addObject().put("from", b * 5).put("to", b * 5 + 5).put("count", random.nextInt(200));
+        }
+        result.putObject("aggregators").putArray("remoter").addObject().put("value", "true").put("total", total / 2);
+        return response;
+    }
+
+    /**
+     * {@code genome/bios} profile with {@code strengths} skills and a proportional work history.
+     */
+    public ObjectNode bio(String username, int strengths) {
+        SplittableRandom random = random(username, 0);
+        String first = pick(random, FIRST_NAMES);
+        String last = pick(random, LAST_NAMES);
+
+        ObjectNode bio = objectMapper.createObjectNode();
+        ObjectNode person = bio.putObject("person");
+        person.put("id", Integer.toHexString(username.hashCode()));
+        person.put("name", first + " " + last);
+        person.put("professionalHeadline", String.format(pick(random, HEADLINES), pick(random, SKILLS)));
+        person.put("picture", "https://res.cloudinary.com/torre-technologies-co/image/upload/v1/origin/bio/" + username + ".jpg");
+        person.put("summaryOfBio", "I&#x27;m a software engineer who enjoys distributed systems, mentoring &amp; "
+            + "performance work. &quot;Ship small, ship often.&quot; &#x1F680;");
+        person.put("publicId", username);
+        person.put("completion", round(random.nextDouble(0.2, 1.0)));
+        person.put("weight", round(random.nextDouble(0, 300)));
+        person.put("verified", random.nextBoolean());
+        ObjectNode location = person.putObject("location");
+        location.put("name", pick(random, PLACES));
+        location.put("country", "Colombia");
+        location.put("countryCode", "CO");
+        location.put("latitude", 4.711);
+        location.put("longitude", -74.0721);
+        location.put("timezone", "America/Bogota");
+
+        bio.putObject("stats").put("strengths", strengths).put("jobs", Math.max(1, strengths / 4));
+
+        ArrayNode skills = bio.putArray("strengths");
+        for (int s = 0; s < strengths; s++) {
+            skills.addObject()
+                .put("id", "s" + s)
+                .put("code", 1000 + s)
+                .put("name", SKILLS.get(s % SKILLS.size()) + (s < SKILLS.size() ? "" : " " + (s / SKILLS.size())))
+                .put("proficiency", pick(random, PROFICIENCIES))
+                .put("experience", pick(random, EXPERIENCE))
+                .put("weight", round(random.nextDouble(0, 10)))
+                .put("recommendations", random.nextInt(5));
+        }
+
+        ArrayNode experiences = bio.putArray("experiences");
+        for (int e = 0; e < Math.max(1, strengths / 4); e++) {
+            experiences.add(experience(random, "jobs", e));
+        }
+        ArrayNode education = bio.putArray("education");
+        for (int e = 0; e < 2; e++) {
+            education.add(experience(random, "education", e));
+        }
+        bio.putArray("languages").addObject().put("code", "es").put("language", "Spanish").put("fluency", "native");
+        return bio;
+    }
+
+    private ObjectNode experience(SplittableRandom random, String category, int index) {
+        ObjectNode experience = objectMapper.createObjectNode();
+        experience.put("id", category + index);
+        experience.put("category", category);
+        experience.put("name", String.format(pick(random, HEADLINES), pick(random, SKILLS)));
+        ObjectNode organization = experience.putArray("organizations").addObject();
+        organization.put("id", 5000 + index);
+        organization.put("name", pick(random, ORGANIZATIONS));
+        organization.put("picture", "https://res.cloudinary.com/torre-technologies-co/image/upload/v1/org/" + index + ".png");
+        organization.put("about", "We build products &amp; platforms used by millions.");
+        experience.putArray("responsibilities").add("Designed APIs &amp; services").add("Mentored engineers");
+        experience.put("fromMonth", "January");
+        experience.put("fromYear", String.valueOf(2010 + index));
+        experience.put("toMonth", "December");
+        experience.put("toYear", String.valueOf(2012 + index));
+        experience.put("remote", random.nextBoolean());
+        return experience;
+    }
+
+    private SplittableRandom random(String key, int index) {
+        long hash = key == null ? 0 : key.hashCode();
+        return new SplittableRandom(properties.getSeed() * 31 + hash * 17 + index);
+    }
+
+    private static String usernameFor(String first, String last, int index) {
+        return (first.split("&")[0] + last.split("&")[0]).toLowerCase() + index;
+    }
+
+    private static <T> T pick(SplittableRandom random, List<T> values) {
+        return values.get(random.nextInt(values.size()));
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 10_000) / 10_000.0;
+    }
+}
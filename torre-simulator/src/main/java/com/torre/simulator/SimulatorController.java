@@ -0,0 +1,112 @@
+package com.torre.simulator;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.torre.simulator.SimulatorProperties.Endpoint;
+
+/**
+ * Serves the Torre.ai endpoints used by the backend under the same paths.
+ */
+@RestController
+public class SimulatorController {
+
+    private static final Logger logger = LoggerFactory.getLogger(SimulatorController.class);
+
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
+    private static final byte[] ERROR_BODY =
+        "{\"code\":\"simulated\",\"message\":\"Simulated failure\"}".getBytes(StandardCharsets.UTF_8);
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final SimulatorProperties properties;
+    private final EndpointBehavior behavior;
+    private final PayloadGenerator generator;
+
+    public SimulatorController(SimulatorProperties properties, EndpointBehavior behavior, PayloadGenerator generator) {
+        this.properties = properties;
+        this.behavior = behavior;
+        this.generator = generator;
+    }
+
+    @PostMapping("/api/entities/_searchStream")
+    public ResponseEntity<StreamingResponseBody> searchStream(@RequestBody JsonNode request) {
+        Endpoint endpoint = properties.getSearchStream();
+        behavior.delay(endpoint);
+        if (behavior.shouldFail(endpoint)) {
+            return ResponseEntity.status(endpoint.getErrorStatus()).body(out -> out.write(ERROR_BODY));
+        }
+
+        String term = request.path("query").asText("");
+        int count = Math.min(request.path("limit").asInt(endpoint.getSize()), endpoint.getSize());
+
+        StreamingResponseBody body = out -> {
+            for (int index = 0; index < count; index++) {
+                if (index > 0) {
+                    behavior.sleep(endpoint.getChunkDelay());
+                }
+                out.write(objectMapper.writeValueAsBytes(generator.person(term, index)));
+                out.write('\n');
+                out.flush();
+            }
+        };
+        return ResponseEntity.ok().contentType(NDJSON).body(body);
+    }
+
+    @PostMapping("/people/_search")
+    public ResponseEntity<Object> search(@RequestBody JsonNode request) {
+        Endpoint endpoint = properties.getSearch();
+        behavior.delay(endpoint);
+        if (behavior.shouldFail(endpoint)) {
+            return error(endpoint);
+        }
+
+        String term = request.path("query").path("term").asText("");
+        int offset = Math.max(0, request.path("offset").asInt(0));
+        int limit = Math.max(0, request.path("limit").asInt(20));
+        return ResponseEntity.ok(generator.searchPage(term, offset, limit, endpoint.getSize()));
+    }
+
+    @PostMapping("/people/_analyze")
+    public ResponseEntity<Object> analyze(@RequestBody JsonNode request) {
+        Endpoint endpoint = properties.getAnalyze();
+        behavior.delay(endpoint);
+        if (behavior.shouldFail(endpoint)) {
+            return error(endpoint);
+        }
+
+        String skill = request.path("query").path("skill").path("term").asText("");
+        return ResponseEntity.ok(generator.compensation(skill, endpoint.getSize()));
+    }
+
+    @GetMapping("/api/genome/bios/{username}")
+    public ResponseEntity<Object> bio(@PathVariable String username) {
+        Endpoint endpoint = properties.getBios();
+        behavior.delay(endpoint);
+        if (username.startsWith(properties.getMissingUsernamePrefix())) {
+            return ResponseEntity.status(404).body(Map.of("code", "004", "message", "Person not found"));
+        }
+        if (behavior.shouldFail(endpoint)) {
+            return error(endpoint);
+        }
+        return ResponseEntity.ok(generator.bio(username, endpoint.getSize()));
+    }
+
+    private ResponseEntity<Object> error(Endpoint endpoint) {
+        logger.debug("Injecting {} failure", endpoint.getErrorStatus());
+        return ResponseEntity.status(endpoint.getErrorStatus()).body(Map.of("code", "simulated", "message", "Simulated failure"));
+    }
+}
@@ -0,0 +1,76 @@
+package com.torre.simulator;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Per-endpoint behaviour of the simulator.
+ */
+@Data
+@ConfigurationProperties(prefix = "simulator")
+public class SimulatorProperties {
+
+    /** Seed for generated payloads, so the same request always returns the same data */
+    private long seed = 42;
+
+    /** Usernames starting with this prefix get a 404 from the bios endpoint */
+    private String missingUsernamePrefix = "missing-";
+
+    /** {@code POST /api/entities/_searchStream} */
+    private Endpoint searchStream = new Endpoint(LatencyDistribution.LOG_NORMAL,
+        Duration.ofMillis(80), Duration.ofMillis(400), Duration.ofMillis(5), 0.0, 503, 50);
+
+    /** {@code POST /people/_search} */
+    private Endpoint search = new Endpoint(LatencyDistribution.LOG_NORMAL,
+        Duration.ofMillis(150), Duration.ofMillis(800), Duration.ZERO, 0.0, 503, 200);
+
+    /** {@code POST /people/_analyze} */
+    private Endpoint analyze = new Endpoint(LatencyDistribution.LOG_NORMAL,
+        Duration.ofMillis(200), Duration.ofMillis(1000), Duration.ZERO, 0.0, 503, 20);
+
+    /** {@code GET /api/genome/bios/{username}} */
+    private Endpoint bios = new Endpoint(LatencyDistribution.LOG_NORMAL,
+        Duration.ofMillis(120), Duration.ofMillis(600), Duration.ZERO, 0.0, 503, 30);
+
+    public enum LatencyDistribution {
+        /** Always {@code latency} */
+        FIXED,
+        /** Uniform between {@code latency} and {@code latency-max} */
+        UNIFORM,
+        /** Log-normal with median {@code latency} and 99th percentile {@code latency-max} */
+        LOG_NORMAL
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Endpoint {
+
+        private LatencyDistribution distribution = LatencyDistribution.FIXED;
+
+        /** Fixed latency, uniform minimum or log-normal median, applied before the first byte */
+        private Duration latency = Duration.ZERO;
+
+        /** Uniform maximum or log-normal 99th percentile */
+        private Duration latencyMax = Duration.ZERO;
+
+        /** Delay between streamed NDJSON lines (search stream only) */
+        private Duration chunkDelay = Duration.ZERO;
+
+        /** Fraction of requests, 0 to 1, answered with {@code error-status} */
+        private double errorRate;
+
+        private int errorStatus = 503;
+
+        /**
+         * Payload size: maximum streamed results for the search stream, total matching results
+         * for paged search, histogram buckets for analyze, and number of strengths for bios.
+         */
+        private int size;
+    }
+}
@@ -0,0 +1,18 @@
+package com.torre.simulator;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
+
+/**
+ * Stand-in for the Torre.ai endpoints the backend calls, with configurable latency,
+ * streaming delays, error rates and payload sizes.
+ */
+@SpringBootApplication
+@ConfigurationPropertiesScan
+public class TorreSimulatorApplication {
+
+    public static void main(String[] args) {
+        SpringApplication.run(TorreSimulatorApplication.class, args);
+    }
+}
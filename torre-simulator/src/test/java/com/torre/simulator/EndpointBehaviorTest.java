@@ -0,0 +1,65 @@
+package com.torre.simulator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+
+import com.torre.simulator.SimulatorProperties.Endpoint;
+import com.torre.simulator.SimulatorProperties.LatencyDistribution;
+
+class EndpointBehaviorTest {
+
+    private final EndpointBehavior behavior = new EndpointBehavior();
+
+    @Test
+    void fixedLatency() {
+        Endpoint endpoint = endpoint(LatencyDistribution.FIXED, 30, 0);
+        assertEquals(Duration.ofMillis(30), behavior.sampleLatency(endpoint));
+    }
+
+    @Test
+    void uniformLatencyWithinBounds() {
+        Endpoint endpoint = endpoint(LatencyDistribution.UNIFORM, 10, 20);
+        for (int i = 0; i < 1000; i++) {
+            long millis = behavior.sampleLatency(endpoint).toMillis();
+            assertTrue(millis >= 10 && millis <= 20);
+        }
+    }
+
+    @Test
+    void logNormalMatchesMedianAndTail() {
+        Endpoint endpoint = endpoint(LatencyDistribution.LOG_NORMAL, 100, 500);
+        long[] samples = new long[20_000];
+        for (int i = 0; i < samples.length; i++) {
+            samples[i] = behavior.sampleLatency(endpoint).toMillis();
+        }
+        Arrays.sort(samples);
+
+        long median = samples[samples.length / 2];
+        long p99 = samples[(int) (samples.length * 0.99)];
+        assertTrue(median >= 90 && median <= 110, "median " + median);
+        assertTrue(p99 >= 400 && p99 <= 620, "p99 " + p99);
+    }
+
+    @Test
+    void errorRate() {
+        Endpoint endpoint = endpoint(LatencyDistribution.FIXED, 0, 0);
+        assertFalse(behavior.shouldFail(endpoint));
+
+        endpoint.setErrorRate(1.0);
+        assertTrue(behavior.shouldFail(endpoint));
+    }
+
+    private static Endpoint endpoint(LatencyDistribution distribution, long latencyMillis, long maxMillis) {
+        Endpoint endpoint = new Endpoint();
+        endpoint.setDistribution(distribution);
+        endpoint.setLatency(Duration.ofMillis(latencyMillis));
+        endpoint.setLatencyMax(Duration.ofMillis(maxMillis));
+        return endpoint;
+    }
+}
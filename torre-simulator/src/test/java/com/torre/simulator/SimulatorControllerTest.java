@@ -0,0 +1,89 @@
+package com.torre.simulator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+@SpringBootTest(properties = {
+    "simulator.search-stream.distribution=FIXED",
+    "simulator.search-stream.latency=0ms",
+    "simulator.search-stream.chunk-delay=0ms",
+    "simulator.search-stream.size=5",
+    "simulator.search.distribution=FIXED",
+    "simulator.search.latency=0ms",
+    "simulator.search.size=30",
+    "simulator.analyze.distribution=FIXED",
+    "simulator.analyze.latency=0ms",
+    "simulator.analyze.error-rate=1.0",
+    "simulator.analyze.error-status=502",
+    "simulator.bios.distribution=FIXED",
+    "simulator.bios.latency=0ms",
+    "simulator.bios.size=12"
+})
+@AutoConfigureMockMvc
+class SimulatorControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void searchStreamCappedBySize() throws Exception {
+        MvcResult result = mockMvc.perform(post("/api/entities/_searchStream")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"query\":\"java\",\"limit\":20}"))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+        String body = mockMvc.perform(asyncDispatch(result))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getContentAsString();
+
+        assertEquals(5, body.lines().count());
+    }
+
+    @Test
+    void searchPage() throws Exception {
+        mockMvc.perform(post("/people/_search")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"query\":{\"term\":\"java\"},\"offset\":20,\"limit\":20}"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.total").value(30))
+            .andExpect(jsonPath("$.results.length()").value(10))
+            .andExpect(jsonPath("$.results[0].ggId").value("1000020"));
+    }
+
+    @Test
+    void injectedError() throws Exception {
+        mockMvc.perform(post("/people/_analyze")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"query\":{\"skill\":{\"term\":\"java\"}}}"))
+            .andExpect(status().isBadGateway())
+            .andExpect(jsonPath("$.code").value("simulated"));
+    }
+
+    @Test
+    void bio() throws Exception {
+        mockMvc.perform(get("/api/genome/bios/ana"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.person.publicId").value("ana"))
+            .andExpect(jsonPath("$.strengths.length()").value(12));
+    }
+
+    @Test
+    void missingBio() throws Exception {
+        mockMvc.perform(get("/api/genome/bios/missing-ana"))
+            .andExpect(status().isNotFound());
+    }
+}